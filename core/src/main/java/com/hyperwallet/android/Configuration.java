@@ -150,6 +150,14 @@ public class Configuration {
         return SystemClock.elapsedRealtime() >= mExpireOnBootTime - STALE_PERIOD;
     }
 
+    /**
+     * @return time since boot, in milliseconds, at which this {@code Configuration} expires; refer to
+     * {@link SystemClock#elapsedRealtime()}
+     */
+    long getExpireOnBootTime() {
+        return mExpireOnBootTime;
+    }
+
     /**
      * @return program model
      */
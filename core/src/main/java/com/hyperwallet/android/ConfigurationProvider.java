@@ -0,0 +1,323 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.hyperwallet.android.exception.HyperwalletAuthenticationTokenProviderException;
+
+import org.json.JSONException;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ConfigurationProvider} maintains the authenticated user's session {@link Configuration}
+ *
+ * <p>Authentication tokens are retrieved through the {@link HyperwalletAuthenticationTokenProvider} in a single
+ * flight: when a refresh is already in progress, subsequent callers are queued behind it and released together
+ * once the new {@code Configuration} arrives, rather than each one requesting its own token.</p>
+ *
+ * <p>When renewal is enabled, the authentication token is also refreshed in the background ahead of its expiry.
+ * The current {@code Configuration} keeps serving callers until the renewed one replaces it, so callers do not
+ * wait for the authentication token round trip.</p>
+ */
+class ConfigurationProvider {
+
+    /**
+     * Time ahead of expiry at which a renewal is attempted; greater than the {@link Configuration} stale period so
+     * that the renewed {@code Configuration} is in place before the current one is considered stale
+     */
+    static final long RENEWAL_LEAD_TIME = TimeUnit.SECONDS.toMillis(60);
+    /**
+     * Shortest delay before a renewal, so that a token close to its expiry, or already expired, is not renewed in a
+     * tight loop
+     */
+    static final long MIN_RENEWAL_DELAY = TimeUnit.SECONDS.toMillis(10);
+    private static final Callback RENEWAL_CALLBACK = new Callback() {
+        @Override
+        public void onSuccess(@NonNull final Configuration configuration) {
+        }
+
+        @Override
+        public void onFailure(@NonNull final Exception exception) {
+            // the next request refreshes the Configuration once it becomes stale
+        }
+    };
+
+    private final HyperwalletAuthenticationTokenProvider mAuthenticationTokenProvider;
+    private final Object mLock = new Object();
+
+    private volatile Configuration mConfiguration;
+    private List<Callback> mPendingCallbacks;
+    private ScheduledExecutorService mRenewalScheduler;
+    private ScheduledFuture<?> mScheduledRenewal;
+
+    /**
+     * Construct a {@code ConfigurationProvider} backed by the specified authentication token provider
+     *
+     * @param authenticationTokenProvider a provider of Hyperwallet authentication tokens; must not be null
+     */
+    ConfigurationProvider(@NonNull final HyperwalletAuthenticationTokenProvider authenticationTokenProvider) {
+        mAuthenticationTokenProvider = authenticationTokenProvider;
+    }
+
+    /**
+     * @return the current {@link Configuration}, possibly stale, or null when no user is authenticated yet
+     */
+    @Nullable
+    Configuration getCurrent() {
+        return mConfiguration;
+    }
+
+    /**
+     * Enables or disables the background renewal of the authentication token ahead of its expiry
+     *
+     * @param enabled {@code true} to renew in the background; {@code false} to only renew when a stale
+     *                {@code Configuration} is requested
+     */
+    void setRenewalEnabled(final boolean enabled) {
+        synchronized (mLock) {
+            if (enabled && mRenewalScheduler == null) {
+                mRenewalScheduler = createRenewalScheduler();
+                if (mConfiguration != null) {
+                    scheduleRenewal(mConfiguration);
+                }
+            } else if (!enabled && mRenewalScheduler != null) {
+                mRenewalScheduler.shutdownNow();
+                mRenewalScheduler = null;
+                mScheduledRenewal = null;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if background renewal is enabled; otherwise {@code false}
+     */
+    boolean isRenewalEnabled() {
+        synchronized (mLock) {
+            return mRenewalScheduler != null;
+        }
+    }
+
+    /**
+     * Provides a valid {@link Configuration} to the {@code callback}; a new authentication token is requested
+     * when there is no {@code Configuration} yet or when the current one is stale
+     *
+     * @param callback receiver of the {@code Configuration}; must not be null
+     */
+    void get(@NonNull final Callback callback) {
+        Configuration configuration = mConfiguration;
+        if (configuration != null && !configuration.isStale()) {
+            callback.onSuccess(configuration);
+        } else {
+            refresh(callback);
+        }
+    }
+
+    /**
+     * Discards the {@code stale} {@link Configuration} once its authentication token is rejected, so that the next
+     * {@link #get(Callback)} requests a new one; a {@code Configuration} renewed in the meantime is kept
+     *
+     * @param stale the {@code Configuration} whose authentication token was rejected; must not be null
+     */
+    void invalidate(@NonNull final Configuration stale) {
+        synchronized (mLock) {
+            if (mConfiguration == stale) {
+                mConfiguration = null;
+            }
+        }
+    }
+
+    /**
+     * Requests a new authentication token, or joins the refresh already in flight
+     *
+     * @param callback receiver of the refreshed {@code Configuration}; must not be null
+     */
+    void refresh(@NonNull final Callback callback) {
+        List<Callback> flight;
+        synchronized (mLock) {
+            if (mPendingCallbacks != null) {
+                mPendingCallbacks.add(callback);
+                return;
+            }
+            flight = new ArrayList<>();
+            flight.add(callback);
+            mPendingCallbacks = flight;
+        }
+
+        try {
+            retrieveAuthenticationToken(flight);
+        } catch (RuntimeException e) {
+            // a provider failing synchronously must not leave the refresh in flight forever; once the flight is
+            // completed, the exception comes from one of its callbacks and is not the provider's to report
+            if (!complete(flight, null, e)) {
+                throw e;
+            }
+        }
+    }
+
+    private void retrieveAuthenticationToken(@NonNull final List<Callback> flight) {
+        mAuthenticationTokenProvider.retrieveAuthenticationToken(new HyperwalletAuthenticationTokenListener() {
+            @Override
+            public void onSuccess(String authenticationToken) {
+                Configuration configuration;
+                try {
+                    configuration = new Configuration(authenticationToken);
+                } catch (JSONException | RuntimeException e) {
+                    complete(flight, null, e);
+                    return;
+                }
+                complete(flight, configuration, null);
+            }
+
+            @Override
+            public void onFailure(UUID uuid, String message) {
+                final String logMessage = MessageFormat
+                        .format("Integrator was unable to provide an authentication token. \nId: {0} "
+                                        + "Message: {1}",
+                                uuid.toString(), message);
+                complete(flight, null, new HyperwalletAuthenticationTokenProviderException(logMessage));
+            }
+        });
+    }
+
+    /**
+     * Releases the callbacks of the {@code flight} with its outcome
+     *
+     * @param flight callbacks of the refresh to complete
+     * @return {@code false} when the {@code flight} was already completed, in which case nothing is done
+     */
+    private boolean complete(@NonNull final List<Callback> flight, @Nullable final Configuration configuration,
+            @Nullable final Exception exception) {
+        synchronized (mLock) {
+            if (mPendingCallbacks != flight) {
+                return false;
+            }
+            mPendingCallbacks = null;
+            if (configuration != null) {
+                Configuration previous = mConfiguration;
+                mConfiguration = configuration;
+                if (mRenewalScheduler != null) {
+                    // a provider returning a cached token would otherwise be asked for the same token again and
+                    // again; renewal resumes once a refresh brings a token expiring later
+                    if (previous == null || configuration.getExpiresOn().after(previous.getExpiresOn())) {
+                        scheduleRenewal(configuration);
+                    } else {
+                        cancelRenewal();
+                    }
+                }
+            }
+        }
+
+        RuntimeException callbackException = null;
+        for (Callback callback : flight) {
+            try {
+                if (configuration != null) {
+                    callback.onSuccess(configuration);
+                } else {
+                    callback.onFailure(exception);
+                }
+            } catch (RuntimeException e) {
+                // every queued caller is released before the first failure of a callback is rethrown
+                if (callbackException == null) {
+                    callbackException = e;
+                }
+            }
+        }
+        if (callbackException != null) {
+            throw callbackException;
+        }
+        return true;
+    }
+
+    /**
+     * Computes the delay until the renewal of the {@code configuration}: {@link #RENEWAL_LEAD_TIME} ahead of its
+     * expiry, but no sooner than half of its remaining lifespan, and never sooner than {@link #MIN_RENEWAL_DELAY}
+     *
+     * @param configuration {@code Configuration} to be renewed
+     * @param now           current time since boot in milliseconds
+     * @return delay in milliseconds
+     */
+    static long getRenewalDelay(@NonNull final Configuration configuration, final long now) {
+        long remaining = Math.max(configuration.getExpireOnBootTime() - now, 0L);
+        return Math.max(Math.max(remaining - RENEWAL_LEAD_TIME, remaining / 2), MIN_RENEWAL_DELAY);
+    }
+
+    /**
+     * @return {@code true} if a background renewal is scheduled; otherwise {@code false}
+     */
+    @VisibleForTesting
+    boolean isRenewalScheduled() {
+        synchronized (mLock) {
+            return mScheduledRenewal != null && !mScheduledRenewal.isDone();
+        }
+    }
+
+    private void cancelRenewal() {
+        if (mScheduledRenewal != null) {
+            mScheduledRenewal.cancel(false);
+            mScheduledRenewal = null;
+        }
+    }
+
+    private void scheduleRenewal(@NonNull final Configuration configuration) {
+        cancelRenewal();
+        long delay = getRenewalDelay(configuration, SystemClock.elapsedRealtime());
+        mScheduledRenewal = mRenewalScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                refresh(RENEWAL_CALLBACK);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledExecutorService createRenewalScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull final Runnable runnable) {
+                Thread thread = new Thread(runnable, "HyperwalletTokenRenewal");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Receiver of the {@link Configuration} provided by {@link ConfigurationProvider}
+     */
+    interface Callback {
+
+        void onSuccess(@NonNull Configuration configuration);
+
+        void onFailure(@NonNull Exception exception);
+    }
+}
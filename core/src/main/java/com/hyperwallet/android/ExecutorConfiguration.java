@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+
+/**
+ * {@code ExecutorConfiguration} defines how requests to the Hyperwallet platforms are executed in the background
+ *
+ * <p>Requests are run by a fixed pool of threads. Requests waiting for a thread are queued by priority, so that
+ * requests triggered by the User, such as creating a transfer or retrieving a single resource, run ahead of list
+ * requests. When the queue is full, the {@link RejectionPolicy} decides which request is failed.</p>
+ */
+public final class ExecutorConfiguration {
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+
+    private final int mPoolSize;
+    private final int mQueueCapacity;
+    private final RejectionPolicy mRejectionPolicy;
+
+    private ExecutorConfiguration(@NonNull final Builder builder) {
+        mPoolSize = builder.mPoolSize;
+        mQueueCapacity = builder.mQueueCapacity;
+        mRejectionPolicy = builder.mRejectionPolicy;
+    }
+
+    public int getPoolSize() {
+        return mPoolSize;
+    }
+
+    public int getQueueCapacity() {
+        return mQueueCapacity;
+    }
+
+    @NonNull
+    public RejectionPolicy getRejectionPolicy() {
+        return mRejectionPolicy;
+    }
+
+    /**
+     * Defines what happens to a request submitted while all threads are busy and the queue is full; the request
+     * that is not executed is delivered to {@link com.hyperwallet.android.listener.HyperwalletListener#onFailure}
+     */
+    public enum RejectionPolicy {
+        /**
+         * The submitted request is failed
+         */
+        ABORT,
+        /**
+         * The oldest queued request of the lowest priority is failed to make room for the submitted request, unless
+         * the submitted request is of a lower priority than every queued request, in which case it is failed
+         */
+        DISCARD_LOWEST_PRIORITY
+    }
+
+    /**
+     * Builder for {@link ExecutorConfiguration}
+     */
+    public static final class Builder {
+
+        private int mPoolSize = DEFAULT_POOL_SIZE;
+        private int mQueueCapacity = Integer.MAX_VALUE;
+        private RejectionPolicy mRejectionPolicy = RejectionPolicy.ABORT;
+
+        /**
+         * Defines the number of requests executed concurrently
+         *
+         * <p>The default value is 2 threads<p/>
+         *
+         * @param poolSize number of threads; must be greater than zero
+         */
+        public Builder poolSize(final int poolSize) {
+            if (poolSize <= 0) {
+                throw new IllegalArgumentException("pool size must be greater than zero");
+            }
+            mPoolSize = poolSize;
+            return this;
+        }
+
+        /**
+         * Defines the number of requests that can wait for a thread
+         *
+         * <p>The queue is unbounded by default<p/>
+         *
+         * @param queueCapacity number of queued requests; must be greater than zero
+         */
+        public Builder queueCapacity(final int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queue capacity must be greater than zero");
+            }
+            mQueueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Defines which request is failed when the queue is full
+         *
+         * <p>The default value is {@link RejectionPolicy#ABORT}<p/>
+         *
+         * @param rejectionPolicy rejection policy; must not be null
+         */
+        public Builder rejectionPolicy(@NonNull final RejectionPolicy rejectionPolicy) {
+            mRejectionPolicy = rejectionPolicy;
+            return this;
+        }
+
+        public ExecutorConfiguration build() {
+            return new ExecutorConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+
+import com.hyperwallet.android.exception.HyperwalletGqlException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.model.graphql.error.GqlErrors;
+import com.hyperwallet.android.model.graphql.query.GqlBatchQuery;
+import com.hyperwallet.android.model.graphql.query.GqlQuery;
+import com.hyperwallet.android.util.HttpClient;
+import com.hyperwallet.android.util.HttpMethod;
+import com.hyperwallet.android.util.JsonUtils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@code GqlBatchTransaction} HTTP transaction service that sends several GQL queries to Hyperwallet GQL platform
+ * api in one request, and delivers the response of each query through its own {@link GqlTransaction}
+ */
+class GqlBatchTransaction extends HttpTransaction {
+
+    private final GqlBatchQuery mBatchQuery;
+    private final List<GqlTransaction> mTransactions;
+
+    /**
+     * Construct a {@code GqlBatchTransaction} object based on specified required parameters
+     *
+     * @param uri                 GQL uri
+     * @param batchQuery          the merged queries
+     * @param userToken           user token the queries pertain to
+     * @param authenticationToken authentication token assigned during authentication flow
+     * @param transactions        transactions delivering the response of each query, in the order of the queries
+     */
+    private GqlBatchTransaction(@NonNull final String uri,
+                                @NonNull final GqlBatchQuery batchQuery,
+                                @NonNull final String userToken,
+                                @NonNull final String authenticationToken,
+                                @NonNull final List<GqlTransaction> transactions) {
+        super(HttpMethod.POST, uri, new TypeReference<JSONObject>() {
+        }, transactions.get(0).getListener());
+        addHeader(HTTP_HEADER_AUTHORIZATION, AUTHENTICATION_STRATEGY + authenticationToken);
+        setPayload(batchQuery.toQuery(userToken));
+        mBatchQuery = batchQuery;
+        mTransactions = transactions;
+    }
+
+    /**
+     * Cancels the transaction of every query as well, so that none of their responses is delivered
+     */
+    @Override
+    public void cancel() {
+        super.cancel();
+        for (GqlTransaction transaction : mTransactions) {
+            transaction.cancel();
+        }
+    }
+
+    /**
+     * Splits the response into the response of each query
+     */
+    @Override
+    void onSuccess(final String content) throws JSONException {
+        JSONObject response = new JSONObject(content);
+        for (int i = 0; i < mTransactions.size(); i++) {
+            GqlTransaction transaction = mTransactions.get(i);
+            try {
+                transaction.onSuccess(mBatchQuery.getResponse(response, i).toString());
+            } catch (Exception e) {
+                transaction.onFailure(e);
+            }
+        }
+    }
+
+    @Override
+    protected void onFailure(@NonNull final Exception exception) {
+        for (GqlTransaction transaction : mTransactions) {
+            transaction.onFailure(exception);
+        }
+    }
+
+    /**
+     * Refer to {@link HttpTransaction#performRequest(HttpClient)}
+     */
+    @Override
+    protected int performRequest(final @NonNull HttpClient client) throws IOException {
+        return client.post(getPayload());
+    }
+
+    /**
+     * Refer to {@link HttpTransaction#handleErrors(int, String)}
+     */
+    @Override
+    protected void handleErrors(final int responseCode,
+                                @NonNull final String response) throws JSONException,
+            InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        GqlErrors gqlErrors = JsonUtils.fromJsonString(response, new TypeReference<GqlErrors>() {
+        });
+        onFailure(new HyperwalletGqlException(responseCode, gqlErrors));
+    }
+
+    /**
+     * Builder for {@link GqlBatchTransaction}
+     */
+    protected static final class Builder {
+        private final List<GqlTransaction.Builder> builders;
+        private final GqlBatchQuery batchQuery;
+
+        /**
+         * Construct a builder based on parameters
+         *
+         * @param builders builders of the transactions of each query; must not be empty
+         */
+        protected Builder(@NonNull final List<GqlTransaction.Builder> builders) {
+            this.builders = Collections.unmodifiableList(new ArrayList<>(builders));
+            List<GqlQuery> queries = new ArrayList<>(builders.size());
+            for (GqlTransaction.Builder builder : builders) {
+                queries.add(builder.getGqlQuery());
+            }
+            batchQuery = new GqlBatchQuery(queries);
+        }
+
+        /**
+         * @return the callback objects of every query
+         */
+        protected List<HyperwalletListener> getListeners() {
+            List<HyperwalletListener> listeners = new ArrayList<>(builders.size());
+            for (GqlTransaction.Builder builder : builders) {
+                listeners.add(builder.getListener());
+            }
+            return listeners;
+        }
+
+        protected GqlBatchTransaction build(@NonNull final String uri,
+                                            @NonNull final String userToken,
+                                            @NonNull final String authenticationToken) {
+            List<GqlTransaction> transactions = new ArrayList<>(builders.size());
+            for (GqlTransaction.Builder builder : builders) {
+                transactions.add(builder.build(uri, userToken, authenticationToken));
+            }
+            return new GqlBatchTransaction(uri, batchQuery, userToken, authenticationToken, transactions);
+        }
+    }
+}
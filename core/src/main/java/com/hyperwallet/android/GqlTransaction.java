@@ -18,20 +18,33 @@
 package com.hyperwallet.android;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import com.hyperwallet.android.cache.ResponseCache;
 import com.hyperwallet.android.exception.HyperwalletGqlException;
 import com.hyperwallet.android.listener.HyperwalletListener;
 import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.model.graphql.GqlResponse;
+import com.hyperwallet.android.model.graphql.error.GqlError;
 import com.hyperwallet.android.model.graphql.error.GqlErrors;
 import com.hyperwallet.android.model.graphql.query.GqlQuery;
+import com.hyperwallet.android.model.graphql.query.GqlVariablesQuery;
+import com.hyperwallet.android.util.DigestUtils;
 import com.hyperwallet.android.util.HttpClient;
 import com.hyperwallet.android.util.HttpMethod;
 import com.hyperwallet.android.util.JsonUtils;
 
 import org.json.JSONException;
+import org.json.JSONObject;
 
 import java.io.IOException;
+import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code GqlTransaction} HTTP transaction service that sends request
@@ -39,24 +52,215 @@ import java.lang.reflect.InvocationTargetException;
  */
 class GqlTransaction extends HttpTransaction {
 
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    private static final String PERSISTED_QUERY_NOT_FOUND_CODE = "PERSISTED_QUERY_NOT_FOUND";
+    private static final String EXTENSIONS = "extensions";
+    private static final String PERSISTED_QUERY = "persistedQuery";
+    private static final String VERSION = "version";
+    private static final String SHA256_HASH = "sha256Hash";
+    private static final String QUERY = "query";
+
+    private static final String VARIABLES = "variables";
+    private static final Map<String, String> DOCUMENT_HASHES = new ConcurrentHashMap<>();
+
+    private final String mQuery;
+    private final JSONObject mVariables;
+    private ResponseCache mResponseCache;
+    private String mCacheScope;
+    private String mCacheKey;
+    private boolean mCacheServed;
+    private Runnable mStaleRevalidation;
+    private boolean mPersistedQuery;
+    private String mPersistedQueryBody;
+    private Runnable mPersistedQueryFallback;
+
     /**
      * Construct a {@code GqlTransaction} object based on specified required parameters
      *
      * @param uri                 GQL uri
-     * @param body                request query information
+     * @param query               request query information, or query document when {@code variables} are defined
+     * @param variables           values of the variables of the query document, or null when the query is formatted
      * @param authenticationToken authentication token assigned during authentication flow
      * @param hyperwalletListener callback information please refer to {@link HyperwalletListener}
      * @param typeReference       The class type reference to use in order to deserialize response into Hyperwallet SDK
      *                            object
      */
     private GqlTransaction(@NonNull final String uri,
-                           @NonNull final String body,
+                           @NonNull final String query,
+                           @Nullable final JSONObject variables,
                            @NonNull final String authenticationToken,
                            @NonNull final HyperwalletListener hyperwalletListener,
                            @NonNull final TypeReference typeReference) {
         super(HttpMethod.POST, uri, typeReference, hyperwalletListener);
         addHeader(HTTP_HEADER_AUTHORIZATION, AUTHENTICATION_STRATEGY + authenticationToken);
-        setPayload(body);
+        mQuery = query;
+        mVariables = variables;
+        if (variables == null) {
+            setPayload(query);
+        } else {
+            setPayload("{\"" + QUERY + "\":" + JSONObject.quote(query) + ",\"" + VARIABLES + "\":" + variables + "}");
+        }
+    }
+
+    /**
+     * Stores the successful responses of this transaction in the {@code responseCache}
+     *
+     * @param responseCache cache of the responses
+     * @param cacheScope    program token the responses belong to
+     * @param cacheKey      key of the response of this transaction
+     */
+    void setResponseCache(@NonNull final ResponseCache responseCache, @NonNull final String cacheScope,
+            @NonNull final String cacheKey) {
+        mResponseCache = responseCache;
+        mCacheScope = cacheScope;
+        mCacheKey = cacheKey;
+    }
+
+    /**
+     * Serves the cached response, when there is one, in place of executing this transaction; the cache is read on
+     * the thread of the transaction
+     *
+     * @param staleRevalidation action refreshing the cached response once it is stale
+     */
+    void setCacheServed(@NonNull final Runnable staleRevalidation) {
+        mCacheServed = true;
+        mStaleRevalidation = staleRevalidation;
+    }
+
+    @Override
+    public void run() {
+        if (mResponseCache != null && !isCancelled()) {
+            mResponseCache.scope(mCacheScope);
+            ResponseCache.Entry entry = mCacheServed ? mResponseCache.get(mCacheKey) : null;
+            if (entry != null) {
+                if (!isCancelled()) {
+                    onCachedResponse(entry.getResponse());
+                }
+                if (entry.isStale()) {
+                    mStaleRevalidation.run();
+                }
+                return;
+            }
+        }
+        super.run();
+    }
+
+    /**
+     * Identifies the query by its SHA-256 hash rather than by its text, following the automatic persisted query
+     * protocol
+     *
+     * <p>A query identified by its hash alone is requested with {@link HttpMethod#GET}, so that its response can be
+     * cached on the way; otherwise the text is posted along with the hash for the Hyperwallet platform to register
+     * it.</p>
+     *
+     * @param hashOnly          {@code true} to send the hash alone; {@code false} to register the query
+     * @param notFoundFallback  action replaying this transaction with the query registration when the Hyperwallet
+     *                          platform does not know the hash, or null
+     */
+    void setPersistedQuery(final boolean hashOnly, @Nullable final Runnable notFoundFallback)
+            throws JSONException, UnsupportedEncodingException {
+        JSONObject persistedQuery = new JSONObject();
+        persistedQuery.put(VERSION, 1);
+        persistedQuery.put(SHA256_HASH, getQueryHash());
+        JSONObject extensions = new JSONObject();
+        extensions.put(PERSISTED_QUERY, persistedQuery);
+
+        mPersistedQuery = hashOnly;
+        mPersistedQueryFallback = hashOnly ? notFoundFallback : null;
+        if (hashOnly) {
+            Map<String, String> query = new HashMap<>();
+            query.put(EXTENSIONS, URLEncoder.encode(extensions.toString(), StandardCharsets.UTF_8.name()));
+            if (mVariables != null) {
+                query.put(VARIABLES, URLEncoder.encode(mVariables.toString(), StandardCharsets.UTF_8.name()));
+            }
+            addQuery(query);
+        } else {
+            JSONObject body = new JSONObject();
+            body.put(QUERY, mQuery);
+            if (mVariables != null) {
+                body.put(VARIABLES, mVariables);
+            }
+            body.put(EXTENSIONS, extensions);
+            mPersistedQueryBody = body.toString();
+        }
+    }
+
+    /**
+     * @return the hash of the query; a query document is hashed once, as it is shared by every query of its class
+     */
+    @NonNull
+    private String getQueryHash() {
+        if (mVariables == null) {
+            return DigestUtils.sha256Hex(mQuery);
+        }
+        String hash = DOCUMENT_HASHES.get(mQuery);
+        if (hash == null) {
+            hash = DigestUtils.sha256Hex(mQuery);
+            DOCUMENT_HASHES.put(mQuery, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Delivers a {@code response} served from the cache in place of executing this transaction
+     *
+     * @param response cached response body
+     */
+    void onCachedResponse(@NonNull final String response) {
+        try {
+            onResult(JsonUtils.fromJsonString(response, getTypeReference()));
+        } catch (Exception e) {
+            onFailure(e);
+        }
+    }
+
+    /**
+     * Parses the response on the thread of the transaction, so that it is cached only when it holds no error
+     */
+    @Override
+    void onSuccess(final String content) throws JSONException, InvocationTargetException, NoSuchMethodException,
+            InstantiationException, IllegalAccessException {
+        if (fallBackOnPersistedQueryNotFound(content)) {
+            return;
+        }
+        if (mResponseCache == null || content == null || content.trim().isEmpty()) {
+            super.onSuccess(content);
+            return;
+        }
+
+        Object result = JsonUtils.fromJsonString(content, getTypeReference());
+        if (!(result instanceof GqlResponse) || !hasErrors((GqlResponse) result)) {
+            mResponseCache.put(mCacheKey, content);
+        }
+        onResult(result);
+    }
+
+    /**
+     * Replays this transaction with the query registration when the Hyperwallet platform does not know its hash
+     *
+     * @return {@code true} if the transaction was replayed and the {@code response} must not be delivered
+     */
+    private boolean fallBackOnPersistedQueryNotFound(@Nullable final String response) throws JSONException {
+        if (mPersistedQueryFallback == null || response == null || (!response.contains(PERSISTED_QUERY_NOT_FOUND)
+                && !response.contains(PERSISTED_QUERY_NOT_FOUND_CODE))) {
+            return false;
+        }
+
+        for (GqlError error : new GqlErrors(new JSONObject(response)).getGQLErrors()) {
+            if (PERSISTED_QUERY_NOT_FOUND.equals(error.getMessage()) || (error.getExtensions() != null
+                    && PERSISTED_QUERY_NOT_FOUND_CODE.equals(error.getExtensions().getCode()))) {
+                Runnable fallback = mPersistedQueryFallback;
+                mPersistedQueryFallback = null;
+                fallback.run();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasErrors(@NonNull final GqlResponse response) {
+        return response.getGqlErrors() != null && response.getGqlErrors().getGQLErrors() != null
+                && !response.getGqlErrors().getGQLErrors().isEmpty();
     }
 
     /**
@@ -64,7 +268,10 @@ class GqlTransaction extends HttpTransaction {
      */
     @Override
     protected int performRequest(final @NonNull HttpClient client) throws IOException {
-        return client.post(getPayload());
+        if (mPersistedQuery) {
+            return client.get();
+        }
+        return client.post(mPersistedQueryBody != null ? mPersistedQueryBody : getPayload());
     }
 
     /**
@@ -74,6 +281,9 @@ class GqlTransaction extends HttpTransaction {
     protected void handleErrors(final int responseCode,
                                 @NonNull final String response) throws JSONException,
             InvocationTargetException, NoSuchMethodException, InstantiationException, IllegalAccessException {
+        if (fallBackOnPersistedQueryNotFound(response)) {
+            return;
+        }
         GqlErrors gqlErrors = JsonUtils.fromJsonString(response, new TypeReference<GqlErrors>() {
         });
         onFailure(new HyperwalletGqlException(responseCode, gqlErrors));
@@ -86,6 +296,9 @@ class GqlTransaction extends HttpTransaction {
         private final GqlQuery gqlQuery;
         private final TypeReference<T> typeReference;
         private final HyperwalletListener listener;
+        private ResponseCache responseCache;
+        private boolean revalidation;
+        private boolean persistedQueryRegistration;
 
         /**
          * Construct a builder based on parameters
@@ -102,11 +315,78 @@ class GqlTransaction extends HttpTransaction {
             this.listener = listener;
         }
 
+        /**
+         * Serves the response from the {@code responseCache} while it is cached, and caches it otherwise
+         *
+         * @param responseCache cache of the responses, or null to always execute the transaction
+         */
+        protected Builder<T> responseCache(@Nullable final ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Creates the builder of a transaction refreshing the cached response in the background
+         *
+         * @param listener callback object of the refresh
+         */
+        protected Builder<T> revalidation(@NonNull final HyperwalletListener listener) {
+            Builder<T> builder = new Builder<>(gqlQuery, typeReference, listener);
+            builder.responseCache = responseCache;
+            builder.revalidation = true;
+            builder.persistedQueryRegistration = persistedQueryRegistration;
+            return builder;
+        }
+
+        protected GqlQuery getGqlQuery() {
+            return gqlQuery;
+        }
+
+        protected HyperwalletListener getListener() {
+            return listener;
+        }
+
+        /**
+         * Creates the builder of a transaction registering the persisted query the Hyperwallet platform did not know
+         */
+        protected Builder<T> persistedQueryRegistration() {
+            Builder<T> builder = new Builder<>(gqlQuery, typeReference, listener);
+            builder.responseCache = responseCache;
+            builder.revalidation = revalidation;
+            builder.persistedQueryRegistration = true;
+            return builder;
+        }
+
+        /**
+         * @return {@code true} when the transaction must send the text of its persisted query
+         */
+        protected boolean isPersistedQueryRegistration() {
+            return persistedQueryRegistration;
+        }
+
+        @Nullable
+        protected ResponseCache getResponseCache() {
+            return responseCache;
+        }
+
+        /**
+         * @return {@code true} when the transaction refreshes the cached response, which must not be served
+         */
+        protected boolean isRevalidation() {
+            return revalidation;
+        }
+
         protected GqlTransaction build(@NonNull final String uri,
                                        @NonNull final String userToken,
                                        @NonNull final String authenticationToken) {
+            if (gqlQuery instanceof GqlVariablesQuery) {
+                GqlVariablesQuery variablesQuery = (GqlVariablesQuery) gqlQuery;
+                return new GqlTransaction(uri, variablesQuery.getDocument(),
+                        new JSONObject(variablesQuery.getVariables(userToken)), authenticationToken, listener,
+                        typeReference);
+            }
             String query = gqlQuery.toQuery(userToken);
-            return new GqlTransaction(uri, query, authenticationToken, listener, typeReference);
+            return new GqlTransaction(uri, query, null, authenticationToken, listener, typeReference);
         }
     }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package com.hyperwallet.android;
 import android.os.Build;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import com.hyperwallet.android.listener.HyperwalletListener;
@@ -27,11 +28,16 @@ import com.hyperwallet.android.sdk.BuildConfig;
 import com.hyperwallet.android.util.HttpClient;
 import com.hyperwallet.android.util.HttpMethod;
 import com.hyperwallet.android.util.JsonUtils;
+import com.hyperwallet.android.util.KeepAliveTransport;
+import com.hyperwallet.android.util.Transport;
 
 import org.json.JSONException;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.InvocationTargetException;
+import java.net.HttpURLConnection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -54,7 +60,9 @@ public abstract class HttpTransaction implements Runnable {
     private static final String HTTP_HEADER_X_SDK_TYPE_KEY = "X-Sdk-Type";
     protected static final String HTTP_HEADER_X_SDK_CONTEXTID_KEY = "X-Sdk-ContextId";
     private static final String HTTP_HEADER_X_SDK_TYPE = "android";
+    private static volatile DefaultHeaders sDefaultHeaders;
 
+    private final Map<String, String> mDefaultHeaders;
     private Map<String, String> mHeaderMap;
     private HyperwalletListener mListener;
     private HttpMethod mMethod;
@@ -63,6 +71,10 @@ public abstract class HttpTransaction implements Runnable {
     private Map<String, String> mQueryMap;
     private String mUri;
     private TypeReference mTypeReference;
+    private Transport mTransport;
+    private Runnable mUnauthorizedRetry;
+    private volatile boolean mCancelled;
+    private volatile HttpClient mClient;
 
     /**
      * Construct a {@code HttpTransaction} object based from specified required parameters
@@ -81,36 +93,84 @@ public abstract class HttpTransaction implements Runnable {
         mListener = httpListener;
         mQueryMap = new HashMap<>();
         mHeaderMap = new HashMap<>();
-
-        addHeader(HTTP_HEADER_ACCEPT_KEY, APPLICATION_JSON);
-        addHeader(HTTP_HEADER_CONTENT_TYPE_KEY, APPLICATION_JSON);
-        addHeader(HTTP_HEADER_USER_AGENT_KEY, getUserAgent());
-        addHeader(HTTP_HEADER_ACCEPT_LANGUAGE_KEY, Locale.getDefault().toLanguageTag());
-        addHeader(HTTP_HEADER_X_SDK_VERSION_KEY, BuildConfig.VERSION_NAME);
-        addHeader(HTTP_HEADER_X_SDK_TYPE_KEY, HTTP_HEADER_X_SDK_TYPE);
+        mTransport = KeepAliveTransport.getDefault();
+        mDefaultHeaders = getDefaultHeaders();
     }
 
     /**
      * Background execution
      */
     public void run() {
+        if (mCancelled) {
+            return;
+        }
         try {
-            HttpClient client = new HttpClient.Builder(mUri).path(mPath).putHeaders(getHeaders()).putQueries(
-                    getQueries()).build();
+            HttpClient client = mTransport.open(new HttpClient.Builder(mUri).path(mPath)
+                    .defaultHeaders(mDefaultHeaders).putHeaders(mHeaderMap).putQueries(getQueries()));
 
-            int responseCode = performRequest(client);
-            String response = client.getResponse();
+            int responseCode;
+            String response = null;
+            Object result = null;
+            boolean streamed = false;
+            try {
+                mClient = client;
+                if (mCancelled) {
+                    client.disconnect();
+                    return;
+                }
+                responseCode = performRequest(client);
+                if (HttpClient.isSuccess(responseCode) && responseCode != HttpURLConnection.HTTP_NO_CONTENT
+                        && JsonUtils.isStreamable(mTypeReference)) {
+                    result = readResponse(client);
+                    streamed = true;
+                } else {
+                    response = client.getResponse();
+                }
+            } finally {
+                mClient = null;
+                mTransport.release(client);
+            }
 
-            if (HttpClient.isSuccess(responseCode)) {
+            if (mCancelled) {
+                return;
+            }
+            if (streamed) {
+                onResult(result);
+            } else if (HttpClient.isSuccess(responseCode)) {
                 onSuccess(response);
+            } else if (responseCode == HttpURLConnection.HTTP_UNAUTHORIZED && mUnauthorizedRetry != null) {
+                Runnable retry = mUnauthorizedRetry;
+                mUnauthorizedRetry = null;
+                retry.run();
             } else {
                 handleErrors(responseCode, response);
             }
         } catch (Exception exception) {
-            onFailure(exception);
+            if (!mCancelled) {
+                onFailure(exception);
+            }
         }
     }
 
+    /**
+     * Cancels this transaction: aborts its connection when it is in flight and skips the parsing and delivery of
+     * its response
+     */
+    public void cancel() {
+        mCancelled = true;
+        HttpClient client = mClient;
+        if (client != null) {
+            client.disconnect();
+        }
+    }
+
+    /**
+     * @return {@code true} if this transaction was cancelled; otherwise {@code false}
+     */
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
     /**
      * Process errors, if available, from the resulting HTTP request
      *
@@ -154,6 +214,34 @@ public abstract class HttpTransaction implements Runnable {
         mPath = path;
     }
 
+    protected Transport getTransport() {
+        return mTransport;
+    }
+
+    /**
+     * Sets the {@link Transport} used to open connections for this transaction
+     *
+     * @param transport connection transport; refer to {@link Transport}
+     */
+    protected void setTransport(@NonNull final Transport transport) {
+        mTransport = transport;
+    }
+
+    /**
+     * Sets the action that replays this transaction with a renewed authentication token when the Hyperwallet
+     * platform responds with {@link HttpURLConnection#HTTP_UNAUTHORIZED}; the action runs at most once, after
+     * which the error is delivered through {@link #handleErrors(int, String)}
+     *
+     * @param unauthorizedRetry action replaying this transaction, or null to deliver the error straight away
+     */
+    protected void setUnauthorizedRetry(@Nullable final Runnable unauthorizedRetry) {
+        mUnauthorizedRetry = unauthorizedRetry;
+    }
+
+    protected TypeReference getTypeReference() {
+        return mTypeReference;
+    }
+
     protected HttpMethod getMethod() {
         return mMethod;
     }
@@ -170,8 +258,14 @@ public abstract class HttpTransaction implements Runnable {
         return mQueryMap;
     }
 
+    /**
+     * @return the headers of this transaction: the default headers of every transaction, overridden by the ones
+     * added through {@link #addHeader(String, String)}
+     */
     protected Map<String, String> getHeaders() {
-        return mHeaderMap;
+        Map<String, String> headers = new HashMap<>(mDefaultHeaders);
+        headers.putAll(mHeaderMap);
+        return headers;
     }
 
     @SuppressWarnings("unchecked")
@@ -189,6 +283,9 @@ public abstract class HttpTransaction implements Runnable {
             mListener.getHandler().post(new Runnable() {
                 @Override
                 public void run() {
+                    if (mCancelled) {
+                        return;
+                    }
                     try {
                         if (content != null && !content.trim().isEmpty()) {
                             mListener.onSuccess(JsonUtils.fromJsonString(content, mTypeReference));
@@ -203,6 +300,47 @@ public abstract class HttpTransaction implements Runnable {
         }
     }
 
+    /**
+     * Delivers the {@code result}, already parsed, to the listener
+     *
+     * @param result the parsed response
+     */
+    @SuppressWarnings("unchecked")
+    void onResult(@Nullable final Object result) {
+        if (mListener.getHandler() == null) {
+            mListener.onSuccess(result);
+        } else {
+            mListener.getHandler().post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!mCancelled) {
+                        mListener.onSuccess(result);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Builds the result straight from the response body, off the thread of the listener
+     */
+    @Nullable
+    private Object readResponse(@NonNull final HttpClient client) throws IOException, JSONException {
+        Reader reader = client.getResponseReader();
+        if (reader == null) {
+            return null;
+        }
+
+        try {
+            return JsonUtils.fromJsonStream(reader, mTypeReference);
+        } catch (IOException | JSONException e) {
+            client.disconnect();
+            throw e;
+        } finally {
+            reader.close();
+        }
+    }
+
     protected void onFailure(@NonNull final Exception exception) {
         if (mListener.getHandler() == null) {
             mListener.onFailure(ExceptionMapper.toHyperwalletException(exception));
@@ -210,13 +348,46 @@ public abstract class HttpTransaction implements Runnable {
             mListener.getHandler().post(new Runnable() {
                 @Override
                 public void run() {
-                    mListener.onFailure(ExceptionMapper.toHyperwalletException(exception));
+                    if (!mCancelled) {
+                        mListener.onFailure(ExceptionMapper.toHyperwalletException(exception));
+                    }
                 }
             });
         }
     }
 
-    private String getUserAgent() {
-        return String.format(HTTP_HEADER_USER_AGENT, BuildConfig.VERSION_NAME, Build.VERSION.RELEASE);
+    /**
+     * @return the headers sent with every transaction, rebuilt only when the default locale changes
+     */
+    private static Map<String, String> getDefaultHeaders() {
+        Locale locale = Locale.getDefault();
+        DefaultHeaders defaultHeaders = sDefaultHeaders;
+        if (defaultHeaders == null || !defaultHeaders.mLocale.equals(locale)) {
+            defaultHeaders = new DefaultHeaders(locale);
+            sDefaultHeaders = defaultHeaders;
+        }
+        return defaultHeaders.mHeaders;
+    }
+
+    /**
+     * Immutable headers sent with every transaction, for a given locale
+     */
+    private static final class DefaultHeaders {
+
+        private final Locale mLocale;
+        private final Map<String, String> mHeaders;
+
+        DefaultHeaders(@NonNull final Locale locale) {
+            Map<String, String> headers = new HashMap<>();
+            headers.put(HTTP_HEADER_ACCEPT_KEY, APPLICATION_JSON);
+            headers.put(HTTP_HEADER_CONTENT_TYPE_KEY, APPLICATION_JSON);
+            headers.put(HTTP_HEADER_USER_AGENT_KEY,
+                    String.format(HTTP_HEADER_USER_AGENT, BuildConfig.VERSION_NAME, Build.VERSION.RELEASE));
+            headers.put(HTTP_HEADER_ACCEPT_LANGUAGE_KEY, locale.toLanguageTag());
+            headers.put(HTTP_HEADER_X_SDK_VERSION_KEY, BuildConfig.VERSION_NAME);
+            headers.put(HTTP_HEADER_X_SDK_TYPE_KEY, HTTP_HEADER_X_SDK_TYPE);
+            mLocale = locale;
+            mHeaders = Collections.unmodifiableMap(headers);
+        }
     }
 }
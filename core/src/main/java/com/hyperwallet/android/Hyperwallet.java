@@ -22,13 +22,17 @@ import static com.hyperwallet.android.util.HttpMethod.GET;
 import static com.hyperwallet.android.util.HttpMethod.POST;
 import static com.hyperwallet.android.util.HttpMethod.PUT;
 
+import android.os.Handler;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
-import com.hyperwallet.android.exception.HyperwalletAuthenticationTokenProviderException;
+import com.hyperwallet.android.cache.ResponseCache;
 import com.hyperwallet.android.exception.HyperwalletException;
 import com.hyperwallet.android.exception.HyperwalletInitializationException;
 import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.listener.HyperwalletPageListener;
 import com.hyperwallet.android.model.QueryParam;
 import com.hyperwallet.android.model.StatusTransition;
 import com.hyperwallet.android.model.TypeReference;
@@ -64,15 +68,19 @@ import com.hyperwallet.android.model.transfermethod.TransferMethodQueryParam;
 import com.hyperwallet.android.model.transfermethod.VenmoAccount;
 import com.hyperwallet.android.model.transfermethod.VenmoAccountQueryParam;
 import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.util.KeepAliveTransport;
+import com.hyperwallet.android.util.Transport;
 
 import org.json.JSONException;
 
-import java.text.MessageFormat;
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@code Hyperwallet} class is an Android specific implementation of the
@@ -92,22 +100,26 @@ import java.util.concurrent.Executors;
  */
 public class Hyperwallet {
 
-    private static final int EXECUTOR_POOL_SIZE = 2;
     private static final String TAG = Hyperwallet.class.getName();
 
 
     private static Hyperwallet sInstanceLast;
 
-    private final ExecutorService mExecutor;
-    private final HyperwalletAuthenticationTokenProvider mHyperwalletAuthenticationTokenProvider;
-
-    private Configuration mConfiguration;
+    private final TransactionExecutor mExecutor;
+    private final ConfigurationProvider mConfigurationProvider;
+    private final Set<String> mRevalidatedKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private volatile Transport mTransport;
+    private volatile ResponseCache mConfigurationKeyCache;
+    private volatile ResponseCache mConfigurationFieldCache;
+    private volatile boolean mPersistedQueriesEnabled;
 
     private String contextId;
 
-    private Hyperwallet(@NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider) {
-        mExecutor = Executors.newFixedThreadPool(EXECUTOR_POOL_SIZE);
-        mHyperwalletAuthenticationTokenProvider = hyperwalletAuthenticationTokenProvider;
+    private Hyperwallet(@NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider,
+            @NonNull final ExecutorConfiguration executorConfiguration) {
+        mExecutor = new TransactionExecutor(executorConfiguration);
+        mConfigurationProvider = new ConfigurationProvider(hyperwalletAuthenticationTokenProvider);
+        mTransport = KeepAliveTransport.getDefault();
         if (contextId == null) {
             contextId = UUID.randomUUID().toString();
         }
@@ -122,8 +134,23 @@ public class Hyperwallet {
      */
     public static synchronized Hyperwallet getInstance(
             @NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider) {
+        return getInstance(hyperwalletAuthenticationTokenProvider, new ExecutorConfiguration.Builder().build());
+    }
+
+    /**
+     * Creates a new instance of the Hyperwallet Core SDK interface object that executes its requests as defined by
+     * the {@link ExecutorConfiguration}. If a previously created instance exists, it will be replaced.
+     *
+     * @param hyperwalletAuthenticationTokenProvider a provider of Hyperwallet authentication tokens; must not be null
+     * @param executorConfiguration                  pool size, queue capacity and rejection policy of the requests;
+     *                                               must not be null
+     * @return A {@code Hyperwallet} instance
+     */
+    public static synchronized Hyperwallet getInstance(
+            @NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider,
+            @NonNull final ExecutorConfiguration executorConfiguration) {
         if (sInstanceLast == null) {
-            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider);
+            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider, executorConfiguration);
         }
         return sInstanceLast;
     }
@@ -148,7 +175,8 @@ public class Hyperwallet {
             @NonNull final HyperwalletAuthenticationTokenProvider hyperwalletAuthenticationTokenProvider,
             @NonNull final HyperwalletListener<Configuration> listener) {
         if (sInstanceLast == null) {
-            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider);
+            sInstanceLast = new Hyperwallet(hyperwalletAuthenticationTokenProvider,
+                    new ExecutorConfiguration.Builder().build());
             sInstanceLast.getConfiguration(listener);
         }
         return sInstanceLast;
@@ -173,6 +201,10 @@ public class Hyperwallet {
      * Resets class {@link Hyperwallet} instance reference to self
      */
     public static void clearInstance() {
+        if (sInstanceLast != null) {
+            sInstanceLast.mConfigurationProvider.setRenewalEnabled(false);
+            sInstanceLast.mExecutor.shutdown();
+        }
         sInstanceLast = null;
     }
 
@@ -184,53 +216,47 @@ public class Hyperwallet {
      *
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
      */
-    public synchronized void getConfiguration(@NonNull final HyperwalletListener<Configuration> listener) {
-        if (mConfiguration == null || mConfiguration.isStale()) {
-            mHyperwalletAuthenticationTokenProvider.retrieveAuthenticationToken(
-                    new HyperwalletAuthenticationTokenListener() {
-                        @Override
-                        public void onSuccess(String authenticationToken) {
-                            try {
-                                mConfiguration = new Configuration(authenticationToken);
-                                listener.onSuccess(mConfiguration);
-                            } catch (final JSONException e) {
-                                if (listener.getHandler() == null) {
-                                    listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                } else {
-                                    listener.getHandler().post(new Runnable() {
-                                        @Override
-                                        public void run() {
-                                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                        }
-                                    });
-                                }
-                            }
-                        }
+    public void getConfiguration(@NonNull final HyperwalletListener<Configuration> listener) {
+        mConfigurationProvider.get(new ConfigurationProvider.Callback() {
+            @Override
+            public void onSuccess(@NonNull final Configuration configuration) {
+                listener.onSuccess(configuration);
+            }
 
-                        @Override
-                        public void onFailure(UUID uuid, String message) {
-                            final String logMessage = MessageFormat
-                                    .format("Integrator was unable to provide an authentication token. \nId: {0} "
-                                                    + "Message: {1}",
-                                            uuid.toString(), message);
-
-                            if (listener.getHandler() == null) {
-                                listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                        new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                            } else {
-                                listener.getHandler().post(new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                                new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                                    }
-                                });
-                            }
-                        }
-                    });
-        } else {
-            listener.onSuccess(mConfiguration);
-        }
+            @Override
+            public void onFailure(@NonNull final Exception exception) {
+                notifyFailure(listener, exception);
+            }
+        });
+    }
+
+    /**
+     * Enables or disables the renewal of the authentication token in the background, ahead of its expiry.
+     *
+     * <p>When enabled, a new authentication token is requested from the {@link HyperwalletAuthenticationTokenProvider}
+     * shortly before the current {@link Configuration} goes stale and the {@code Configuration} is replaced once
+     * the token arrives, so that requests do not wait for the authentication token retrieval. Disabled by default,
+     * in which case the authentication token is only renewed when a request finds the {@code Configuration}
+     * expired or about to expire.</p>
+     *
+     * @param enabled {@code true} to renew the authentication token in the background; otherwise {@code false}
+     */
+    public void setAuthenticationTokenRenewalEnabled(final boolean enabled) {
+        mConfigurationProvider.setRenewalEnabled(enabled);
+    }
+
+    /**
+     * Enables or disables automatic persisted queries for the transfer method configuration queries.
+     *
+     * <p>When enabled, a query is first requested with the SHA-256 hash of its document and its variables only,
+     * through a {@code GET} request whose response can be cached on the way. Only when the Hyperwallet platform
+     * reports the hash as unknown is the query document sent, once, along with its hash. Disabled by default, in
+     * which case the query is posted with every request.</p>
+     *
+     * @param enabled {@code true} to identify queries by their hash; otherwise {@code false}
+     */
+    public void setPersistedQueriesEnabled(final boolean enabled) {
+        mPersistedQueriesEnabled = enabled;
     }
 
     /**
@@ -245,16 +271,17 @@ public class Hyperwallet {
      *
      * @param bankAccount the {@code BankAccount} to be created; must not be null
      * @param listener    the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void createBankAccount(@NonNull final BankAccount bankAccount,
-                                  @NonNull final HyperwalletListener<BankAccount> listener) {
+    public HyperwalletRequest createBankAccount(@NonNull final BankAccount bankAccount,
+                                                @NonNull final HyperwalletListener<BankAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(POST, pathFormatter,
                 new TypeReference<BankAccount>() {
                 }, listener, contextId).jsonModel(bankAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -285,9 +312,10 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listBankAccounts(@Nullable final BankAccountQueryParam queryParam,
-                                 @NonNull final HyperwalletListener<PageList<BankAccount>> listener) {
+    public HyperwalletRequest listBankAccounts(@Nullable final BankAccountQueryParam queryParam,
+                                               @NonNull final HyperwalletListener<PageList<BankAccount>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
 
@@ -295,7 +323,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<BankAccount>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -310,16 +338,17 @@ public class Hyperwallet {
      *
      * @param bankCard the {@code BankCard} to be created; must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void createBankCard(@NonNull final BankCard bankCard,
-                               @NonNull final HyperwalletListener<BankCard> listener) {
+    public HyperwalletRequest createBankCard(@NonNull final BankCard bankCard,
+                                             @NonNull final HyperwalletListener<BankCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(POST, pathFormatter,
                 new TypeReference<BankCard>() {
                 }, listener, contextId).jsonModel(bankCard);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -334,16 +363,17 @@ public class Hyperwallet {
      *
      * @param payPalAccount the {@code PayPalAccount} to be created; must not be null
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void createPayPalAccount(@NonNull final PayPalAccount payPalAccount,
-                                    @NonNull final HyperwalletListener<PayPalAccount> listener) {
+    public HyperwalletRequest createPayPalAccount(@NonNull final PayPalAccount payPalAccount,
+                                                  @NonNull final HyperwalletListener<PayPalAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(POST, pathFormatter,
                 new TypeReference<PayPalAccount>() {
                 }, listener, contextId).jsonModel(payPalAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -358,16 +388,17 @@ public class Hyperwallet {
      *
      * @param venmoAccount the {@code VenmoAccount} to be created; must not be null
      * @param listener     the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void createVenmoAccount(@NonNull final VenmoAccount venmoAccount,
-                                   @NonNull final HyperwalletListener<VenmoAccount> listener) {
+    public HyperwalletRequest createVenmoAccount(@NonNull final VenmoAccount venmoAccount,
+                                                 @NonNull final HyperwalletListener<VenmoAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(POST, pathFormatter,
                 new TypeReference<VenmoAccount>() {
                 }, listener, contextId).jsonModel(venmoAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -382,16 +413,17 @@ public class Hyperwallet {
      *
      * @param paperCheck the {@code PaperCheck} to be created; must not be null
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void createPaperCheck(@NonNull final PaperCheck paperCheck,
-                                 @NonNull final HyperwalletListener<PaperCheck> listener) {
+    public HyperwalletRequest createPaperCheck(@NonNull final PaperCheck paperCheck,
+                                               @NonNull final HyperwalletListener<PaperCheck> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(POST, pathFormatter,
                 new TypeReference<PaperCheck>() {
                 }, listener, contextId).jsonModel(paperCheck);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -406,16 +438,17 @@ public class Hyperwallet {
      *
      * @param transfer the {@code Transfer} to be created; must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void createTransfer(@NonNull final Transfer transfer,
-                               @NonNull final HyperwalletListener<Transfer> listener) {
+    public HyperwalletRequest createTransfer(@NonNull final Transfer transfer,
+                                             @NonNull final HyperwalletListener<Transfer> listener) {
         PathFormatter pathFormatter = new PathFormatter("transfers");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(POST, pathFormatter,
                 new TypeReference<Transfer>() {
                 }, listener, contextId).jsonModel(transfer);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -430,16 +463,17 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code BankAccount}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void getBankAccount(@NonNull final String transferMethodToken,
-                               @NonNull final HyperwalletListener<BankAccount> listener) {
+    public HyperwalletRequest getBankAccount(@NonNull final String transferMethodToken,
+                                             @NonNull final HyperwalletListener<BankAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<BankAccount>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -454,15 +488,16 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code BankCard}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void getBankCard(@NonNull final String transferMethodToken,
-                            @NonNull final HyperwalletListener<BankCard> listener) {
+    public HyperwalletRequest getBankCard(@NonNull final String transferMethodToken,
+                                          @NonNull final HyperwalletListener<BankCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<BankCard>() {
                 }, listener, contextId);
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -475,15 +510,16 @@ public class Hyperwallet {
      * if the current one is expired or about to expire.</p>
      *
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void getUser(@NonNull final HyperwalletListener<User> listener) {
+    public HyperwalletRequest getUser(@NonNull final HyperwalletListener<User> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}");
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<User>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -498,16 +534,17 @@ public class Hyperwallet {
      * @param transferToken the Hyperwallet specific unique identifier for the {@code Transfer}
      *                      being requested; must not be null
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void getTransfer(@NonNull final String transferToken,
-                            @NonNull final HyperwalletListener<Transfer> listener) {
+    public HyperwalletRequest getTransfer(@NonNull final String transferToken,
+                                          @NonNull final HyperwalletListener<Transfer> listener) {
         PathFormatter pathFormatter = new PathFormatter("transfers/{1}", transferToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<Transfer>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -525,9 +562,10 @@ public class Hyperwallet {
      *
      * @param bankAccount the {@code BankAccount} to be created; must not be null
      * @param listener    the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void updateBankAccount(@NonNull final BankAccount bankAccount,
-                                  @NonNull final HyperwalletListener<BankAccount> listener) {
+    public HyperwalletRequest updateBankAccount(@NonNull final BankAccount bankAccount,
+                                                @NonNull final HyperwalletListener<BankAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts/{1}",
                 bankAccount.getField(TransferMethod.TransferMethodFields.TOKEN));
 
@@ -535,7 +573,7 @@ public class Hyperwallet {
                 new TypeReference<BankAccount>() {
                 }, listener, contextId).jsonModel(bankAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -554,9 +592,10 @@ public class Hyperwallet {
      *
      * @param bankCard the {@code BankCard} to be created; must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void updateBankCard(@NonNull final BankCard bankCard,
-                               @NonNull final HyperwalletListener<BankCard> listener) {
+    public HyperwalletRequest updateBankCard(@NonNull final BankCard bankCard,
+                                             @NonNull final HyperwalletListener<BankCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards/{1}",
                 bankCard.getField(TransferMethod.TransferMethodFields.TOKEN));
 
@@ -564,7 +603,7 @@ public class Hyperwallet {
                 new TypeReference<BankCard>() {
                 }, listener, contextId).jsonModel(bankCard);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -582,9 +621,10 @@ public class Hyperwallet {
      *
      * @param payPalAccount the {@code PayPalAccount} to be created; must not be null
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void updatePayPalAccount(@NonNull final PayPalAccount payPalAccount,
-                                    @NonNull final HyperwalletListener<PayPalAccount> listener) {
+    public HyperwalletRequest updatePayPalAccount(@NonNull final PayPalAccount payPalAccount,
+                                                  @NonNull final HyperwalletListener<PayPalAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts/{1}",
                 payPalAccount.getField(TransferMethod.TransferMethodFields.TOKEN));
 
@@ -592,7 +632,7 @@ public class Hyperwallet {
                 new TypeReference<PayPalAccount>() {
                 }, listener, contextId).jsonModel(payPalAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -610,9 +650,10 @@ public class Hyperwallet {
      *
      * @param venmoAccount the {@code VenmoAccount} to be created; must not be null
      * @param listener     the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void updateVenmoAccount(@NonNull final VenmoAccount venmoAccount,
-                                   @NonNull final HyperwalletListener<VenmoAccount> listener) {
+    public HyperwalletRequest updateVenmoAccount(@NonNull final VenmoAccount venmoAccount,
+                                                 @NonNull final HyperwalletListener<VenmoAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts/{1}",
                 venmoAccount.getField(TransferMethod.TransferMethodFields.TOKEN));
 
@@ -620,7 +661,7 @@ public class Hyperwallet {
                 new TypeReference<VenmoAccount>() {
                 }, listener, contextId).jsonModel(venmoAccount);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -638,9 +679,10 @@ public class Hyperwallet {
      *
      * @param paperCheck the {@code PaperCheck} to be created; must not be null
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void updatePaperCheck(@NonNull final PaperCheck paperCheck,
-                                 @NonNull final HyperwalletListener<PaperCheck> listener) {
+    public HyperwalletRequest updatePaperCheck(@NonNull final PaperCheck paperCheck,
+                                               @NonNull final HyperwalletListener<PaperCheck> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks/{1}",
                 paperCheck.getField(TransferMethod.TransferMethodFields.TOKEN));
 
@@ -648,7 +690,7 @@ public class Hyperwallet {
                 new TypeReference<PaperCheck>() {
                 }, listener, contextId).jsonModel(paperCheck);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -667,9 +709,12 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void deactivateBankAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
-                                      @NonNull final HyperwalletListener<StatusTransition> listener) {
+    public HyperwalletRequest deactivateBankAccount(
+            @NonNull final String transferMethodToken,
+            @Nullable final String notes,
+            @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts/{1}/status-transitions",
                 transferMethodToken);
 
@@ -681,7 +726,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -700,9 +745,12 @@ public class Hyperwallet {
      *                            deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void deactivateBankCard(@NonNull final String transferMethodToken, @Nullable final String notes,
-                                   @NonNull final HyperwalletListener<StatusTransition> listener) {
+    public HyperwalletRequest deactivateBankCard(
+            @NonNull final String transferMethodToken,
+            @Nullable final String notes,
+            @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards/{1}/status-transitions",
                 transferMethodToken);
 
@@ -714,7 +762,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -733,9 +781,12 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void deactivatePayPalAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
-                                        @NonNull final HyperwalletListener<StatusTransition> listener) {
+    public HyperwalletRequest deactivatePayPalAccount(
+            @NonNull final String transferMethodToken,
+            @Nullable final String notes,
+            @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts/{1}/status-transitions",
                 transferMethodToken);
 
@@ -747,7 +798,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -766,9 +817,12 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void deactivateVenmoAccount(@NonNull final String transferMethodToken, @Nullable final String notes,
-                                       @NonNull final HyperwalletListener<StatusTransition> listener) {
+    public HyperwalletRequest deactivateVenmoAccount(
+            @NonNull final String transferMethodToken,
+            @Nullable final String notes,
+            @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts/{1}/status-transitions",
                 transferMethodToken);
 
@@ -780,7 +834,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -799,9 +853,12 @@ public class Hyperwallet {
      *                            being deactivated; must not be null
      * @param notes               a note regarding the status change
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void deactivatePaperCheck(@NonNull final String transferMethodToken, @Nullable final String notes,
-                                     @NonNull final HyperwalletListener<StatusTransition> listener) {
+    public HyperwalletRequest deactivatePaperCheck(
+            @NonNull final String transferMethodToken,
+            @Nullable final String notes,
+            @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks/{1}/status-transitions",
                 transferMethodToken);
 
@@ -813,7 +870,7 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(deactivatedStatusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -844,9 +901,11 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listTransferMethods(@Nullable final TransferMethodQueryParam queryParam,
-                                    @NonNull final HyperwalletListener<PageList<TransferMethod>> listener) {
+    public HyperwalletRequest listTransferMethods(
+            @Nullable final TransferMethodQueryParam queryParam,
+            @NonNull final HyperwalletListener<PageList<TransferMethod>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/transfer-methods");
 
@@ -854,7 +913,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<TransferMethod>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -884,16 +943,17 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listBankCards(@Nullable final BankCardQueryParam queryParam,
-                              @NonNull final HyperwalletListener<PageList<BankCard>> listener) {
+    public HyperwalletRequest listBankCards(@Nullable final BankCardQueryParam queryParam,
+                                            @NonNull final HyperwalletListener<PageList<BankCard>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<BankCard>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -924,16 +984,17 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listPrepaidCards(@Nullable final PrepaidCardQueryParam queryParam,
-                                 @NonNull final HyperwalletListener<PageList<PrepaidCard>> listener) {
+    public HyperwalletRequest listPrepaidCards(@Nullable final PrepaidCardQueryParam queryParam,
+                                               @NonNull final HyperwalletListener<PageList<PrepaidCard>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<PrepaidCard>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -961,16 +1022,17 @@ public class Hyperwallet {
      *
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listUserBalances(@Nullable final BalanceQueryParam queryParam,
-                                 @NonNull final HyperwalletListener<PageList<Balance>> listener) {
+    public HyperwalletRequest listUserBalances(@Nullable final BalanceQueryParam queryParam,
+                                               @NonNull final HyperwalletListener<PageList<Balance>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/balances");
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PageList<Balance>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -992,10 +1054,12 @@ public class Hyperwallet {
      * @param prepaidCardBalanceQueryParam the ordering criteria
      * @param listener                     the callback handler of responses from the Hyperwallet platform; must not be
      *                                     null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listPrepaidCardBalances(@NonNull final String prepaidCardToken,
-                                        @Nullable final PrepaidCardBalanceQueryParam prepaidCardBalanceQueryParam,
-                                        @NonNull final HyperwalletListener<PageList<Balance>> listener) {
+    public HyperwalletRequest listPrepaidCardBalances(
+            @NonNull final String prepaidCardToken,
+            @Nullable final PrepaidCardBalanceQueryParam prepaidCardBalanceQueryParam,
+            @NonNull final HyperwalletListener<PageList<Balance>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(prepaidCardBalanceQueryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards/{1}/balances", prepaidCardToken);
 
@@ -1003,7 +1067,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<Balance>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -1034,8 +1098,9 @@ public class Hyperwallet {
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must
      *                   not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listPayPalAccounts(
+    public HyperwalletRequest listPayPalAccounts(
             @Nullable final PayPalAccountQueryParam queryParam,
             @NonNull final HyperwalletListener<PageList<PayPalAccount>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
@@ -1044,7 +1109,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<PayPalAccount>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -1075,8 +1140,9 @@ public class Hyperwallet {
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must
      *                   not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listVenmoAccounts(
+    public HyperwalletRequest listVenmoAccounts(
             @Nullable final VenmoAccountQueryParam queryParam,
             @NonNull final HyperwalletListener<PageList<VenmoAccount>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
@@ -1085,7 +1151,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<VenmoAccount>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -1116,8 +1182,9 @@ public class Hyperwallet {
      * @param queryParam the ordering and filtering criteria
      * @param listener   the callback handler of responses from the Hyperwallet platform; must
      *                   not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listPaperChecks(
+    public HyperwalletRequest listPaperChecks(
             @Nullable final PaperCheckQueryParam queryParam,
             @NonNull final HyperwalletListener<PageList<PaperCheck>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(queryParam);
@@ -1126,7 +1193,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<PaperCheck>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -1141,16 +1208,17 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PrepaidCard}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void getPrepaidCard(@NonNull final String transferMethodToken,
-                               @NonNull final HyperwalletListener<PrepaidCard> listener) {
+    public HyperwalletRequest getPrepaidCard(@NonNull final String transferMethodToken,
+                                             @NonNull final HyperwalletListener<PrepaidCard> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PrepaidCard>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1165,16 +1233,17 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PayPalAccount}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void getPayPalAccount(@NonNull final String transferMethodToken,
-                                 @NonNull final HyperwalletListener<PayPalAccount> listener) {
+    public HyperwalletRequest getPayPalAccount(@NonNull final String transferMethodToken,
+                                               @NonNull final HyperwalletListener<PayPalAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paypal-accounts/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PayPalAccount>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1189,17 +1258,18 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code VenmoAccount}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
 
-    public void getVenmoAccount(@NonNull final String transferMethodToken,
-                                @NonNull final HyperwalletListener<VenmoAccount> listener) {
+    public HyperwalletRequest getVenmoAccount(@NonNull final String transferMethodToken,
+                                              @NonNull final HyperwalletListener<VenmoAccount> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/venmo-accounts/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<VenmoAccount>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1214,17 +1284,18 @@ public class Hyperwallet {
      * @param transferMethodToken the Hyperwallet specific unique identifier for the {@code PaperCheck}
      *                            being requested; must not be null
      * @param listener            the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
 
-    public void getPaperCheck(@NonNull final String transferMethodToken,
-                              @NonNull final HyperwalletListener<PaperCheck> listener) {
+    public HyperwalletRequest getPaperCheck(@NonNull final String transferMethodToken,
+                                            @NonNull final HyperwalletListener<PaperCheck> listener) {
         PathFormatter pathFormatter = new PathFormatter("users/{0}/paper-checks/{1}", transferMethodToken);
 
         RestTransaction.Builder builder = new RestTransaction.Builder<>(GET, pathFormatter,
                 new TypeReference<PaperCheck>() {
                 }, listener, contextId);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
     }
 
     /**
@@ -1238,17 +1309,21 @@ public class Hyperwallet {
      * <p>This function will request a new authentication token via {@link HyperwalletAuthenticationTokenProvider}
      * if the current one is expired or about to expire.</p>
      *
+     * <p>When a cache is set through {@link #setTransferMethodConfigurationKeyCache(ResponseCache)}, the cached key
+     * set of the program and locale is delivered without a request while it is fresh.</p>
+     *
      * @param query    containing the transfer method configuration key query, must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void retrieveTransferMethodConfigurationKeys(
+    public HyperwalletRequest retrieveTransferMethodConfigurationKeys(
             @NonNull final TransferMethodConfigurationKeysQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationKey> listener) {
         GqlTransaction.Builder<TransferMethodConfigurationKeyResult> builder = new GqlTransaction.Builder<>(
                 query, new TypeReference<TransferMethodConfigurationKeyResult>() {
-        }, listener);
+        }, listener).responseCache(mConfigurationKeyCache);
 
-        performGqlTransaction(builder, listener);
+        return performGqlTransaction(builder, listener);
     }
 
     /**
@@ -1264,14 +1339,15 @@ public class Hyperwallet {
      *
      * @param query    containing the transfer method configuration key query, must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void retrieveTransferMethodTypesFeesAndProcessingTimes(
+    public HyperwalletRequest retrieveTransferMethodTypesFeesAndProcessingTimes(
             @NonNull final TransferMethodTypesFeeAndProcessingTimesQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationKey> listener) {
         GqlTransaction.Builder<TransferMethodConfigurationKeyResult> builder = new GqlTransaction.Builder<>(
                 query, new TypeReference<TransferMethodConfigurationKeyResult>() {
         }, listener);
-        performGqlTransaction(builder, listener);
+        return performGqlTransaction(builder, listener);
     }
 
     /**
@@ -1285,20 +1361,24 @@ public class Hyperwallet {
      * <p>This function will request a new authentication token via {@link HyperwalletAuthenticationTokenProvider}
      * if the current one is expired or about to expire.</p>
      *
+     * <p>When a cache is set through {@link #setTransferMethodConfigurationFieldCache(ResponseCache)}, the cached
+     * field set of the query is delivered without a request while it is fresh.</p>
+     *
      * @param query    containing a transfer method configuration key tuple of
      *                 country, currency, transfer method type and profile,
      *                 must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void retrieveTransferMethodConfigurationFields(
+    public HyperwalletRequest retrieveTransferMethodConfigurationFields(
             @NonNull final TransferMethodConfigurationFieldQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationField> listener) {
 
         GqlTransaction.Builder<TransferMethodConfigurationFieldResult> builder =
                 new GqlTransaction.Builder<>(query,
                         new TypeReference<TransferMethodConfigurationFieldResult>() {
-                        }, listener);
-        performGqlTransaction(builder, listener);
+                        }, listener).responseCache(mConfigurationFieldCache);
+        return performGqlTransaction(builder, listener);
     }
 
     /**
@@ -1312,19 +1392,33 @@ public class Hyperwallet {
      * <p>This function will request a new authentication token via {@link HyperwalletAuthenticationTokenProvider}
      * if the current one is expired or about to expire.</p>
      *
+     * <p>When a cache is set through {@link #setTransferMethodConfigurationFieldCache(ResponseCache)}, the cached
+     * field set of the query is delivered without a request while it is fresh.</p>
+     *
      * @param query    containing a transfer method configuration key tuple of
      *                 transfer method token,
      *                 must not be null
      * @param listener the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void retrieveUpdateTransferMethodConfigurationFields(
+    public HyperwalletRequest retrieveUpdateTransferMethodConfigurationFields(
             @NonNull final TransferMethodUpdateConfigurationFieldQuery query,
             @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationField> listener) {
 
         GqlTransaction.Builder<TransferMethodUpdateConfigurationFieldResult> builder =
                 new GqlTransaction.Builder<>(query, new TypeReference<TransferMethodUpdateConfigurationFieldResult>() {
-                }, listener);
-        performGqlTransaction(builder, listener);
+                }, listener).responseCache(mConfigurationFieldCache);
+        return performGqlTransaction(builder, listener);
+    }
+
+    /**
+     * Creates a batch retrieving several transfer method configurations with a single request, such as the
+     * configuration keys, the fees and processing times and the fields rendered by an add transfer method screen
+     *
+     * @return an empty batch; refer to {@link HyperwalletGqlBatch}
+     */
+    public HyperwalletGqlBatch newGqlBatch() {
+        return new HyperwalletGqlBatch(this);
     }
 
     /**
@@ -1354,9 +1448,10 @@ public class Hyperwallet {
      *
      * @param receiptQueryParam the ordering and filtering criteria
      * @param listener          the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listUserReceipts(@Nullable final ReceiptQueryParam receiptQueryParam,
-                                 @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
+    public HyperwalletRequest listUserReceipts(@Nullable final ReceiptQueryParam receiptQueryParam,
+                                               @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(receiptQueryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/receipts");
 
@@ -1364,7 +1459,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<Receipt>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -1391,10 +1486,11 @@ public class Hyperwallet {
      * @param prepaidCardToken  the token for prepaid card
      * @param receiptQueryParam the filtering criteria
      * @param listener          the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listPrepaidCardReceipts(@NonNull final String prepaidCardToken,
-                                        @Nullable final ReceiptQueryParam receiptQueryParam,
-                                        @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
+    public HyperwalletRequest listPrepaidCardReceipts(@NonNull final String prepaidCardToken,
+                                                      @Nullable final ReceiptQueryParam receiptQueryParam,
+                                                      @NonNull final HyperwalletListener<PageList<Receipt>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(receiptQueryParam);
         PathFormatter pathFormatter = new PathFormatter("users/{0}/prepaid-cards/{1}/receipts", prepaidCardToken);
 
@@ -1402,7 +1498,7 @@ public class Hyperwallet {
                 new TypeReference<PageList<Receipt>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
     }
 
     /**
@@ -1433,9 +1529,10 @@ public class Hyperwallet {
      *
      * @param transferQueryParam the filtering criteria
      * @param listener           the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void listTransfers(@Nullable final TransferQueryParam transferQueryParam,
-                              @NonNull final HyperwalletListener<PageList<Transfer>> listener) {
+    public HyperwalletRequest listTransfers(@Nullable final TransferQueryParam transferQueryParam,
+                                            @NonNull final HyperwalletListener<PageList<Transfer>> listener) {
         Map<String, String> urlQuery = buildUrlQueryIfRequired(transferQueryParam);
         PathFormatter pathFormatter = new PathFormatter("transfers");
 
@@ -1443,7 +1540,34 @@ public class Hyperwallet {
                 new TypeReference<PageList<Transfer>>() {
                 }, listener, contextId).query(urlQuery);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.BACKGROUND);
+    }
+
+    /**
+     * Loads every page of a list, such as the receipts of a year, for bulk processing.
+     *
+     * <p>The first page tells the size of the list, from which the remaining pages are requested concurrently, at
+     * most {@code parallelism} at a time. The pages are delivered in order to
+     * {@link HyperwalletPageListener#onPage} while the following ones are loading, then every item is delivered
+     * to {@link HyperwalletPageListener#onSuccess(Object)}. The list requests are background requests, so the number
+     * of pages actually loaded at the same time is also bounded by {@link ExecutorConfiguration#getPoolSize()}.</p>
+     *
+     * @param pageCall    the list request of a page, applying the offset and limit to the query; must not be null
+     * @param limit       number of items of a page; must be greater than zero
+     * @param parallelism number of pages loaded concurrently; must be greater than zero
+     * @param listener    the callback handler of the pages; must not be null
+     * @return the pager loading the list, through which the remaining requests can be cancelled
+     */
+    public <T> HyperwalletPager<T> listAllPages(@NonNull final HyperwalletPager.PageCall<T> pageCall,
+            final int limit,
+            final int parallelism,
+            @NonNull final HyperwalletPageListener<T> listener) {
+        HyperwalletPager<T> pager = new HyperwalletPager.Builder<>(pageCall)
+                .limit(limit)
+                .maxPagesInFlight(parallelism)
+                .build();
+        pager.loadAll(listener);
+        return pager;
     }
 
     /**
@@ -1452,9 +1576,10 @@ public class Hyperwallet {
      * @param transferToken transfer token generated when transfer is created
      * @param notes         additional information for committing transfer
      * @param listener      the callback handler of responses from the Hyperwallet platform; must not be null
+     * @return a handle on the request, through which it can be cancelled
      */
-    public void scheduleTransfer(@NonNull final String transferToken, @Nullable final String notes,
-                                 @NonNull final HyperwalletListener<StatusTransition> listener) {
+    public HyperwalletRequest scheduleTransfer(@NonNull final String transferToken, @Nullable final String notes,
+                                               @NonNull final HyperwalletListener<StatusTransition> listener) {
         PathFormatter pathFormatter = new PathFormatter("transfers/{1}/status-transitions",
                 transferToken);
 
@@ -1467,133 +1592,260 @@ public class Hyperwallet {
                 new TypeReference<StatusTransition>() {
                 }, listener, contextId).jsonModel(statusTransition);
 
-        performRestTransaction(builder, listener);
+        return performRestTransaction(builder, listener);
+    }
+
+    private HyperwalletRequest performGqlTransaction(@NonNull final GqlTransaction.Builder builder,
+                                                     @NonNull final HyperwalletListener listener) {
+        HyperwalletRequest request = new HyperwalletRequest(mExecutor);
+        performGqlTransaction(builder, listener, TransactionExecutor.Priority.INTERACTIVE, request, true);
+        return request;
     }
 
     private void performGqlTransaction(@NonNull final GqlTransaction.Builder builder,
-                                       @NonNull final HyperwalletListener listener) {
-        if (mConfiguration == null || mConfiguration.isStale()) {
-            mHyperwalletAuthenticationTokenProvider.retrieveAuthenticationToken(
-                    new HyperwalletAuthenticationTokenListener() {
-                        @Override
-                        public void onSuccess(String authenticationToken) {
-                            try {
-                                mConfiguration = new Configuration(authenticationToken);
-                                GqlTransaction transaction =
-                                        builder.build(mConfiguration.getGraphQlUri(), mConfiguration.getUserToken(),
-                                                mConfiguration.getAuthenticationToken());
-                                mExecutor.submit(transaction);
-                            } catch (final JSONException e) {
-                                if (listener.getHandler() == null) {
-                                    listener.onFailure(ExceptionMapper
-                                            .toHyperwalletException(e));
-                                } else {
-                                    listener.getHandler().post(new Runnable() {
-                                        @Override
-                                        public void run() {
-                                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                        }
-                                    });
-                                }
+                                       @NonNull final HyperwalletListener listener,
+                                       @NonNull final TransactionExecutor.Priority priority,
+                                       @NonNull final HyperwalletRequest request,
+                                       final boolean retryOnUnauthorized) {
+        mConfigurationProvider.get(new ConfigurationProvider.Callback() {
+            @Override
+            public void onSuccess(@NonNull final Configuration configuration) {
+                GqlTransaction transaction = builder.build(configuration.getGraphQlUri(),
+                        configuration.getUserToken(), configuration.getAuthenticationToken());
+                if (builder.getResponseCache() != null) {
+                    setResponseCache(builder, transaction, configuration);
+                }
+                if (mPersistedQueriesEnabled) {
+                    try {
+                        transaction.setPersistedQuery(!builder.isPersistedQueryRegistration(), new Runnable() {
+                            @Override
+                            public void run() {
+                                performGqlTransaction(builder.persistedQueryRegistration(), listener, priority,
+                                        request, retryOnUnauthorized);
                             }
+                        });
+                    } catch (JSONException | UnsupportedEncodingException e) {
+                        onFailure(e);
+                        return;
+                    }
+                }
+                if (retryOnUnauthorized) {
+                    transaction.setUnauthorizedRetry(new Runnable() {
+                        @Override
+                        public void run() {
+                            mConfigurationProvider.invalidate(configuration);
+                            performGqlTransaction(builder, listener, priority, request, false);
                         }
+                    });
+                }
+                submitTransaction(transaction, priority, request);
+            }
 
+            @Override
+            public void onFailure(@NonNull final Exception exception) {
+                if (!request.isCancelled()) {
+                    notifyFailure(listener, exception);
+                }
+            }
+        });
+    }
+
+    /**
+     * Executes the queries of a {@link HyperwalletGqlBatch} with a single request
+     *
+     * @param builder builder of the batch transaction
+     * @return a handle on the request, through which it can be cancelled
+     */
+    HyperwalletRequest performGqlBatchTransaction(@NonNull final GqlBatchTransaction.Builder builder) {
+        HyperwalletRequest request = new HyperwalletRequest(mExecutor);
+        performGqlBatchTransaction(builder, request, true);
+        return request;
+    }
+
+    private void performGqlBatchTransaction(@NonNull final GqlBatchTransaction.Builder builder,
+                                            @NonNull final HyperwalletRequest request,
+                                            final boolean retryOnUnauthorized) {
+        mConfigurationProvider.get(new ConfigurationProvider.Callback() {
+            @Override
+            public void onSuccess(@NonNull final Configuration configuration) {
+                GqlBatchTransaction transaction = builder.build(configuration.getGraphQlUri(),
+                        configuration.getUserToken(), configuration.getAuthenticationToken());
+                if (retryOnUnauthorized) {
+                    transaction.setUnauthorizedRetry(new Runnable() {
                         @Override
-                        public void onFailure(UUID uuid, String message) {
-                            final String logMessage = MessageFormat
-                                    .format("Integrator was unable to provide an authentication token. \nId: {0} "
-                                                    + "Message: {1}",
-                                            uuid.toString(), message);
-                            if (listener.getHandler() == null) {
-                                listener.onFailure(ExceptionMapper
-                                        .toHyperwalletException(
-                                                new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                            } else {
-                                listener.getHandler().post(new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        listener.onFailure(ExceptionMapper
-                                                .toHyperwalletException(
-                                                        new HyperwalletAuthenticationTokenProviderException(
-                                                                logMessage)));
-                                    }
-                                });
-                            }
+                        public void run() {
+                            mConfigurationProvider.invalidate(configuration);
+                            performGqlBatchTransaction(builder, request, false);
                         }
                     });
-        } else {
-            GqlTransaction transaction = builder.build(mConfiguration.getGraphQlUri(),
-                    mConfiguration.getUserToken(), mConfiguration.getAuthenticationToken());
-            mExecutor.submit(transaction);
+                }
+                submitTransaction(transaction, TransactionExecutor.Priority.INTERACTIVE, request);
+            }
+
+            @Override
+            public void onFailure(@NonNull final Exception exception) {
+                if (!request.isCancelled()) {
+                    for (HyperwalletListener listener : builder.getListeners()) {
+                        notifyFailure(listener, exception);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Binds the response cache of the {@code builder} to the {@code transaction}, which serves the cached response,
+     * if any, once executed
+     */
+    private void setResponseCache(@NonNull final GqlTransaction.Builder builder,
+                                  @NonNull final GqlTransaction transaction,
+                                  @NonNull final Configuration configuration) {
+        final String key = ResponseCache.key(configuration.getProgramToken(), Locale.getDefault().toLanguageTag(),
+                transaction.getPayload());
+        transaction.setResponseCache(builder.getResponseCache(), configuration.getProgramToken(), key);
+        if (!builder.isRevalidation()) {
+            transaction.setCacheServed(new Runnable() {
+                @Override
+                public void run() {
+                    revalidate(builder, key);
+                }
+            });
         }
     }
 
-    private void performRestTransaction(@NonNull final RestTransaction.Builder builder,
-                                        @NonNull final HyperwalletListener listener) {
+    /**
+     * Refreshes the cached response of the {@code key} in the background, unless it is already being refreshed
+     */
+    private void revalidate(@NonNull final GqlTransaction.Builder builder, @NonNull final String key) {
+        if (!mRevalidatedKeys.add(key)) {
+            return;
+        }
 
-        if (mConfiguration == null || mConfiguration.isStale()) {
-            mHyperwalletAuthenticationTokenProvider.retrieveAuthenticationToken(
-                    new HyperwalletAuthenticationTokenListener() {
-                        @Override
-                        public void onSuccess(String authenticationToken) {
-                            try {
-                                mConfiguration = new Configuration(authenticationToken);
-                                RestTransaction restTransaction = builder.build(mConfiguration.getRestUri(),
-                                        mConfiguration.getAuthenticationToken(), mConfiguration.getUserToken());
-                                mExecutor.submit(restTransaction);
-                            } catch (final JSONException e) {
-                                if (listener.getHandler() == null) {
-                                    listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                } else {
-                                    listener.getHandler().post(new Runnable() {
-                                        @Override
-                                        public void run() {
-                                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                                        }
-                                    });
-                                }
-                            }
-                        }
+        HyperwalletListener<Object> listener = new HyperwalletListener<Object>() {
+            @Override
+            public void onSuccess(@Nullable final Object result) {
+                mRevalidatedKeys.remove(key);
+            }
 
-                        @Override
-                        public void onFailure(UUID uuid, String message) {
-                            final String logMessage = MessageFormat
-                                    .format("Integrator was unable to provide an authentication token. \nId: {0} "
-                                                    + "Message: {1}",
-                                            uuid.toString(), message);
-
-                            if (listener.getHandler() == null) {
-                                listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                        new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                            } else {
-                                listener.getHandler().post(new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        listener.onFailure(ExceptionMapper.toHyperwalletException(
-                                                new HyperwalletAuthenticationTokenProviderException(logMessage)));
-                                    }
-                                });
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                mRevalidatedKeys.remove(key);
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        };
+        performGqlTransaction(builder.revalidation(listener), listener, TransactionExecutor.Priority.BACKGROUND,
+                new HyperwalletRequest(mExecutor), true);
+    }
+
+    private HyperwalletRequest performRestTransaction(@NonNull final RestTransaction.Builder builder,
+                                                      @NonNull final HyperwalletListener listener) {
+        return performRestTransaction(builder, listener, TransactionExecutor.Priority.INTERACTIVE);
+    }
+
+    private HyperwalletRequest performRestTransaction(@NonNull final RestTransaction.Builder builder,
+                                                      @NonNull final HyperwalletListener listener,
+                                                      @NonNull final TransactionExecutor.Priority priority) {
+        HyperwalletRequest request = new HyperwalletRequest(mExecutor);
+        performRestTransaction(builder, listener, priority, request, true);
+        return request;
+    }
+
+    private void performRestTransaction(@NonNull final RestTransaction.Builder builder,
+                                        @NonNull final HyperwalletListener listener,
+                                        @NonNull final TransactionExecutor.Priority priority,
+                                        @NonNull final HyperwalletRequest request,
+                                        final boolean retryOnUnauthorized) {
+        mConfigurationProvider.get(new ConfigurationProvider.Callback() {
+            @Override
+            public void onSuccess(@NonNull final Configuration configuration) {
+                try {
+                    RestTransaction restTransaction = builder.build(configuration.getRestUri(),
+                            configuration.getAuthenticationToken(), configuration.getUserToken());
+                    if (retryOnUnauthorized) {
+                        restTransaction.setUnauthorizedRetry(new Runnable() {
+                            @Override
+                            public void run() {
+                                mConfigurationProvider.invalidate(configuration);
+                                performRestTransaction(builder, listener, priority, request, false);
                             }
-                        }
-                    });
-        } else {
-            try {
-                RestTransaction restTransaction = builder.build(mConfiguration.getRestUri(),
-                        mConfiguration.getAuthenticationToken(), mConfiguration.getUserToken());
-                mExecutor.submit(restTransaction);
-            } catch (final JSONException e) {
-
-                if (listener.getHandler() == null) {
-                    listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                } else {
-                    listener.getHandler().post(new Runnable() {
-                        @Override
-                        public void run() {
-                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
-                        }
-                    });
+                        });
+                    }
+                    submitTransaction(restTransaction, priority, request);
+                } catch (final JSONException e) {
+                    notifyFailure(listener, e);
+                }
+            }
+
+            @Override
+            public void onFailure(@NonNull final Exception exception) {
+                if (!request.isCancelled()) {
+                    notifyFailure(listener, exception);
                 }
             }
+        });
+    }
+
+    private void notifyFailure(@NonNull final HyperwalletListener listener, @NonNull final Exception exception) {
+        if (listener.getHandler() == null) {
+            listener.onFailure(ExceptionMapper.toHyperwalletException(exception));
+        } else {
+            listener.getHandler().post(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onFailure(ExceptionMapper.toHyperwalletException(exception));
+                }
+            });
+        }
+    }
+
+    /**
+     * Sets the cache of the transfer method configuration keys, which rarely change for a program; no cache is used
+     * by default
+     *
+     * <p>The cached responses are keyed by program token, locale and query. Refer to {@link ResponseCache} for
+     * their time to live and stale-while-revalidate period.</p>
+     *
+     * @param cache cache of {@link #retrieveTransferMethodConfigurationKeys} responses, or null to disable caching
+     */
+    public void setTransferMethodConfigurationKeyCache(@Nullable final ResponseCache cache) {
+        mConfigurationKeyCache = cache;
+    }
+
+    /**
+     * Sets the cache of the transfer method configuration fields, so that switching back to a transfer method type
+     * renders its form without a request; no cache is used by default
+     *
+     * <p>The cached responses are keyed by program token, locale and query, that is the country, currency,
+     * transfer method type and profile, or the transfer method token. The cache is bounded by
+     * {@link ResponseCache.Builder#maxEntries(int)} and emptied when the program changes.</p>
+     *
+     * @param cache cache of {@link #retrieveTransferMethodConfigurationFields} and
+     *              {@link #retrieveUpdateTransferMethodConfigurationFields} responses, or null to disable caching
+     */
+    public void setTransferMethodConfigurationFieldCache(@Nullable final ResponseCache cache) {
+        mConfigurationFieldCache = cache;
+    }
+
+    /**
+     * Replaces the {@link Transport} used to reach the Hyperwallet platforms; by default a shared
+     * {@link KeepAliveTransport} is used so that consecutive calls reuse their connections.
+     *
+     * @param transport connection transport to use on subsequent requests; must not be null
+     */
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public void setTransport(@NonNull final Transport transport) {
+        mTransport = transport;
+    }
+
+    private void submitTransaction(@NonNull final HttpTransaction transaction,
+            @NonNull final TransactionExecutor.Priority priority, @NonNull final HyperwalletRequest request) {
+        transaction.setTransport(mTransport);
+        if (request.attach(transaction)) {
+            mExecutor.execute(transaction, priority);
         }
     }
 
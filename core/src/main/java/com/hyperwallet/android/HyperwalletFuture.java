@@ -0,0 +1,484 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code HyperwalletFuture} is the pending result of a request submitted to the Hyperwallet platforms
+ *
+ * <p>Any {@link Hyperwallet} call can be started as a {@code HyperwalletFuture}, for instance
+ * {@code HyperwalletFuture.of(hyperwallet::getUser)} or
+ * {@code HyperwalletFuture.of(listener -> hyperwallet.listUserBalances(null, listener))}. Independent futures
+ * run concurrently and are combined with {@link #allOf(HyperwalletFuture[])}; their results are then read with
+ * {@link #get()} from a background thread, or delivered to a {@link HyperwalletListener} registered through
+ * {@link #whenComplete(HyperwalletListener)}.</p>
+ *
+ * <p>A step depending on a result is chained with {@link #thenApply(Function)} or
+ * {@link #thenCompose(Function)} rather than nested in a listener, for instance
+ * {@code HyperwalletFuture.of(hyperwallet::getUser).thenCompose(user -> HyperwalletFuture.of(
+ * listener -> hyperwallet.listTransferMethods(null, listener)))}.</p>
+ *
+ * <p>The result is recorded on the thread that completes the request; it is only posted to a {@link Handler}
+ * when the listener registered through {@code whenComplete} provides one.</p>
+ *
+ * @param <T> the domain object type expected as a response to a successful request
+ */
+public final class HyperwalletFuture<T> implements Future<T> {
+
+    private final CountDownLatch mDone = new CountDownLatch(1);
+    private final Object mLock = new Object();
+
+    private List<HyperwalletListener<? super T>> mListeners = new ArrayList<>();
+    private HyperwalletRequest mRequest;
+    private HyperwalletFuture<?>[] mDependencies;
+    private List<HyperwalletFuture<?>> mDependents;
+    private boolean mCancelled;
+    private T mResult;
+    private HyperwalletException mException;
+
+    private HyperwalletFuture() {
+    }
+
+    /**
+     * Starts the {@code call} and returns its pending result
+     *
+     * @param call the {@link Hyperwallet} call to start; must not be null
+     * @param <T>  the domain object type expected as a response to a successful request
+     * @return the pending result of the {@code call}
+     */
+    @NonNull
+    public static <T> HyperwalletFuture<T> of(@NonNull final Call<T> call) {
+        final HyperwalletFuture<T> future = new HyperwalletFuture<>();
+        HyperwalletRequest request = call.execute(new HyperwalletListener<T>() {
+            @Override
+            public void onSuccess(@Nullable final T result) {
+                future.complete(result, null);
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                future.complete(null, exception);
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+        future.setRequest(request);
+        return future;
+    }
+
+    /**
+     * Combines the {@code futures}: the returned future completes once every one of them succeeded, or as soon as
+     * one of them failed. Cancelling the returned future cancels the {@code futures}; the returned future is
+     * cancelled as well when one of the {@code futures} is cancelled.
+     *
+     * @param futures the futures to combine; must not be null
+     * @return a future completing with a null result once all of the {@code futures} succeeded
+     */
+    @NonNull
+    public static HyperwalletFuture<Void> allOf(@NonNull final HyperwalletFuture<?>... futures) {
+        final HyperwalletFuture<Void> combined = new HyperwalletFuture<>();
+        combined.mDependencies = futures.clone();
+        if (futures.length == 0) {
+            combined.complete(null, null);
+            return combined;
+        }
+
+        final AtomicInteger remaining = new AtomicInteger(futures.length);
+        HyperwalletListener<Object> listener = new HyperwalletListener<Object>() {
+            @Override
+            public void onSuccess(@Nullable final Object result) {
+                if (remaining.decrementAndGet() == 0) {
+                    combined.complete(null, null);
+                }
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                combined.complete(null, exception);
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        };
+        for (HyperwalletFuture<?> future : futures) {
+            future.addDependent(combined);
+            future.whenComplete(listener);
+        }
+        return combined;
+    }
+
+    /**
+     * Transforms the result once available; the returned future fails when this one fails or when the
+     * {@code function} throws. Cancelling the returned future cancels this one, and the other way around.
+     *
+     * @param function transformation of the result; must not be null
+     * @param <R>      the type of the transformed result
+     * @return a future completing with the transformed result
+     */
+    @NonNull
+    public <R> HyperwalletFuture<R> thenApply(@NonNull final Function<? super T, ? extends R> function) {
+        final HyperwalletFuture<R> dependent = new HyperwalletFuture<>();
+        dependent.mDependencies = new HyperwalletFuture<?>[]{this};
+        addDependent(dependent);
+        whenComplete(new HyperwalletListener<T>() {
+            @Override
+            public void onSuccess(@Nullable final T result) {
+                R value;
+                try {
+                    value = function.apply(result);
+                } catch (RuntimeException e) {
+                    dependent.complete(null, ExceptionMapper.toHyperwalletException(e));
+                    return;
+                }
+                dependent.complete(value, null);
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                dependent.complete(null, exception);
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * Starts the future returned by the {@code function} once the result is available, such as a request depending
+     * on the result; the returned future fails when this one fails, when the {@code function} throws or when the
+     * started future fails. Cancelling the returned future cancels this one or the started one, and the other way
+     * around.
+     *
+     * @param function provider of the next future from the result; must not be null
+     * @param <R>      the result type of the next future
+     * @return a future completing with the result of the next future
+     */
+    @NonNull
+    public <R> HyperwalletFuture<R> thenCompose(
+            @NonNull final Function<? super T, ? extends HyperwalletFuture<R>> function) {
+        final HyperwalletFuture<R> dependent = new HyperwalletFuture<>();
+        dependent.mDependencies = new HyperwalletFuture<?>[]{this};
+        addDependent(dependent);
+        whenComplete(new HyperwalletListener<T>() {
+            @Override
+            public void onSuccess(@Nullable final T result) {
+                HyperwalletFuture<R> next;
+                try {
+                    next = function.apply(result);
+                } catch (RuntimeException e) {
+                    dependent.complete(null, ExceptionMapper.toHyperwalletException(e));
+                    return;
+                }
+                dependent.follow(next);
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                dependent.complete(null, exception);
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * Registers the {@code listener} to be notified of the result; notified straight away when the result is
+     * already available. The listener is invoked on the thread completing the request, unless it provides a
+     * {@link Handler}.
+     *
+     * @param listener receiver of the result; must not be null
+     * @return this {@code HyperwalletFuture}
+     */
+    @NonNull
+    public HyperwalletFuture<T> whenComplete(@NonNull final HyperwalletListener<? super T> listener) {
+        synchronized (mLock) {
+            if (mListeners != null) {
+                mListeners.add(listener);
+                return this;
+            }
+        }
+        dispatch(listener);
+        return this;
+    }
+
+    /**
+     * Cancels the request; the listeners registered through {@link #whenComplete(HyperwalletListener)} are not
+     * notified of a cancelled request
+     */
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        return cancelFuture(true);
+    }
+
+    /**
+     * @param cancelDependencies {@code true} to cancel the futures this one depends on; {@code false} when this
+     *                           future is cancelled because one of them was, so that the others keep running
+     */
+    private boolean cancelFuture(final boolean cancelDependencies) {
+        HyperwalletRequest request;
+        HyperwalletFuture<?>[] dependencies;
+        List<HyperwalletFuture<?>> dependents;
+        synchronized (mLock) {
+            if (mListeners == null) {
+                return false;
+            }
+            mCancelled = true;
+            mListeners = null;
+            request = mRequest;
+            dependencies = cancelDependencies ? mDependencies : null;
+            dependents = mDependents;
+            mDependents = null;
+        }
+        mDone.countDown();
+        if (request != null) {
+            request.cancel();
+        }
+        if (dependencies != null) {
+            for (HyperwalletFuture<?> dependency : dependencies) {
+                dependency.cancel(true);
+            }
+        }
+        if (dependents != null) {
+            for (HyperwalletFuture<?> dependent : dependents) {
+                dependent.cancelFuture(false);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        synchronized (mLock) {
+            return mCancelled;
+        }
+    }
+
+    @Override
+    public boolean isDone() {
+        return mDone.getCount() == 0;
+    }
+
+    /**
+     * Waits for the result; must not be called from the main application thread
+     *
+     * @return the result of the request
+     * @throws ExecutionException    when the request failed; the cause is a {@link HyperwalletException}
+     * @throws CancellationException when the request was cancelled
+     */
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        mDone.await();
+        return getResult();
+    }
+
+    /**
+     * Waits at most the given time for the result; must not be called from the main application thread
+     *
+     * @return the result of the request
+     * @throws ExecutionException    when the request failed; the cause is a {@link HyperwalletException}
+     * @throws CancellationException when the request was cancelled
+     * @throws TimeoutException      when the result is not available in time
+     */
+    @Override
+    public T get(final long timeout, @NonNull final TimeUnit unit) throws InterruptedException, ExecutionException,
+            TimeoutException {
+        if (!mDone.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return getResult();
+    }
+
+    private T getResult() throws ExecutionException {
+        synchronized (mLock) {
+            if (mCancelled) {
+                throw new CancellationException();
+            }
+            if (mException != null) {
+                throw new ExecutionException(mException);
+            }
+            return mResult;
+        }
+    }
+
+    /**
+     * Registers the {@code dependent} future to be cancelled along with this one; cancelled straight away when this
+     * future is already cancelled
+     */
+    private void addDependent(@NonNull final HyperwalletFuture<?> dependent) {
+        synchronized (mLock) {
+            if (!mCancelled) {
+                if (mListeners != null) {
+                    if (mDependents == null) {
+                        mDependents = new ArrayList<>();
+                    }
+                    mDependents.add(dependent);
+                }
+                return;
+            }
+        }
+        dependent.cancelFuture(false);
+    }
+
+    /**
+     * Completes this future with the result of the {@code next} one, which is cancelled along with this future
+     */
+    private void follow(@NonNull final HyperwalletFuture<T> next) {
+        synchronized (mLock) {
+            if (!mCancelled) {
+                mDependencies = new HyperwalletFuture<?>[]{next};
+            }
+        }
+        next.addDependent(this);
+        if (isCancelled()) {
+            next.cancel(true);
+            return;
+        }
+        next.whenComplete(new HyperwalletListener<T>() {
+            @Override
+            public void onSuccess(@Nullable final T result) {
+                complete(result, null);
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                complete(null, exception);
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+    }
+
+    private void setRequest(@NonNull final HyperwalletRequest request) {
+        boolean cancelled;
+        synchronized (mLock) {
+            mRequest = request;
+            cancelled = mCancelled;
+        }
+        if (cancelled) {
+            request.cancel();
+        }
+    }
+
+    private void complete(@Nullable final T result, @Nullable final HyperwalletException exception) {
+        List<HyperwalletListener<? super T>> listeners;
+        synchronized (mLock) {
+            if (mListeners == null) {
+                return;
+            }
+            mResult = result;
+            mException = exception;
+            listeners = mListeners;
+            mListeners = null;
+            mDependents = null;
+        }
+        mDone.countDown();
+        for (HyperwalletListener<? super T> listener : listeners) {
+            dispatch(listener);
+        }
+    }
+
+    private void dispatch(@NonNull final HyperwalletListener<? super T> listener) {
+        synchronized (mLock) {
+            if (mCancelled) {
+                return;
+            }
+        }
+        if (listener.getHandler() == null) {
+            deliver(listener);
+        } else {
+            listener.getHandler().post(new Runnable() {
+                @Override
+                public void run() {
+                    deliver(listener);
+                }
+            });
+        }
+    }
+
+    private void deliver(@NonNull final HyperwalletListener<? super T> listener) {
+        if (mException != null) {
+            listener.onFailure(mException);
+        } else {
+            listener.onSuccess(mResult);
+        }
+    }
+
+    /**
+     * A transformation of the result of a {@code HyperwalletFuture}
+     *
+     * @param <T> the type of the result
+     * @param <R> the type of the transformed result
+     */
+    public interface Function<T, R> {
+
+        /**
+         * @param result the result to transform
+         * @return the transformed result
+         */
+        R apply(@Nullable T result);
+    }
+
+    /**
+     * A {@link Hyperwallet} call, started with the listener receiving its result
+     *
+     * @param <T> the domain object type expected as a response to a successful request
+     */
+    public interface Call<T> {
+
+        /**
+         * Starts the call
+         *
+         * @param listener the callback handler of responses from the Hyperwallet platform
+         * @return the handle on the request started
+         */
+        @NonNull
+        HyperwalletRequest execute(@NonNull HyperwalletListener<T> listener);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationField;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationKey;
+import com.hyperwallet.android.model.graphql.field.TransferMethodConfigurationFieldResult;
+import com.hyperwallet.android.model.graphql.field.TransferMethodUpdateConfigurationFieldResult;
+import com.hyperwallet.android.model.graphql.keyed.TransferMethodConfigurationKeyResult;
+import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationFieldQuery;
+import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationKeysQuery;
+import com.hyperwallet.android.model.graphql.query.TransferMethodTypesFeeAndProcessingTimesQuery;
+import com.hyperwallet.android.model.graphql.query.TransferMethodUpdateConfigurationFieldQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code HyperwalletGqlBatch} retrieves several transfer method configurations from the Hyperwallet platform with
+ * a single request
+ *
+ * <p>A batch is created by {@link Hyperwallet#newGqlBatch()}; each query is added with the listener receiving its
+ * own response, as it would be by the {@link Hyperwallet} method of the same name, then the batch is sent by
+ * {@link #execute()}:</p>
+ *
+ * <pre>{@code
+ * Hyperwallet.getDefault().newGqlBatch()
+ *         .retrieveTransferMethodConfigurationKeys(new TransferMethodConfigurationKeysQuery(), keysListener)
+ *         .retrieveTransferMethodConfigurationFields(fieldQuery, fieldsListener)
+ *         .execute();
+ * }</pre>
+ *
+ * <p>The errors of a query are delivered to its listener only; a failure of the request is delivered to every
+ * listener. Batched queries are always requested, the configuration caches of {@link Hyperwallet} are not
+ * consulted.</p>
+ */
+public final class HyperwalletGqlBatch {
+
+    private final Hyperwallet mHyperwallet;
+    private final List<GqlTransaction.Builder> mBuilders = new ArrayList<>();
+
+    HyperwalletGqlBatch(@NonNull final Hyperwallet hyperwallet) {
+        mHyperwallet = hyperwallet;
+    }
+
+    /**
+     * Adds the query of {@link Hyperwallet#retrieveTransferMethodConfigurationKeys}
+     *
+     * @param query    containing the transfer method configuration key query, must not be null
+     * @param listener the callback handler of the response of this query; must not be null
+     * @return this batch
+     */
+    public HyperwalletGqlBatch retrieveTransferMethodConfigurationKeys(
+            @NonNull final TransferMethodConfigurationKeysQuery query,
+            @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationKey> listener) {
+        mBuilders.add(new GqlTransaction.Builder<>(query, new TypeReference<TransferMethodConfigurationKeyResult>() {
+        }, listener));
+        return this;
+    }
+
+    /**
+     * Adds the query of {@link Hyperwallet#retrieveTransferMethodTypesFeesAndProcessingTimes}
+     *
+     * @param query    containing the transfer method types, fees and processing times query, must not be null
+     * @param listener the callback handler of the response of this query; must not be null
+     * @return this batch
+     */
+    public HyperwalletGqlBatch retrieveTransferMethodTypesFeesAndProcessingTimes(
+            @NonNull final TransferMethodTypesFeeAndProcessingTimesQuery query,
+            @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationKey> listener) {
+        mBuilders.add(new GqlTransaction.Builder<>(query, new TypeReference<TransferMethodConfigurationKeyResult>() {
+        }, listener));
+        return this;
+    }
+
+    /**
+     * Adds the query of {@link Hyperwallet#retrieveTransferMethodConfigurationFields}
+     *
+     * @param query    containing a transfer method configuration key tuple of country, currency, transfer method
+     *                 type and profile, must not be null
+     * @param listener the callback handler of the response of this query; must not be null
+     * @return this batch
+     */
+    public HyperwalletGqlBatch retrieveTransferMethodConfigurationFields(
+            @NonNull final TransferMethodConfigurationFieldQuery query,
+            @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationField> listener) {
+        mBuilders.add(new GqlTransaction.Builder<>(query,
+                new TypeReference<TransferMethodConfigurationFieldResult>() {
+                }, listener));
+        return this;
+    }
+
+    /**
+     * Adds the query of {@link Hyperwallet#retrieveUpdateTransferMethodConfigurationFields}
+     *
+     * @param query    containing the transfer method token, must not be null
+     * @param listener the callback handler of the response of this query; must not be null
+     * @return this batch
+     */
+    public HyperwalletGqlBatch retrieveUpdateTransferMethodConfigurationFields(
+            @NonNull final TransferMethodUpdateConfigurationFieldQuery query,
+            @NonNull final HyperwalletListener<HyperwalletTransferMethodConfigurationField> listener) {
+        mBuilders.add(new GqlTransaction.Builder<>(query,
+                new TypeReference<TransferMethodUpdateConfigurationFieldResult>() {
+                }, listener));
+        return this;
+    }
+
+    /**
+     * Sends every query added to this batch in a single request
+     *
+     * @return a handle on the request, through which every query can be cancelled
+     */
+    public HyperwalletRequest execute() {
+        if (mBuilders.isEmpty()) {
+            throw new IllegalStateException("A batch requires at least one query");
+        }
+        return mHyperwallet.performGqlBatchTransaction(new GqlBatchTransaction.Builder(mBuilders));
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.listener.HyperwalletPageListener;
+import com.hyperwallet.android.model.paging.PageLink;
+import com.hyperwallet.android.model.paging.PageList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * {@code HyperwalletPager} loads the items of a list request page after page
+ *
+ * <p>Each call to {@link #loadNext(HyperwalletListener)} delivers the items of the next page. While a page is
+ * consumed the following pages are already requested, up to {@link Builder#maxPagesInFlight(int)} pages ahead.
+ * The pages are requested through a {@link PageCall}, which applies the offset and limit of the page to the query
+ * of a list request, for instance:</p>
+ * <pre>
+ * new HyperwalletPager.Builder&lt;Receipt&gt;(new HyperwalletPager.PageCall&lt;Receipt&gt;() {
+ *     public HyperwalletRequest execute(int offset, int limit,
+ *             HyperwalletListener&lt;PageList&lt;Receipt&gt;&gt; listener) {
+ *         return Hyperwallet.getDefault().listUserReceipts(
+ *                 new ReceiptQueryParam.Builder().offset(offset).limit(limit).build(), listener);
+ *     }
+ * }).build();
+ * </pre>
+ *
+ * <p>The end of the list is detected from {@link PageList#getCount()} when the platform reports it, otherwise from
+ * the {@code next} link of the last page. A page that fails is delivered to
+ * {@link HyperwalletListener#onFailure(HyperwalletException)}, then requested again for the next call to
+ * {@code loadNext}.</p>
+ *
+ * @param <T> the type of the listed items
+ */
+public final class HyperwalletPager<T> {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int DEFAULT_MAX_PAGES_IN_FLIGHT = 1;
+    private static final String NEXT_PAGE = "next";
+
+    private final PageCall<T> mPageCall;
+    private final int mLimit;
+    private final int mMaxPagesInFlight;
+    private final Object mLock = new Object();
+    private final Deque<Page> mPages = new ArrayDeque<>();
+    private final Deque<HyperwalletListener<List<T>>> mConsumers = new ArrayDeque<>();
+
+    private int mNextOffset;
+    private int mFetchLimit;
+    private boolean mCancelled;
+
+    private HyperwalletPager(@NonNull final Builder<T> builder) {
+        mPageCall = builder.mPageCall;
+        mLimit = builder.mLimit;
+        mMaxPagesInFlight = builder.mMaxPagesInFlight;
+        mNextOffset = builder.mOffset;
+        mFetchLimit = builder.mOffset + builder.mLimit;
+    }
+
+    /**
+     * Loads the items of the next page; an empty list is delivered once every page was loaded
+     *
+     * @param listener the callback handler of the page items; the items are delivered in page order
+     */
+    public void loadNext(@NonNull final HyperwalletListener<List<T>> listener) {
+        List<Runnable> actions;
+        synchronized (mLock) {
+            if (mCancelled) {
+                return;
+            }
+            mConsumers.add(listener);
+            actions = drain();
+        }
+        run(actions);
+    }
+
+    /**
+     * Loads every remaining page, keeping up to {@link Builder#maxPagesInFlight(int)} pages in flight; once the
+     * first page tells the size of the list the remaining pages are requested concurrently
+     *
+     * <p>The first failure, whether of a page or an exception thrown by {@link HyperwalletPageListener#onPage(List)},
+     * cancels the pager and is delivered to {@link HyperwalletListener#onFailure(HyperwalletException)}.</p>
+     *
+     * @param listener the callback handler of the pages, delivered in order, and of the merged list
+     */
+    public void loadAll(@NonNull final HyperwalletPageListener<T> listener) {
+        final List<T> merged = new ArrayList<>();
+        loadNext(new HyperwalletListener<List<T>>() {
+            @Override
+            public void onSuccess(@Nullable final List<T> items) {
+                if (items == null || items.isEmpty()) {
+                    post(listener, new Runnable() {
+                        @Override
+                        public void run() {
+                            listener.onSuccess(Collections.unmodifiableList(merged));
+                        }
+                    });
+                    return;
+                }
+
+                merged.addAll(items);
+                post(listener, new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            listener.onPage(items);
+                        } catch (RuntimeException e) {
+                            cancel();
+                            listener.onFailure(ExceptionMapper.toHyperwalletException(e));
+                        }
+                    }
+                });
+                loadNext(this);
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                // delivered even though the pager is cancelled, unlike the notifications of post
+                cancel();
+                if (listener.getHandler() == null) {
+                    listener.onFailure(exception);
+                } else {
+                    listener.getHandler().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            listener.onFailure(exception);
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return {@code true} unless every page was loaded; the items of the last page may still be pending
+     */
+    public boolean hasNext() {
+        synchronized (mLock) {
+            return !mCancelled && (!mPages.isEmpty() || mNextOffset < mFetchLimit);
+        }
+    }
+
+    /**
+     * Cancels the pages requested ahead and stops delivering pages; the pending listeners are not invoked
+     */
+    public void cancel() {
+        List<Page> pages;
+        synchronized (mLock) {
+            mCancelled = true;
+            mConsumers.clear();
+            pages = new ArrayList<>(mPages);
+            mPages.clear();
+        }
+        for (Page page : pages) {
+            page.cancel();
+        }
+    }
+
+    /**
+     * Matches the completed pages at the head of the list with the waiting consumers, then requests the pages
+     * ahead; after a failed page, the pages are only requested again for a waiting consumer. Must be called while
+     * holding {@code mLock}
+     *
+     * @return the deliveries and requests to run once {@code mLock} is released
+     */
+    @NonNull
+    private List<Runnable> drain() {
+        List<Runnable> actions = new ArrayList<>();
+        boolean failed = false;
+        while (!mConsumers.isEmpty()) {
+            Page head = mPages.peek();
+            if (head == null && mNextOffset >= mFetchLimit) {
+                actions.add(deliver(mConsumers.poll(), Collections.<T>emptyList(), null));
+            } else if (head != null && head.mDone) {
+                mPages.poll();
+                actions.add(deliver(mConsumers.poll(), head.mItems, head.mException));
+                if (head.mException != null) {
+                    for (Page page : mPages) {
+                        actions.add(cancel(page));
+                    }
+                    mPages.clear();
+                    mNextOffset = head.mOffset;
+                    failed = true;
+                }
+            } else {
+                break;
+            }
+        }
+
+        while ((!failed || !mConsumers.isEmpty()) && mPages.size() < mMaxPagesInFlight
+                && mNextOffset < mFetchLimit) {
+            final Page page = new Page(mNextOffset);
+            mPages.add(page);
+            mNextOffset += mLimit;
+            actions.add(new Runnable() {
+                @Override
+                public void run() {
+                    page.start();
+                }
+            });
+        }
+        return actions;
+    }
+
+    private void onPageLoaded(@NonNull final Page page, @Nullable final PageList<T> pageList,
+            @Nullable final HyperwalletException exception) {
+        List<Runnable> actions;
+        synchronized (mLock) {
+            if (mCancelled || !mPages.contains(page)) {
+                return;
+            }
+            page.mDone = true;
+            page.mException = exception;
+            if (exception == null) {
+                List<T> items = pageList == null ? null : pageList.getDataList();
+                page.mItems = items == null ? Collections.<T>emptyList() : items;
+                if (page.mItems.isEmpty()) {
+                    mFetchLimit = Math.min(mFetchLimit, page.mOffset);
+                } else if (pageList.getCount() > 0) {
+                    mFetchLimit = pageList.getCount();
+                } else if (hasNextPage(pageList)) {
+                    mFetchLimit = Math.max(mFetchLimit, page.mOffset + 2 * mLimit);
+                } else {
+                    mFetchLimit = Math.min(mFetchLimit, page.mOffset + mLimit);
+                }
+            }
+            actions = drain();
+        }
+        run(actions);
+    }
+
+    private static boolean hasNextPage(@NonNull final PageList<?> pageList) {
+        if (pageList.getPageLinks() == null) {
+            return false;
+        }
+        for (PageLink pageLink : pageList.getPageLinks()) {
+            if (pageLink.getPageParameter() != null && NEXT_PAGE.equals(pageLink.getPageParameter().getRel())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NonNull
+    private Runnable deliver(@NonNull final HyperwalletListener<List<T>> listener, @Nullable final List<T> items,
+            @Nullable final HyperwalletException exception) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                post(listener, new Runnable() {
+                    @Override
+                    public void run() {
+                        if (exception != null) {
+                            listener.onFailure(exception);
+                        } else {
+                            listener.onSuccess(items);
+                        }
+                    }
+                });
+            }
+        };
+    }
+
+    private void post(@NonNull final HyperwalletListener<?> listener, @NonNull final Runnable notification) {
+        if (listener.getHandler() == null) {
+            notification.run();
+        } else {
+            listener.getHandler().post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!isCancelled()) {
+                        notification.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private boolean isCancelled() {
+        synchronized (mLock) {
+            return mCancelled;
+        }
+    }
+
+    @NonNull
+    private Runnable cancel(@NonNull final Page page) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                page.cancel();
+            }
+        };
+    }
+
+    private static void run(@NonNull final List<Runnable> actions) {
+        for (Runnable action : actions) {
+            action.run();
+        }
+    }
+
+    /**
+     * A list request of one page, started with the offset and limit of the page
+     *
+     * @param <T> the type of the listed items
+     */
+    public interface PageCall<T> {
+
+        /**
+         * Starts the list request of a page, typically with a query built through
+         * {@link com.hyperwallet.android.model.QueryParam.Builder#offset(int)} and
+         * {@link com.hyperwallet.android.model.QueryParam.Builder#limit(int)}
+         *
+         * @param offset   number of items to skip
+         * @param limit    number of items of the page
+         * @param listener the callback handler of the page
+         * @return the handle on the request started
+         */
+        @NonNull
+        HyperwalletRequest execute(int offset, int limit, @NonNull HyperwalletListener<PageList<T>> listener);
+    }
+
+    private final class Page {
+
+        private final int mOffset;
+        private HyperwalletRequest mRequest;
+        private boolean mRequestCancelled;
+        private boolean mDone;
+        private List<T> mItems;
+        private HyperwalletException mException;
+
+        Page(final int offset) {
+            mOffset = offset;
+        }
+
+        void start() {
+            HyperwalletRequest request = mPageCall.execute(mOffset, mLimit, new HyperwalletListener<PageList<T>>() {
+                @Override
+                public void onSuccess(@Nullable final PageList<T> result) {
+                    onPageLoaded(Page.this, result, null);
+                }
+
+                @Override
+                public void onFailure(final HyperwalletException exception) {
+                    onPageLoaded(Page.this, null, exception);
+                }
+
+                @Override
+                public Handler getHandler() {
+                    return null;
+                }
+            });
+            boolean cancelled;
+            synchronized (this) {
+                mRequest = request;
+                cancelled = mRequestCancelled;
+            }
+            if (cancelled) {
+                request.cancel();
+            }
+        }
+
+        void cancel() {
+            HyperwalletRequest request;
+            synchronized (this) {
+                mRequestCancelled = true;
+                request = mRequest;
+            }
+            if (request != null) {
+                request.cancel();
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link HyperwalletPager}
+     *
+     * @param <T> the type of the listed items
+     */
+    public static final class Builder<T> {
+
+        private final PageCall<T> mPageCall;
+        private int mOffset;
+        private int mLimit = DEFAULT_LIMIT;
+        private int mMaxPagesInFlight = DEFAULT_MAX_PAGES_IN_FLIGHT;
+
+        /**
+         * @param pageCall the list request of a page; must not be null
+         */
+        public Builder(@NonNull final PageCall<T> pageCall) {
+            mPageCall = pageCall;
+        }
+
+        /**
+         * Defines the offset of the first page
+         *
+         * <p>The default value is 0<p/>
+         *
+         * @param offset number of items to skip; must not be negative
+         */
+        public Builder<T> offset(final int offset) {
+            if (offset < 0) {
+                throw new IllegalArgumentException("offset must not be negative");
+            }
+            mOffset = offset;
+            return this;
+        }
+
+        /**
+         * Defines the number of items of a page
+         *
+         * <p>The default value is 10 items<p/>
+         *
+         * @param limit number of items; must be greater than zero
+         */
+        public Builder<T> limit(final int limit) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("limit must be greater than zero");
+            }
+            mLimit = limit;
+            return this;
+        }
+
+        /**
+         * Defines the number of pages requested or loaded and not delivered yet
+         *
+         * <p>The default value is 1 page, which requests the page N+1 while the page N is consumed<p/>
+         *
+         * @param maxPagesInFlight number of pages; must be greater than zero
+         */
+        public Builder<T> maxPagesInFlight(final int maxPagesInFlight) {
+            if (maxPagesInFlight <= 0) {
+                throw new IllegalArgumentException("max pages in flight must be greater than zero");
+            }
+            mMaxPagesInFlight = maxPagesInFlight;
+            return this;
+        }
+
+        public HyperwalletPager<T> build() {
+            return new HyperwalletPager<>(this);
+        }
+    }
+}
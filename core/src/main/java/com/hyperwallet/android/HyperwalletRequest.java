@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+
+import com.hyperwallet.android.listener.HyperwalletListener;
+
+/**
+ * {@code HyperwalletRequest} is a handle on a request submitted to the Hyperwallet platforms
+ *
+ * <p>Cancelling a request removes it from the queue when it is still waiting for a thread, or aborts its
+ * connection when it is in flight. The response of a cancelled request is neither parsed nor delivered: the
+ * {@link HyperwalletListener} is not invoked once {@link #cancel()} returns, unless the callback was already
+ * running or posted to its {@link android.os.Handler}.</p>
+ */
+public final class HyperwalletRequest {
+
+    private final TransactionExecutor mExecutor;
+    private final Object mLock = new Object();
+
+    private boolean mCancelled;
+    private HttpTransaction mTransaction;
+
+    HyperwalletRequest(@NonNull final TransactionExecutor executor) {
+        mExecutor = executor;
+    }
+
+    /**
+     * Cancels this request; has no effect when the request is already cancelled or completed
+     */
+    public void cancel() {
+        HttpTransaction transaction;
+        synchronized (mLock) {
+            if (mCancelled) {
+                return;
+            }
+            mCancelled = true;
+            transaction = mTransaction;
+        }
+        if (transaction != null) {
+            transaction.cancel();
+            mExecutor.remove(transaction);
+        }
+    }
+
+    /**
+     * @return {@code true} if {@link #cancel()} was called; otherwise {@code false}
+     */
+    public boolean isCancelled() {
+        synchronized (mLock) {
+            return mCancelled;
+        }
+    }
+
+    /**
+     * Binds the transaction currently executing this request, replacing the one it may replay
+     *
+     * @param transaction transaction executing this request; must not be null
+     * @return {@code false} if this request is cancelled and the transaction must not be executed
+     */
+    boolean attach(@NonNull final HttpTransaction transaction) {
+        synchronized (mLock) {
+            if (mCancelled) {
+                return false;
+            }
+            mTransaction = transaction;
+            return true;
+        }
+    }
+}
@@ -27,25 +27,27 @@
 package com.hyperwallet.android;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import java.text.MessageFormat;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * {@code PathFormatter} utility that creates api postfix uri for REST
  * based on postfix uri pattern and arguments
+ *
+ * <p>A pattern holds placeholders {@code {0}}, {@code {1}}... where {@code {0}} is the user token and the
+ * following ones are the arguments. Every pattern is compiled once and shared by all the formatters of the same
+ * endpoint; the values are URL-escaped when the path is formatted.</p>
  */
 class PathFormatter {
-    private final String pattern;
-    private Object[] arguments;
+    private static final ConcurrentMap<String, Template> TEMPLATES = new ConcurrentHashMap<>();
 
-    /**
-     * Construct a {@code PathFormatter} object from pattern provided
-     */
-    private PathFormatter(String pattern) {
-        this.pattern = pattern;
-    }
+    private final Template template;
+    private final Object[] arguments;
 
     /**
      * Construct a {@code PathFormatter} object from pattern and list of arguments provided
@@ -54,7 +56,12 @@ class PathFormatter {
      * @param args
      */
     PathFormatter(@NonNull String pattern, Object... args) {
-        this(pattern);
+        Template compiled = TEMPLATES.get(pattern);
+        if (compiled == null) {
+            compiled = new Template(pattern);
+            TEMPLATES.putIfAbsent(pattern, compiled);
+        }
+        template = compiled;
         arguments = args;
     }
 
@@ -64,13 +71,112 @@ class PathFormatter {
      * @return String of formatted path
      */
     String format(String token) {
-        arguments = prependArgument(token, arguments);
-        return MessageFormat.format(pattern, arguments);
+        return template.render(token, arguments);
     }
 
-    Object[] prependArgument(Object newArgument, Object[] arguments) {
-        ArrayList<Object> argumentsList = new ArrayList<>(Arrays.asList(arguments));
-        argumentsList.add(0, newArgument);
-        return argumentsList.toArray();
+    /**
+     * Pattern split into its literal and placeholder segments
+     */
+    private static final class Template {
+        private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+        private final String[] literals;
+        private final int[] placeholders;
+        private final int length;
+
+        /**
+         * Splits the {@code pattern} at its placeholders; a brace that does not open a placeholder is kept as a
+         * literal
+         */
+        Template(@NonNull String pattern) {
+            List<String> literalList = new ArrayList<>();
+            List<Integer> placeholderList = new ArrayList<>();
+            int start = 0;
+            int open = pattern.indexOf('{');
+            while (open != -1) {
+                int close = pattern.indexOf('}', open);
+                int index = close == -1 ? -1 : parseIndex(pattern, open + 1, close);
+                if (index == -1) {
+                    open = pattern.indexOf('{', open + 1);
+                    continue;
+                }
+                literalList.add(pattern.substring(start, open));
+                placeholderList.add(index);
+                start = close + 1;
+                open = pattern.indexOf('{', start);
+            }
+            literalList.add(pattern.substring(start));
+
+            literals = literalList.toArray(new String[0]);
+            placeholders = new int[placeholderList.size()];
+            for (int i = 0; i < placeholders.length; i++) {
+                placeholders[i] = placeholderList.get(i);
+            }
+            length = pattern.length();
+        }
+
+        String render(@Nullable String token, @Nullable Object[] arguments) {
+            StringBuilder path = new StringBuilder(length + 64);
+            path.append(literals[0]);
+            for (int i = 0; i < placeholders.length; i++) {
+                int index = placeholders[i];
+                if (index == 0) {
+                    appendEscaped(path, String.valueOf(token));
+                } else if (arguments != null && index <= arguments.length) {
+                    appendEscaped(path, String.valueOf(arguments[index - 1]));
+                } else {
+                    path.append('{').append(index).append('}');
+                }
+                path.append(literals[i + 1]);
+            }
+            return path.toString();
+        }
+
+        /**
+         * @return the value of the digits from {@code start} to {@code end}, or -1 when they are not a placeholder
+         * index
+         */
+        private static int parseIndex(@NonNull String pattern, int start, int end) {
+            if (start == end || end - start > 9) {
+                return -1;
+            }
+            int index = 0;
+            for (int i = start; i < end; i++) {
+                char digit = pattern.charAt(i);
+                if (digit < '0' || digit > '9') {
+                    return -1;
+                }
+                index = index * 10 + digit - '0';
+            }
+            return index;
+        }
+
+        /**
+         * Appends the {@code value} to the {@code path}, percent-encoding every character that is not unreserved
+         * in a path segment
+         */
+        private static void appendEscaped(@NonNull StringBuilder path, @NonNull String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char character = value.charAt(i);
+                if (isUnreserved(character)) {
+                    path.append(character);
+                } else {
+                    int end = i + 1;
+                    while (end < value.length() && !isUnreserved(value.charAt(end))) {
+                        end++;
+                    }
+                    for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                        path.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+                    }
+                    i = end - 1;
+                }
+            }
+        }
+
+        private static boolean isUnreserved(char character) {
+            return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z')
+                    || (character >= '0' && character <= '9')
+                    || character == '-' || character == '.' || character == '_' || character == '~';
+        }
     }
 }
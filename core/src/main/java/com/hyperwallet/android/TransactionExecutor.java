@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code TransactionExecutor} runs {@link HttpTransaction}s on a fixed pool of threads defined by an
+ * {@link ExecutorConfiguration}
+ *
+ * <p>Transactions waiting for a thread are ordered by {@link Priority} and then by submission order, so an
+ * interactive request submitted behind a burst of list requests is the next one to run.</p>
+ */
+class TransactionExecutor {
+
+    /**
+     * Execution priority of a transaction, from highest to lowest
+     */
+    enum Priority {
+        /**
+         * Requests the User is waiting on, such as mutations and single resource retrievals
+         */
+        INTERACTIVE,
+        /**
+         * List and prefetch requests
+         */
+        BACKGROUND
+    }
+
+    private static final String QUEUE_FULL = "Request queue is full";
+    private static final String SHUT_DOWN = "Executor is shut down";
+
+    private final ThreadPoolExecutor mExecutor;
+    private final ExecutorConfiguration.RejectionPolicy mRejectionPolicy;
+    private final AtomicLong mSequence = new AtomicLong();
+
+    /**
+     * Construct a {@code TransactionExecutor} from the specified configuration
+     *
+     * @param configuration pool size, queue capacity and rejection policy; must not be null
+     */
+    TransactionExecutor(@NonNull final ExecutorConfiguration configuration) {
+        mRejectionPolicy = configuration.getRejectionPolicy();
+        mExecutor = new ThreadPoolExecutor(configuration.getPoolSize(), configuration.getPoolSize(), 0L,
+                TimeUnit.MILLISECONDS, new BoundedPriorityQueue(configuration.getQueueCapacity()),
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+                        reject((Task) runnable, executor);
+                    }
+                });
+    }
+
+    /**
+     * Executes the {@code transaction} once a thread is available; when it is rejected, the failure is delivered
+     * to the transaction listener
+     *
+     * @param transaction transaction to execute; must not be null
+     * @param priority    execution priority; must not be null
+     */
+    void execute(@NonNull final HttpTransaction transaction, @NonNull final Priority priority) {
+        mExecutor.execute(new Task(transaction, priority, mSequence.getAndIncrement()));
+    }
+
+    /**
+     * Removes the {@code transaction} from the queue, if it is still waiting for a thread
+     *
+     * @param transaction transaction to remove; must not be null
+     */
+    void remove(@NonNull final HttpTransaction transaction) {
+        for (Runnable runnable : mExecutor.getQueue()) {
+            if (((Task) runnable).mTransaction == transaction) {
+                mExecutor.remove(runnable);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops accepting transactions; the transactions already submitted are still executed
+     */
+    void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    @VisibleForTesting
+    int getQueueSize() {
+        return mExecutor.getQueue().size();
+    }
+
+    private void reject(@NonNull final Task task, @NonNull final ThreadPoolExecutor executor) {
+        if (mRejectionPolicy == ExecutorConfiguration.RejectionPolicy.DISCARD_LOWEST_PRIORITY
+                && !executor.isShutdown()) {
+            Task discarded = getLowestPriority(executor.getQueue());
+            if (discarded != null && discarded.mPriority.compareTo(task.mPriority) >= 0
+                    && executor.remove(discarded)) {
+                discarded.reject(QUEUE_FULL);
+                executor.execute(task);
+                return;
+            }
+        }
+        task.reject(executor.isShutdown() ? SHUT_DOWN : QUEUE_FULL);
+    }
+
+    @Nullable
+    private static Task getLowestPriority(@NonNull final BlockingQueue<Runnable> queue) {
+        Task lowest = null;
+        for (Runnable runnable : queue) {
+            Task task = (Task) runnable;
+            if (lowest == null || task.mPriority.compareTo(lowest.mPriority) > 0
+                    || (task.mPriority == lowest.mPriority && task.mSequence < lowest.mSequence)) {
+                lowest = task;
+            }
+        }
+        return lowest;
+    }
+
+    private static final class Task implements Runnable, Comparable<Task> {
+
+        private final HttpTransaction mTransaction;
+        private final Priority mPriority;
+        private final long mSequence;
+
+        private Task(@NonNull final HttpTransaction transaction, @NonNull final Priority priority,
+                final long sequence) {
+            mTransaction = transaction;
+            mPriority = priority;
+            mSequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            if (!mTransaction.isCancelled()) {
+                mTransaction.run();
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull final Task other) {
+            int result = mPriority.compareTo(other.mPriority);
+            return result != 0 ? result : Long.compare(mSequence, other.mSequence);
+        }
+
+        private void reject(@NonNull final String reason) {
+            if (mTransaction.isCancelled()) {
+                return;
+            }
+            mTransaction.onFailure(new RejectedExecutionException(reason));
+        }
+    }
+
+    /**
+     * Priority queue that refuses new elements once it holds {@code capacity} elements, so that the executor
+     * applies its rejection policy
+     */
+    private static final class BoundedPriorityQueue extends PriorityBlockingQueue<Runnable> {
+
+        private final int mCapacity;
+
+        private BoundedPriorityQueue(final int capacity) {
+            mCapacity = capacity;
+        }
+
+        @Override
+        public synchronized boolean offer(final Runnable runnable) {
+            return size() < mCapacity && super.offer(runnable);
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return mCapacity - size();
+        }
+    }
+}
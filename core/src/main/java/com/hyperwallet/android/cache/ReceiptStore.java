@@ -0,0 +1,355 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.cache;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.annotation.WorkerThread;
+
+import com.hyperwallet.android.ExceptionMapper;
+import com.hyperwallet.android.Hyperwallet;
+import com.hyperwallet.android.HyperwalletPager;
+import com.hyperwallet.android.HyperwalletRequest;
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.listener.HyperwalletPageListener;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.receipt.Receipt;
+import com.hyperwallet.android.model.receipt.ReceiptQueryParam;
+import com.hyperwallet.android.util.DateUtil;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@code ReceiptStore} keeps the {@link Receipt}s of a User, or of one of their prepaid cards, on the device
+ *
+ * <p>{@link #sync(Hyperwallet, HyperwalletListener)} only requests the receipts created after the most recent
+ * stored receipt, then {@link #getReceipts(ReceiptQueryParam)} serves the receipt history without a request to
+ * the Hyperwallet platform. Receipts are indexed by journal id and creation date, and stored apart for each
+ * User and prepaid card token.</p>
+ *
+ * <p>The store reads and writes a database: its methods must not be called from the main application thread.</p>
+ */
+public final class ReceiptStore {
+
+    private static final int SYNC_PAGE_LIMIT = 100;
+
+    private static ReceiptDatabase sDatabase;
+
+    private final ReceiptDatabase mDatabase;
+    private final String mOwnerToken;
+    private final boolean mPrepaidCard;
+
+    private ReceiptStore(@NonNull final ReceiptDatabase database, @NonNull final String ownerToken,
+            final boolean prepaidCard) {
+        mDatabase = database;
+        mOwnerToken = ownerToken;
+        mPrepaidCard = prepaidCard;
+    }
+
+    /**
+     * @param context   application context
+     * @param userToken token of the User whose receipts are stored
+     * @return store of the receipts of the User
+     */
+    @NonNull
+    public static ReceiptStore forUser(@NonNull final Context context, @NonNull final String userToken) {
+        return new ReceiptStore(getDatabase(context), userToken, false);
+    }
+
+    /**
+     * @param context          application context
+     * @param prepaidCardToken token of the prepaid card whose receipts are stored
+     * @return store of the receipts of the prepaid card
+     */
+    @NonNull
+    public static ReceiptStore forPrepaidCard(@NonNull final Context context,
+            @NonNull final String prepaidCardToken) {
+        return new ReceiptStore(getDatabase(context), prepaidCardToken, true);
+    }
+
+    private static synchronized ReceiptDatabase getDatabase(@NonNull final Context context) {
+        if (sDatabase == null) {
+            sDatabase = new ReceiptDatabase(context.getApplicationContext());
+        }
+        return sDatabase;
+    }
+
+    @VisibleForTesting
+    static synchronized void closeDatabase() {
+        if (sDatabase != null) {
+            sDatabase.close();
+            sDatabase = null;
+        }
+    }
+
+    /**
+     * Requests the receipts created since the most recent stored receipt, or every receipt when the store is empty,
+     * and stores them
+     *
+     * @param hyperwallet the Hyperwallet instance requesting the receipts
+     * @param listener    receives the number of receipts stored by the sync, or the failure of a request or of the
+     *                    storage of a page; the sync stops at the first failure
+     * @return the pager loading the receipts, through which the sync can be cancelled
+     */
+    @NonNull
+    @WorkerThread
+    public HyperwalletPager<Receipt> sync(@NonNull final Hyperwallet hyperwallet,
+            @NonNull final HyperwalletListener<Integer> listener) {
+        String highWaterMark = getHighWaterMark();
+        final Date createdAfter = highWaterMark == null ? null : DateUtil.fromDateTimeString(highWaterMark);
+
+        HyperwalletPager.PageCall<Receipt> pageCall = new HyperwalletPager.PageCall<Receipt>() {
+            @NonNull
+            @Override
+            public HyperwalletRequest execute(final int offset, final int limit,
+                    @NonNull final HyperwalletListener<PageList<Receipt>> pageListener) {
+                ReceiptQueryParam.Builder query = new ReceiptQueryParam.Builder().sortByCreatedOnAsc()
+                        .offset(offset).limit(limit);
+                if (createdAfter != null) {
+                    query.createdAfter(createdAfter);
+                }
+                ReceiptQueryParam queryParam = query.build();
+                return mPrepaidCard
+                        ? hyperwallet.listPrepaidCardReceipts(mOwnerToken, queryParam, pageListener)
+                        : hyperwallet.listUserReceipts(queryParam, pageListener);
+            }
+        };
+
+        final HyperwalletPager<Receipt> pager = new HyperwalletPager.Builder<>(pageCall).limit(SYNC_PAGE_LIMIT)
+                .build();
+        pager.loadAll(new HyperwalletPageListener<Receipt>() {
+            private int mStored;
+
+            @Override
+            public void onPage(@NonNull final List<Receipt> items) {
+                try {
+                    mStored += save(items);
+                } catch (RuntimeException e) {
+                    pager.cancel();
+                    final HyperwalletException exception = ExceptionMapper.toHyperwalletException(e);
+                    post(listener, new Runnable() {
+                        @Override
+                        public void run() {
+                            listener.onFailure(exception);
+                        }
+                    });
+                }
+            }
+
+            @Override
+            public void onSuccess(@Nullable final List<Receipt> result) {
+                post(listener, new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onSuccess(mStored);
+                    }
+                });
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                post(listener, new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onFailure(exception);
+                    }
+                });
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+        return pager;
+    }
+
+    /**
+     * Stores the {@code receipts}, replacing the stored copies of the same receipts
+     *
+     * @param receipts receipts of the owner of this store
+     * @return the number of receipts stored
+     */
+    @WorkerThread
+    public int save(@NonNull final List<Receipt> receipts) {
+        SQLiteDatabase database = mDatabase.getWritableDatabase();
+        int stored = 0;
+        database.beginTransaction();
+        try {
+            for (Receipt receipt : receipts) {
+                if (receipt.getJournalId() == null || receipt.getCreatedOn() == null) {
+                    continue;
+                }
+
+                ContentValues values = new ContentValues();
+                values.put(ReceiptDatabase.OWNER_TOKEN, mOwnerToken);
+                values.put(ReceiptDatabase.JOURNAL_ID, receipt.getJournalId());
+                values.put(ReceiptDatabase.TYPE, valueOf(receipt.getType()));
+                values.put(ReceiptDatabase.ENTRY, valueOf(receipt.getEntry()));
+                values.put(ReceiptDatabase.CREATED_ON, receipt.getCreatedOn());
+                values.put(ReceiptDatabase.CURRENCY, valueOf(receipt.getCurrency()));
+                values.put(ReceiptDatabase.CONTENT, receipt.toJsonString());
+                database.insertWithOnConflict(ReceiptDatabase.TABLE_RECEIPTS, null, values,
+                        SQLiteDatabase.CONFLICT_REPLACE);
+                stored++;
+            }
+            database.setTransactionSuccessful();
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Receipt can not be stored", e);
+        } finally {
+            database.endTransaction();
+        }
+        return stored;
+    }
+
+    /**
+     * Lists the stored receipts, from the most recent; the offset, limit, creation dates and currency of the
+     * {@code queryParam} are applied, its sort order is not
+     *
+     * @param queryParam the filtering criteria, or null to list the 10 most recent receipts
+     * @return the receipts matching the {@code queryParam}
+     */
+    @NonNull
+    @WorkerThread
+    public List<Receipt> getReceipts(@Nullable final ReceiptQueryParam queryParam) {
+        ReceiptQueryParam query = queryParam == null ? new ReceiptQueryParam.Builder().build() : queryParam;
+        StringBuilder selection = new StringBuilder(ReceiptDatabase.OWNER_TOKEN + " = ?");
+        List<String> arguments = new ArrayList<>();
+        arguments.add(mOwnerToken);
+        if (query.getCreatedAfter() != null) {
+            selection.append(" AND " + ReceiptDatabase.CREATED_ON + " >= ?");
+            arguments.add(DateUtil.toDateTimeFormat(query.getCreatedAfter()));
+        }
+        if (query.getCreatedBefore() != null) {
+            selection.append(" AND " + ReceiptDatabase.CREATED_ON + " <= ?");
+            arguments.add(DateUtil.toDateTimeFormat(query.getCreatedBefore()));
+        }
+        if (query.getCurrency() != null) {
+            selection.append(" AND " + ReceiptDatabase.CURRENCY + " = ?");
+            arguments.add(query.getCurrency());
+        }
+
+        List<Receipt> receipts = new ArrayList<>();
+        Cursor cursor = mDatabase.getReadableDatabase().query(ReceiptDatabase.TABLE_RECEIPTS,
+                new String[]{ReceiptDatabase.CONTENT}, selection.toString(), arguments.toArray(new String[0]),
+                null, null, ReceiptDatabase.CREATED_ON + " DESC, " + ReceiptDatabase.JOURNAL_ID + " DESC",
+                query.getOffset() + "," + query.getLimit());
+        try {
+            while (cursor.moveToNext()) {
+                receipts.add(new Receipt(new JSONObject(cursor.getString(0))));
+            }
+        } catch (JSONException e) {
+            throw new IllegalStateException("Stored receipt can not be read", e);
+        } finally {
+            cursor.close();
+        }
+        return receipts;
+    }
+
+    /**
+     * @return the creation date of the most recent stored receipt, or null when the store is empty
+     */
+    @Nullable
+    @WorkerThread
+    public String getHighWaterMark() {
+        Cursor cursor = mDatabase.getReadableDatabase().rawQuery("SELECT MAX(" + ReceiptDatabase.CREATED_ON
+                + ") FROM " + ReceiptDatabase.TABLE_RECEIPTS + " WHERE " + ReceiptDatabase.OWNER_TOKEN + " = ?",
+                new String[]{mOwnerToken});
+        try {
+            return cursor.moveToFirst() && !cursor.isNull(0) ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Deletes the stored receipts of the owner of this store
+     */
+    @WorkerThread
+    public void clear() {
+        mDatabase.getWritableDatabase().delete(ReceiptDatabase.TABLE_RECEIPTS,
+                ReceiptDatabase.OWNER_TOKEN + " = ?", new String[]{mOwnerToken});
+    }
+
+    @NonNull
+    private static String valueOf(@Nullable final String value) {
+        return value == null ? "" : value;
+    }
+
+    private static void post(@NonNull final HyperwalletListener<?> listener, @NonNull final Runnable notification) {
+        if (listener.getHandler() == null) {
+            notification.run();
+        } else {
+            listener.getHandler().post(notification);
+        }
+    }
+
+    private static final class ReceiptDatabase extends SQLiteOpenHelper {
+
+        private static final String DATABASE_NAME = "hyperwallet_receipts.db";
+        private static final int DATABASE_VERSION = 1;
+
+        private static final String TABLE_RECEIPTS = "receipts";
+        private static final String OWNER_TOKEN = "owner_token";
+        private static final String JOURNAL_ID = "journal_id";
+        private static final String TYPE = "type";
+        private static final String ENTRY = "entry";
+        private static final String CREATED_ON = "created_on";
+        private static final String CURRENCY = "currency";
+        private static final String CONTENT = "content";
+
+        ReceiptDatabase(@NonNull final Context context) {
+            super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        }
+
+        @Override
+        public void onCreate(final SQLiteDatabase database) {
+            database.execSQL("CREATE TABLE " + TABLE_RECEIPTS + " ("
+                    + OWNER_TOKEN + " TEXT NOT NULL, "
+                    + JOURNAL_ID + " TEXT NOT NULL, "
+                    + TYPE + " TEXT NOT NULL, "
+                    + ENTRY + " TEXT NOT NULL, "
+                    + CREATED_ON + " TEXT NOT NULL, "
+                    + CURRENCY + " TEXT NOT NULL, "
+                    + CONTENT + " TEXT NOT NULL, "
+                    + "PRIMARY KEY (" + OWNER_TOKEN + ", " + JOURNAL_ID + ", " + TYPE + ", " + ENTRY + "))");
+            database.execSQL("CREATE INDEX receipts_created_on ON " + TABLE_RECEIPTS + " ("
+                    + OWNER_TOKEN + ", " + CREATED_ON + ")");
+        }
+
+        @Override
+        public void onUpgrade(final SQLiteDatabase database, final int oldVersion, final int newVersion) {
+            database.execSQL("DROP TABLE IF EXISTS " + TABLE_RECEIPTS);
+            onCreate(database);
+        }
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.VisibleForTesting;
+
+import com.hyperwallet.android.util.DigestUtils;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ResponseCache} keeps responses of the Hyperwallet platforms that rarely change, such as the transfer
+ * method configuration keys of a program
+ *
+ * <p>A cached response is fresh during its time to live, and served without a request. Once expired it is still
+ * served during the stale-while-revalidate period, while a request refreshes it in the background; afterwards it
+ * is requested again before being served. Responses are kept in memory and, when a directory is defined, on disk,
+ * so that they survive the restart of the application.</p>
+ *
+ * <p>The cache holds at most {@link Builder#maxEntries(int)} responses and evicts the least recently used one
+ * beyond; on disk, the oldest written responses are deleted beyond. Every response is dropped when the program of
+ * the user changes.</p>
+ */
+public final class ResponseCache {
+
+    private static final long DEFAULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(24);
+    private static final int DEFAULT_MAX_ENTRIES = 100;
+    private static final String FILE_EXTENSION = ".json";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    private static final String SCOPE_FILE = "scope";
+
+    private final long mTimeToLive;
+    private final long mStaleWhileRevalidate;
+    private final int mMaxEntries;
+    private final File mDirectory;
+    private final Map<String, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Object mLock = new Object();
+    private String mScope;
+
+    private ResponseCache(@NonNull final Builder builder) {
+        mTimeToLive = builder.mTimeToLive;
+        mStaleWhileRevalidate = builder.mStaleWhileRevalidate;
+        mMaxEntries = builder.mMaxEntries;
+        mDirectory = builder.mDirectory;
+    }
+
+    /**
+     * Builds the key of a response
+     *
+     * @param parts the values identifying the response, such as the program token, the locale and the query
+     * @return the key of the response
+     */
+    @NonNull
+    public static String key(@NonNull final String... parts) {
+        return DigestUtils.sha256Hex(parts);
+    }
+
+    /**
+     * @param key key of the response
+     * @return the cached response, or null when it is not cached or expired past its stale-while-revalidate period
+     */
+    @Nullable
+    public Entry get(@NonNull final String key) {
+        return get(key, System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    @Nullable
+    Entry get(@NonNull final String key, final long now) {
+        Entry entry;
+        synchronized (mLock) {
+            entry = mEntries.get(key);
+        }
+        boolean cached = entry != null;
+        if (!cached) {
+            entry = read(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (now - entry.mStoredAt >= mTimeToLive + mStaleWhileRevalidate) {
+            // an expired response is dropped rather than kept in place of a live one
+            remove(key, entry);
+            return null;
+        }
+        if (!cached) {
+            store(key, entry);
+        }
+        return new Entry(entry.mResponse, entry.mStoredAt, now - entry.mStoredAt >= mTimeToLive);
+    }
+
+    /**
+     * Caches the {@code response}, replacing the cached response of the same key
+     *
+     * @param key      key of the response
+     * @param response response body
+     */
+    public void put(@NonNull final String key, @NonNull final String response) {
+        put(key, response, System.currentTimeMillis());
+    }
+
+    @VisibleForTesting
+    void put(@NonNull final String key, @NonNull final String response, final long now) {
+        Entry entry = new Entry(response, now, false);
+        store(key, entry);
+        write(key, entry);
+    }
+
+    /**
+     * Drops every cached response when the {@code scope} differs from the one of the cached responses
+     *
+     * @param scope the program token the responses belong to
+     */
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public void scope(@NonNull final String scope) {
+        synchronized (mLock) {
+            if (mScope == null) {
+                mScope = readScope();
+            }
+            if (scope.equals(mScope)) {
+                return;
+            }
+            mScope = scope;
+        }
+        clear();
+        writeScope(scope);
+    }
+
+    /**
+     * Removes every cached response
+     */
+    public void clear() {
+        synchronized (mLock) {
+            mEntries.clear();
+        }
+        if (mDirectory != null) {
+            File[] files = mDirectory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (file.getName().endsWith(FILE_EXTENSION)
+                            || file.getName().endsWith(TEMPORARY_FILE_EXTENSION)) {
+                        file.delete();
+                    }
+                }
+            }
+        }
+    }
+
+    private void store(@NonNull final String key, @NonNull final Entry entry) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (mLock) {
+            mEntries.put(key, entry);
+            Iterator<String> keys = mEntries.keySet().iterator();
+            while (mEntries.size() > mMaxEntries && keys.hasNext()) {
+                evicted.add(keys.next());
+                keys.remove();
+            }
+        }
+        if (mDirectory != null) {
+            for (String evictedKey : evicted) {
+                new File(mDirectory, evictedKey + FILE_EXTENSION).delete();
+            }
+        }
+    }
+
+    private void remove(@NonNull final String key, @NonNull final Entry entry) {
+        synchronized (mLock) {
+            if (mEntries.get(key) == entry) {
+                mEntries.remove(key);
+            }
+        }
+        if (mDirectory != null) {
+            new File(mDirectory, key + FILE_EXTENSION).delete();
+        }
+    }
+
+    /**
+     * Deletes the oldest stored responses beyond {@link Builder#maxEntries(int)}, including the ones written by a
+     * previous run of the application and never read since
+     *
+     * @param written the file just written, kept whatever its modification time
+     */
+    private void trimDirectory(@NonNull final File written) {
+        File[] files = mDirectory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(final File file) {
+                return file.getName().endsWith(FILE_EXTENSION) && !file.equals(written);
+            }
+        });
+        if (files == null || files.length < mMaxEntries) {
+            return;
+        }
+
+        // modification times are read once, a file written meanwhile must not change the order while sorting
+        final long[] lastModified = new long[files.length];
+        Integer[] order = new Integer[files.length];
+        for (int i = 0; i < files.length; i++) {
+            lastModified[i] = files[i].lastModified();
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer first, final Integer second) {
+                return Long.compare(lastModified[first], lastModified[second]);
+            }
+        });
+        for (int i = 0; i <= files.length - mMaxEntries; i++) {
+            files[order[i]].delete();
+        }
+    }
+
+    @Nullable
+    private String readScope() {
+        if (mDirectory == null) {
+            return null;
+        }
+        String scope = readFile(new File(mDirectory, SCOPE_FILE));
+        return scope == null || scope.isEmpty() ? null : scope;
+    }
+
+    private void writeScope(@NonNull final String scope) {
+        if (mDirectory != null) {
+            writeFile(new File(mDirectory, SCOPE_FILE), scope);
+        }
+    }
+
+    @Nullable
+    private Entry read(@NonNull final String key) {
+        if (mDirectory == null) {
+            return null;
+        }
+        File file = new File(mDirectory, key + FILE_EXTENSION);
+        String stored = readFile(file);
+        if (stored == null) {
+            return null;
+        }
+
+        try {
+            int separator = stored.indexOf('\n');
+            return new Entry(stored.substring(separator + 1), Long.parseLong(stored.substring(0, separator)), false);
+        } catch (RuntimeException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    private void write(@NonNull final String key, @NonNull final Entry entry) {
+        if (mDirectory != null) {
+            File file = new File(mDirectory, key + FILE_EXTENSION);
+            writeFile(file, entry.mStoredAt + "\n" + entry.mResponse);
+            trimDirectory(file);
+        }
+    }
+
+    @Nullable
+    private static String readFile(@NonNull final File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] content = new byte[(int) file.length()];
+            int offset = 0;
+            for (int count; offset < content.length
+                    && (count = in.read(content, offset, content.length - offset)) != -1; ) {
+                offset += count;
+            }
+            return new String(content, 0, offset, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    private static void writeFile(@NonNull final File file, @NonNull final String content) {
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+
+        // a temporary file of its own, so that concurrent writes of the same response do not interleave
+        File temporary;
+        try {
+            temporary = File.createTempFile(file.getName(), TEMPORARY_FILE_EXTENSION, directory);
+        } catch (IOException e) {
+            return;
+        }
+        try (OutputStream out = new FileOutputStream(temporary)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            temporary.delete();
+            return;
+        }
+        if (!temporary.renameTo(file)) {
+            temporary.delete();
+        }
+    }
+
+    /**
+     * A cached response
+     */
+    public static final class Entry {
+
+        private final String mResponse;
+        private final long mStoredAt;
+        private final boolean mStale;
+
+        Entry(@NonNull final String response, final long storedAt, final boolean stale) {
+            mResponse = response;
+            mStoredAt = storedAt;
+            mStale = stale;
+        }
+
+        @NonNull
+        public String getResponse() {
+            return mResponse;
+        }
+
+        /**
+         * @return {@code true} when the time to live of the response elapsed and it should be refreshed
+         */
+        public boolean isStale() {
+            return mStale;
+        }
+    }
+
+    /**
+     * Builder for {@link ResponseCache}
+     */
+    public static final class Builder {
+
+        private long mTimeToLive = DEFAULT_TIME_TO_LIVE;
+        private long mStaleWhileRevalidate;
+        private int mMaxEntries = DEFAULT_MAX_ENTRIES;
+        private File mDirectory;
+
+        /**
+         * Defines how long a response is served without a request
+         *
+         * <p>The default value is 24 hours<p/>
+         *
+         * @param duration duration; must be greater than zero
+         * @param unit     unit of the {@code duration}
+         */
+        public Builder timeToLive(final long duration, @NonNull final TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("time to live must be greater than zero");
+            }
+            mTimeToLive = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Defines how long an expired response is still served while it is refreshed in the background
+         *
+         * <p>The default value is 0, expired responses are requested again before being served<p/>
+         *
+         * @param duration duration; must not be negative
+         * @param unit     unit of the {@code duration}
+         */
+        public Builder staleWhileRevalidate(final long duration, @NonNull final TimeUnit unit) {
+            if (duration < 0) {
+                throw new IllegalArgumentException("stale-while-revalidate must not be negative");
+            }
+            mStaleWhileRevalidate = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Defines how many responses are kept; the least recently used response is evicted beyond
+         *
+         * <p>The default value is 100<p/>
+         *
+         * @param maxEntries maximum number of responses; must be greater than zero
+         */
+        public Builder maxEntries(final int maxEntries) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("max entries must be greater than zero");
+            }
+            mMaxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Defines the directory where responses are stored, such as a directory of
+         * {@link android.content.Context#getCacheDir()}
+         *
+         * <p>Responses are only kept in memory by default<p/>
+         *
+         * @param directory directory dedicated to this cache
+         */
+        public Builder directory(@NonNull final File directory) {
+            mDirectory = directory;
+            return this;
+        }
+
+        public ResponseCache build() {
+            return new ResponseCache(this);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.cache;
+
+import static com.hyperwallet.android.model.transfer.Transfer.TransferStatuses.IN_PROGRESS;
+import static com.hyperwallet.android.model.transfer.Transfer.TransferStatuses.QUOTED;
+import static com.hyperwallet.android.model.transfer.Transfer.TransferStatuses.SCHEDULED;
+import static com.hyperwallet.android.model.transfer.Transfer.TransferStatuses.VERIFICATION_REQUIRED;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.Hyperwallet;
+import com.hyperwallet.android.HyperwalletPager;
+import com.hyperwallet.android.HyperwalletRequest;
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.listener.HyperwalletPageListener;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.transfer.Transfer;
+import com.hyperwallet.android.model.transfer.TransferQueryParam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code TransferCache} keeps the {@link Transfer}s of the User in memory, indexed by transfer token
+ *
+ * <p>{@link #refresh(Hyperwallet, HyperwalletListener)} brings the cache up to date with a small delta: it requests
+ * the transfers created after the most recent cached transfer, and requests again each cached transfer whose
+ * status may still change, such as {@code QUOTED} or {@code SCHEDULED}. Transfers in a final status, such as
+ * {@code COMPLETED}, are never requested again.</p>
+ */
+public final class TransferCache {
+
+    private static final int DELTA_PAGE_LIMIT = 100;
+    private static final Set<String> PENDING_STATUSES = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList(QUOTED, SCHEDULED, IN_PROGRESS, VERIFICATION_REQUIRED)));
+    private static final Comparator<Transfer> MOST_RECENT_FIRST = new Comparator<Transfer>() {
+        @Override
+        public int compare(final Transfer first, final Transfer second) {
+            Date firstCreatedOn = first.getCreatedOn();
+            Date secondCreatedOn = second.getCreatedOn();
+            if (firstCreatedOn == null || secondCreatedOn == null) {
+                return firstCreatedOn == null ? (secondCreatedOn == null ? 0 : 1) : -1;
+            }
+            return secondCreatedOn.compareTo(firstCreatedOn);
+        }
+    };
+
+    private final Object mLock = new Object();
+    private final Map<String, Transfer> mTransfers = new HashMap<>();
+
+    /**
+     * Adds the {@code transfers} to the cache, replacing the cached copies of the same transfers
+     *
+     * @param transfers transfers of the User, such as a page returned by
+     *                  {@link Hyperwallet#listTransfers(TransferQueryParam, HyperwalletListener)}
+     */
+    public void merge(@NonNull final List<Transfer> transfers) {
+        synchronized (mLock) {
+            for (Transfer transfer : transfers) {
+                if (transfer.getToken() != null) {
+                    mTransfers.put(transfer.getToken(), transfer);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param transferToken the token of the transfer
+     * @return the cached transfer, or null when it is not cached
+     */
+    @Nullable
+    public Transfer get(@NonNull final String transferToken) {
+        synchronized (mLock) {
+            return mTransfers.get(transferToken);
+        }
+    }
+
+    /**
+     * @return the cached transfers, from the most recent
+     */
+    @NonNull
+    public List<Transfer> getTransfers() {
+        List<Transfer> transfers;
+        synchronized (mLock) {
+            transfers = new ArrayList<>(mTransfers.values());
+        }
+        Collections.sort(transfers, MOST_RECENT_FIRST);
+        return transfers;
+    }
+
+    /**
+     * Removes every cached transfer, for instance when another User is authenticated
+     */
+    public void clear() {
+        synchronized (mLock) {
+            mTransfers.clear();
+        }
+    }
+
+    /**
+     * Requests the transfers created since the most recent cached transfer, or every transfer when the cache is
+     * empty, along with the cached transfers whose status may still change, and merges them into the cache
+     *
+     * @param hyperwallet the Hyperwallet instance requesting the transfers
+     * @param listener    receives the cached transfers, from the most recent, once every request completed; or the
+     *                    first failure, in which case the transfers received until then are still merged
+     */
+    public void refresh(@NonNull final Hyperwallet hyperwallet,
+            @NonNull final HyperwalletListener<List<Transfer>> listener) {
+        final Date createdAfter;
+        List<String> pendingTokens = new ArrayList<>();
+        synchronized (mLock) {
+            createdAfter = getMostRecentCreatedOn();
+            for (Transfer transfer : mTransfers.values()) {
+                if (PENDING_STATUSES.contains(transfer.getStatus())) {
+                    pendingTokens.add(transfer.getToken());
+                }
+            }
+        }
+
+        final Refresh refresh = new Refresh(listener, pendingTokens.size() + 1);
+        for (String transferToken : pendingTokens) {
+            hyperwallet.getTransfer(transferToken, new HyperwalletListener<Transfer>() {
+                @Override
+                public void onSuccess(@Nullable final Transfer result) {
+                    if (result != null) {
+                        merge(Collections.singletonList(result));
+                    }
+                    refresh.onRequestCompleted(null);
+                }
+
+                @Override
+                public void onFailure(final HyperwalletException exception) {
+                    refresh.onRequestCompleted(exception);
+                }
+
+                @Override
+                public Handler getHandler() {
+                    return null;
+                }
+            });
+        }
+
+        HyperwalletPager.PageCall<Transfer> pageCall = new HyperwalletPager.PageCall<Transfer>() {
+            @NonNull
+            @Override
+            public HyperwalletRequest execute(final int offset, final int limit,
+                    @NonNull final HyperwalletListener<PageList<Transfer>> pageListener) {
+                TransferQueryParam.Builder query = new TransferQueryParam.Builder().offset(offset).limit(limit);
+                if (createdAfter != null) {
+                    query.createdAfter(createdAfter);
+                }
+                return hyperwallet.listTransfers(query.build(), pageListener);
+            }
+        };
+        hyperwallet.listAllPages(pageCall, DELTA_PAGE_LIMIT, 1, new HyperwalletPageListener<Transfer>() {
+            @Override
+            public void onPage(@NonNull final List<Transfer> items) {
+                merge(items);
+            }
+
+            @Override
+            public void onSuccess(@Nullable final List<Transfer> result) {
+                refresh.onRequestCompleted(null);
+            }
+
+            @Override
+            public void onFailure(final HyperwalletException exception) {
+                refresh.onRequestCompleted(exception);
+            }
+
+            @Override
+            public Handler getHandler() {
+                return null;
+            }
+        });
+    }
+
+    @Nullable
+    private Date getMostRecentCreatedOn() {
+        Date mostRecent = null;
+        for (Transfer transfer : mTransfers.values()) {
+            Date createdOn = transfer.getCreatedOn();
+            if (createdOn != null && (mostRecent == null || createdOn.after(mostRecent))) {
+                mostRecent = createdOn;
+            }
+        }
+        return mostRecent;
+    }
+
+    /**
+     * Tracks the requests of a refresh and notifies its listener once they all completed
+     */
+    private final class Refresh {
+
+        private final HyperwalletListener<List<Transfer>> mListener;
+        private final AtomicInteger mRemaining;
+        private volatile HyperwalletException mException;
+
+        Refresh(@NonNull final HyperwalletListener<List<Transfer>> listener, final int requests) {
+            mListener = listener;
+            mRemaining = new AtomicInteger(requests);
+        }
+
+        void onRequestCompleted(@Nullable final HyperwalletException exception) {
+            if (exception != null && mException == null) {
+                mException = exception;
+            }
+            if (mRemaining.decrementAndGet() > 0) {
+                return;
+            }
+
+            final List<Transfer> transfers = getTransfers();
+            Runnable notification = new Runnable() {
+                @Override
+                public void run() {
+                    if (mException != null) {
+                        mListener.onFailure(mException);
+                    } else {
+                        mListener.onSuccess(transfers);
+                    }
+                }
+            };
+            if (mListener.getHandler() == null) {
+                notification.run();
+            } else {
+                mListener.getHandler().post(notification);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  The MIT License (MIT)
+ *  Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ *  associated documentation files (the "Software"), to deal in the Software without restriction,
+ *  including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ *  sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ *  NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.listener;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * The listener interface for receiving the pages of a list loaded in full from the Hyperwallet Core SDK.
+ *
+ * <p>The pages are delivered in order to {@link #onPage(List)} as soon as they and the pages preceding them are
+ * loaded; {@link #onSuccess(Object)} then receives every item of the list.</p>
+ *
+ * @param <T> the type of the listed items
+ */
+public interface HyperwalletPageListener<T> extends HyperwalletListener<List<T>> {
+
+    /**
+     * Notifies the {@code HyperwalletPageListener} that the next page of the list was loaded.
+     *
+     * @param items the items of the page
+     */
+    void onPage(@NonNull List<T> items);
+
+    /**
+     * Notifies the {@code HyperwalletPageListener} that every page of the list was loaded.
+     *
+     * @param result every item of the list, in order
+     */
+    @Override
+    void onSuccess(@Nullable List<T> result);
+}
@@ -32,6 +32,7 @@ import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import com.hyperwallet.android.model.JsonModel;
 import com.hyperwallet.android.util.JsonUtils;
@@ -80,7 +81,8 @@ public class Balance implements Parcelable, JsonModel {
      *
      * @param fields map of key value-pair raw data information
      */
-    private Balance(@NonNull final Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public Balance(@NonNull final Map<String, Object> fields) {
         mFields = new HashMap<>(fields);
     }
 
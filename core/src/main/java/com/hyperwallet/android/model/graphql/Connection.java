@@ -20,11 +20,12 @@ package com.hyperwallet.android.model.graphql;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.hyperwallet.android.util.Deserializers;
+
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
@@ -60,12 +61,12 @@ public class Connection<T> {
             mPageInfo = new PageInfo(pageInfoObject);
         }
 
-        Constructor<?> constructor = clazz.getDeclaredConstructor(JSONObject.class);
+        Deserializers.Deserializer<?> deserializer = Deserializers.get(clazz);
         JSONArray jsonArray = data.optJSONArray(NODES);
         if (jsonArray != null) {
             mNodes = new ArrayList<>(jsonArray.length());
             for (int i = 0; i < jsonArray.length(); i++) {
-                mNodes.add((T) constructor.newInstance(jsonArray.getJSONObject(i)));
+                mNodes.add((T) Deserializers.newInstance(deserializer, jsonArray.getJSONObject(i)));
             }
         } else {
             mNodes = null;
@@ -20,12 +20,11 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.hyperwallet.android.model.graphql.error.GqlErrors;
+import com.hyperwallet.android.util.Deserializers;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.lang.reflect.Constructor;
-
 /**
  * Represents the root level response for all GraphQL queries
  */
@@ -45,8 +44,7 @@ public class GqlResponse<T> {
      */
     public GqlResponse(@NonNull final JSONObject response, @NonNull final Class clazz)
             throws ReflectiveOperationException, JSONException {
-        Constructor<?> constructor = clazz.getDeclaredConstructor(JSONObject.class);
-        mData = (T) constructor.newInstance(response.get(DATA));
+        mData = (T) Deserializers.fromJson(clazz, (JSONObject) response.get(DATA));
         mGqlErrors = new GqlErrors(response);
     }
 
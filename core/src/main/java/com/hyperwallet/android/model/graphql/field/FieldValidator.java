@@ -0,0 +1,157 @@
+/*
+ *  The MIT License (MIT)
+ *  Copyright (c) 2019 Hyperwallet Systems Inc.
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ *  associated documentation files (the "Software"), to deal in the Software without restriction,
+ *  including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ *  sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ *  NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hyperwallet.android.model.graphql.field;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.hyperwallet.android.model.Error;
+import com.hyperwallet.android.model.Errors;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationField;
+import com.hyperwallet.android.model.transfermethod.TransferMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * {@code FieldValidator} validates the fields of a {@link TransferMethod} against the rules of its transfer method
+ * configuration, before it is submitted to the Hyperwallet platform
+ *
+ * <p>The rules of every {@link Field} are compiled once, so that a validator can be kept and reused for every
+ * attempt to submit the same transfer method. A field fails validation when:</p>
+ *
+ * <ul>
+ * <li>it is required and its value is empty, refer to {@link #EC_EMPTY}</li>
+ * <li>the length of its value is out of the minimum and maximum length, refer to {@link #EC_LENGTH}</li>
+ * <li>its value does not match its regular expression, refer to {@link #EC_PATTERN}</li>
+ * </ul>
+ *
+ * <p>The message of each {@link Error} is the matching {@link ValidationMessage} of the field.</p>
+ */
+public final class FieldValidator {
+
+    public static final String EC_EMPTY = "EC_FIELD_EMPTY";
+    public static final String EC_LENGTH = "EC_FIELD_LENGTH";
+    public static final String EC_PATTERN = "EC_FIELD_PATTERN";
+
+    private final List<Rule> mRules;
+
+    /**
+     * Construct a {@code FieldValidator} object from the fields of a transfer method configuration
+     *
+     * @param configurationField transfer method configuration fields; refer to
+     *                           {@link HyperwalletTransferMethodConfigurationField}
+     */
+    public FieldValidator(@NonNull final HyperwalletTransferMethodConfigurationField configurationField) {
+        List<Rule> rules = new ArrayList<>();
+        TransferMethodConfiguration configuration = configurationField.getFields();
+        if (configuration != null && configuration.getFieldGroups() != null) {
+            for (FieldGroup fieldGroup : configuration.getFieldGroups()) {
+                if (fieldGroup.getFields() != null) {
+                    for (Field field : fieldGroup.getFields()) {
+                        rules.add(new Rule(field));
+                    }
+                }
+            }
+        }
+        mRules = Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * Validates every configured field of the {@code transferMethod}
+     *
+     * @param transferMethod transfer method to validate
+     * @return {@link Errors} holding one {@link Error} per invalid field, empty when every field is valid
+     */
+    @NonNull
+    public Errors validate(@NonNull final TransferMethod transferMethod) {
+        List<Error> errors = null;
+        for (Rule rule : mRules) {
+            Object value = transferMethod.getField(rule.mName, Object.class);
+            Error error = rule.validate(value == null ? "" : value.toString());
+            if (error != null) {
+                if (errors == null) {
+                    errors = new ArrayList<>();
+                }
+                errors.add(error);
+            }
+        }
+        return errors == null ? Errors.getEmptyInstance() : new Errors(errors);
+    }
+
+    /**
+     * Rule compiled from the definition of a {@link Field}
+     */
+    private static final class Rule {
+
+        private final String mName;
+        private final boolean mRequired;
+        private final int mMinLength;
+        private final int mMaxLength;
+        private final Pattern mPattern;
+        private final String mEmptyMessage;
+        private final String mLengthMessage;
+        private final String mPatternMessage;
+
+        Rule(@NonNull final Field field) {
+            mName = field.getName();
+            mRequired = field.isRequired();
+            mMinLength = field.getMinLength();
+            mMaxLength = field.getMaxLength();
+            mPattern = compile(field.getRegularExpression());
+
+            ValidationMessage validationMessage = field.getValidationMessage();
+            mEmptyMessage = validationMessage != null ? validationMessage.getEmpty() : "";
+            mLengthMessage = validationMessage != null ? validationMessage.getLength() : "";
+            mPatternMessage = validationMessage != null ? validationMessage.getPattern() : "";
+        }
+
+        @Nullable
+        Error validate(@NonNull final String value) {
+            if (value.isEmpty()) {
+                return mRequired ? new Error(mEmptyMessage, mName, EC_EMPTY) : null;
+            }
+            if (value.length() < mMinLength || value.length() > mMaxLength) {
+                return new Error(mLengthMessage, mName, EC_LENGTH);
+            }
+            if (mPattern != null && !mPattern.matcher(value).matches()) {
+                return new Error(mPatternMessage, mName, EC_PATTERN);
+            }
+            return null;
+        }
+
+        /**
+         * @return the compiled {@code regularExpression}, or null when it is not defined or not supported on this
+         * platform, in which case the platform validates the value on submission
+         */
+        @Nullable
+        private static Pattern compile(@Nullable final String regularExpression) {
+            if (regularExpression == null || regularExpression.isEmpty()) {
+                return null;
+            }
+            try {
+                return Pattern.compile(regularExpression);
+            } catch (PatternSyntaxException e) {
+                return null;
+            }
+        }
+    }
+}
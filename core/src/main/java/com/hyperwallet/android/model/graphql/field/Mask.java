@@ -38,9 +38,17 @@ public class Mask {
     private static final String SCRUB_REGEX = "scrubRegex";
     private static final String CONDITIONAL_PATTERNS = "conditionalPatterns";
 
+    private static final char DIGIT = '#';
+    private static final char LETTER = '@';
+    private static final char ALPHANUMERIC = '*';
+    private static final char ESCAPE = '\\';
+
     private final String mDefaultPattern;
     private final String mScrubRegex;
     private final List<ConditionalPattern> mConditionalPatterns;
+    private final StringBuilder mBuffer = new StringBuilder();
+    private Matcher[] mConditionalMatchers;
+    private Matcher mScrubMatcher;
 
     /**
      * Constructs a {@code Mask} object from {@link JSONObject} representation
@@ -91,19 +99,134 @@ public class Mask {
      * @param value input string passed
      * @return Pattern to use for formatting
      */
-    public String getPattern(@NonNull final String value) {
+    public synchronized String getPattern(@NonNull final String value) {
         if (containsConditionalPattern()) {
-            for (ConditionalPattern conditionalPattern : mConditionalPatterns) {
-                Pattern pattern = Pattern.compile(conditionalPattern.getRegex());
-                Matcher matcher = pattern.matcher(value);
-                while (matcher.find()) {
-                    if (matcher.end() > 0) {
-                        return conditionalPattern.getPattern();
+            Matcher[] matchers = getConditionalMatchers();
+            for (int i = 0; i < matchers.length; i++) {
+                Matcher matcher = matchers[i].reset(value);
+                try {
+                    while (matcher.find()) {
+                        if (matcher.end() > 0) {
+                            return mConditionalPatterns.get(i).getPattern();
+                        }
                     }
+                } finally {
+                    matcher.reset("");
                 }
             }
         }
         return mDefaultPattern;
     }
+
+    /**
+     * Formats the {@code value} into its display value, using the pattern selected by {@link #getPattern(String)}
+     *
+     * <p>In a pattern {@code #} stands for a digit, {@code @} for a letter and {@code *} for a letter or a digit,
+     * {@code \\} escapes the next character; any other character is inserted as is. Characters of the
+     * {@code value} not accepted at their position are skipped, and formatting stops once the {@code value} is
+     * consumed.</p>
+     *
+     * @param value input string passed
+     * @return display value
+     */
+    @NonNull
+    public synchronized String format(@NonNull final String value) {
+        String pattern = getPattern(value);
+        if (pattern == null || pattern.isEmpty()) {
+            return value;
+        }
+
+        mBuffer.setLength(0);
+        int position = 0;
+        for (int i = 0; i < pattern.length() && position < value.length(); i++) {
+            char token = pattern.charAt(i);
+            if (token == DIGIT || token == LETTER || token == ALPHANUMERIC) {
+                while (position < value.length() && !accepts(token, value.charAt(position))) {
+                    position++;
+                }
+                if (position < value.length()) {
+                    mBuffer.append(value.charAt(position++));
+                }
+            } else {
+                if (token == ESCAPE && i + 1 < pattern.length()) {
+                    token = pattern.charAt(++i);
+                }
+                if (value.charAt(position) == token) {
+                    position++;
+                }
+                mBuffer.append(token);
+            }
+        }
+        return release();
+    }
+
+    /**
+     * Removes from the {@code value} every character matching {@link #getScrubRegex()}
+     *
+     * @param value display value
+     * @return value to submit to the Hyperwallet platform
+     */
+    @NonNull
+    public synchronized String scrub(@NonNull final String value) {
+        if (mScrubRegex == null || mScrubRegex.isEmpty()) {
+            return value;
+        }
+        if (mScrubMatcher == null) {
+            mScrubMatcher = Pattern.compile(mScrubRegex).matcher("");
+        }
+
+        Matcher matcher = mScrubMatcher.reset(value);
+        try {
+            if (!matcher.find()) {
+                return value;
+            }
+            mBuffer.setLength(0);
+            int start = 0;
+            do {
+                mBuffer.append(value, start, matcher.start());
+                start = matcher.end();
+            } while (matcher.find());
+            mBuffer.append(value, start, value.length());
+            return release();
+        } finally {
+            matcher.reset("");
+        }
+    }
+
+    /**
+     * @return the content of the buffer, which is then overwritten so that the value, such as an account number,
+     * is not retained by this {@code Mask}
+     */
+    @NonNull
+    private String release() {
+        String result = mBuffer.toString();
+        for (int i = 0; i < mBuffer.length(); i++) {
+            mBuffer.setCharAt(i, '\0');
+        }
+        mBuffer.setLength(0);
+        return result;
+    }
+
+    private Matcher[] getConditionalMatchers() {
+        if (mConditionalMatchers == null) {
+            Matcher[] matchers = new Matcher[mConditionalPatterns.size()];
+            for (int i = 0; i < matchers.length; i++) {
+                matchers[i] = Pattern.compile(mConditionalPatterns.get(i).getRegex()).matcher("");
+            }
+            mConditionalMatchers = matchers;
+        }
+        return mConditionalMatchers;
+    }
+
+    private static boolean accepts(final char token, final char character) {
+        switch (token) {
+            case DIGIT:
+                return Character.isDigit(character);
+            case LETTER:
+                return Character.isLetter(character);
+            default:
+                return Character.isLetterOrDigit(character);
+        }
+    }
 }
 
@@ -20,12 +20,12 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.hyperwallet.android.model.graphql.Connection;
+import com.hyperwallet.android.util.Deserializers;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -56,12 +56,12 @@ public class MappedConnection<T extends KeyedNode> extends Connection<T> {
             JSONException, IllegalAccessException, InstantiationException, InvocationTargetException {
 
         super(data, clazz);
-        Constructor<?> constructor = clazz.getDeclaredConstructor(JSONObject.class);
+        Deserializers.Deserializer<?> deserializer = Deserializers.get(clazz);
         JSONArray jsonArray = data.optJSONArray(NODES);
         if (jsonArray != null && jsonArray.length() != 0) {
             mNodes = new LinkedHashMap<>(jsonArray.length());
             for (int i = 0; i < jsonArray.length(); i++) {
-                T obj = (T) constructor.newInstance(jsonArray.getJSONObject(i));
+                T obj = (T) Deserializers.newInstance(deserializer, jsonArray.getJSONObject(i));
                 mNodes.put(obj.getCode(), obj);
             }
         } else {
@@ -26,17 +26,26 @@ import com.hyperwallet.android.model.graphql.TransferMethodConfigurationKey;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * {@code TransferMethodConfigurationKeyResult} transfer method configuration keys
+ *
+ * <p>The country, currency and transfer method type tree is indexed once, when the result is built: lookups are
+ * constant time and return immutable sets shared between calls.</p>
  */
 public class TransferMethodConfigurationKeyResult extends GqlResponse<TransferMethodConfigurationKey>
         implements HyperwalletTransferMethodConfigurationKey {
 
-    private final TransferMethodConfigurationKey mTransferMethodConfigurationKey;
     private final Set<Country> mCountries;
+    private final Map<String, Country> mCountriesByCode;
+    private final Map<String, Set<Currency>> mCurrenciesByCountry;
+    private final Map<String, Map<String, Set<TransferMethodType>>> mTransferMethodTypesByCountry;
+    private final Map<String, Set<Country>> mCountriesByTransferMethodType;
 
     /**
      * Constructor to build TransferMethodConfigurationKeyResult based on {@link JSONObject}
@@ -46,13 +55,48 @@ public class TransferMethodConfigurationKeyResult extends GqlResponse<TransferMe
     public TransferMethodConfigurationKeyResult(@NonNull JSONObject data)
             throws ReflectiveOperationException, JSONException {
         super(data, TransferMethodConfigurationKey.class);
-        mTransferMethodConfigurationKey = getData();
-        mCountries = new LinkedHashSet<>(mTransferMethodConfigurationKey.getCountries());
+        Set<Country> countries = getData().getCountries();
+        Map<String, Country> countriesByCode = new HashMap<>(countries.size() * 2);
+        Map<String, Set<Currency>> currenciesByCountry = new HashMap<>(countries.size() * 2);
+        Map<String, Map<String, Set<TransferMethodType>>> transferMethodTypesByCountry =
+                new HashMap<>(countries.size() * 2);
+        Map<String, Set<Country>> countriesByTransferMethodType = new HashMap<>();
+
+        for (Country country : countries) {
+            Set<Currency> currencies = country.getCurrencies();
+            Map<String, Set<TransferMethodType>> transferMethodTypesByCurrency =
+                    new HashMap<>(currencies.size() * 2);
+            for (Currency currency : currencies) {
+                Set<TransferMethodType> transferMethodTypes = currency.getTransferMethodTypes();
+                transferMethodTypesByCurrency.put(currency.getCode(),
+                        Collections.unmodifiableSet(new LinkedHashSet<>(transferMethodTypes)));
+                for (TransferMethodType transferMethodType : transferMethodTypes) {
+                    Set<Country> supportingCountries = countriesByTransferMethodType.get(transferMethodType.getCode());
+                    if (supportingCountries == null) {
+                        supportingCountries = new LinkedHashSet<>();
+                        countriesByTransferMethodType.put(transferMethodType.getCode(), supportingCountries);
+                    }
+                    supportingCountries.add(country);
+                }
+            }
+            countriesByCode.put(country.getCode(), country);
+            currenciesByCountry.put(country.getCode(), Collections.unmodifiableSet(new LinkedHashSet<>(currencies)));
+            transferMethodTypesByCountry.put(country.getCode(), transferMethodTypesByCurrency);
+        }
+        for (Map.Entry<String, Set<Country>> entry : countriesByTransferMethodType.entrySet()) {
+            entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+        }
+
+        mCountries = Collections.unmodifiableSet(new LinkedHashSet<>(countries));
+        mCountriesByCode = countriesByCode;
+        mCurrenciesByCountry = currenciesByCountry;
+        mTransferMethodTypesByCountry = transferMethodTypesByCountry;
+        mCountriesByTransferMethodType = countriesByTransferMethodType;
     }
 
     @Override
     public Country getCountry(@NonNull String countryCode) {
-        return mTransferMethodConfigurationKey.getCountry(countryCode);
+        return mCountriesByCode.get(countryCode);
     }
 
     @Override
@@ -63,17 +107,27 @@ public class TransferMethodConfigurationKeyResult extends GqlResponse<TransferMe
     @Override
     @Nullable
     public Set<Currency> getCurrencies(@NonNull final String countryCode) {
-        return mTransferMethodConfigurationKey.getCountry(countryCode) != null ?
-                mTransferMethodConfigurationKey.getCountry(countryCode).getCurrencies() : null;
+        return mCurrenciesByCountry.get(countryCode);
     }
 
     @Override
     @Nullable
     public Set<TransferMethodType> getTransferMethodType(@NonNull final String countryCode,
             @NonNull final String currencyCode) {
-        return mTransferMethodConfigurationKey.getCountry(countryCode) != null ?
-                mTransferMethodConfigurationKey.getCountry(countryCode).getCurrency(currencyCode) != null ?
-                        mTransferMethodConfigurationKey.getCountry(countryCode).getCurrency(currencyCode)
-                                .getTransferMethodTypes() : null : null;
+        Map<String, Set<TransferMethodType>> transferMethodTypesByCurrency =
+                mTransferMethodTypesByCountry.get(countryCode);
+        return transferMethodTypesByCurrency != null ? transferMethodTypesByCurrency.get(currencyCode) : null;
+    }
+
+    /**
+     * Set of countries where a transfer method type is available, in at least one currency
+     *
+     * @param transferMethodType transfer method type code, such as {@code BANK_ACCOUNT}
+     * @return Set of {@code Country} supporting the transfer method type; empty if none does
+     */
+    @NonNull
+    public Set<Country> getCountriesByTransferMethodType(@NonNull final String transferMethodType) {
+        Set<Country> countries = mCountriesByTransferMethodType.get(transferMethodType);
+        return countries != null ? countries : Collections.<Country>emptySet();
     }
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.model.graphql.query;
+
+import androidx.annotation.NonNull;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code GqlBatchQuery} class merges several {@link GqlQuery} into a single query, so that they are retrieved
+ * from the Hyperwallet platform with one request.
+ *
+ * <p>The root fields of every query are aliased with the position of the query, and its variables renamed
+ * accordingly, so that the queries do not clash. {@link #getResponse(JSONObject, int)} splits the response back into
+ * the response of each query.</p>
+ */
+public final class GqlBatchQuery implements GqlQuery {
+
+    private static final String DATA = "data";
+    private static final String ERRORS = "errors";
+    private static final String PATH = "path";
+    private static final String QUERY = "query";
+    private static final Pattern ALIAS = Pattern.compile("q\\d+_.*");
+
+    private final List<GqlQuery> mQueries;
+
+    /**
+     * Create a new {@code GqlBatchQuery} from the queries to merge.
+     *
+     * @param queries the queries to merge, their root selections must be fields
+     */
+    public GqlBatchQuery(@NonNull final List<? extends GqlQuery> queries) {
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("queries must not be empty");
+        }
+        mQueries = Collections.unmodifiableList(new ArrayList<>(queries));
+    }
+
+    /**
+     * @return the merged queries
+     */
+    @NonNull
+    public List<GqlQuery> getQueries() {
+        return mQueries;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userToken {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String toQuery(@NonNull final String userToken) {
+        StringBuilder variables = new StringBuilder();
+        StringBuilder selections = new StringBuilder();
+        for (int i = 0; i < mQueries.size(); i++) {
+            merge(mQueries.get(i).toQuery(userToken), getAlias(i), variables, selections);
+        }
+
+        StringBuilder query = new StringBuilder(QUERY);
+        if (variables.length() != 0) {
+            query.append(" (\n").append(variables).append(')');
+        }
+        return query.append(" {\n").append(selections).append('}').toString();
+    }
+
+    /**
+     * Extracts the response of a query from the response of the batch; the errors of a root field are returned
+     * with the response of its query, the other errors with every response.
+     *
+     * @param response the response of the batch
+     * @param index    the position of the query
+     * @return the response the query would have received on its own
+     * @throws JSONException if the {@code response} is malformed
+     */
+    @NonNull
+    public JSONObject getResponse(@NonNull final JSONObject response, final int index) throws JSONException {
+        String alias = getAlias(index);
+        JSONObject result = new JSONObject();
+
+        JSONObject data = response.optJSONObject(DATA);
+        if (data != null) {
+            JSONObject queryData = new JSONObject();
+            Iterator<String> keys = data.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (key.startsWith(alias)) {
+                    queryData.put(key.substring(alias.length()), data.get(key));
+                }
+            }
+            result.put(DATA, queryData);
+        }
+
+        JSONArray errors = response.optJSONArray(ERRORS);
+        if (errors != null) {
+            JSONArray queryErrors = new JSONArray();
+            for (int i = 0; i < errors.length(); i++) {
+                JSONObject error = errors.getJSONObject(i);
+                JSONArray path = error.optJSONArray(PATH);
+                String field = path == null || path.length() == 0 ? null : path.optString(0);
+                if (field == null || !ALIAS.matcher(field).matches()) {
+                    queryErrors.put(error);
+                } else if (field.startsWith(alias)) {
+                    JSONObject queryError = new JSONObject(error.toString());
+                    queryError.getJSONArray(PATH).put(0, field.substring(alias.length()));
+                    queryErrors.put(queryError);
+                }
+            }
+            result.put(ERRORS, queryErrors);
+        }
+        return result;
+    }
+
+    private static String getAlias(final int index) {
+        return "q" + index + "_";
+    }
+
+    /**
+     * Appends the variable definitions and the root fields of the {@code query} to the batch
+     */
+    private static void merge(@NonNull final String query, @NonNull final String alias,
+                              @NonNull final StringBuilder variables, @NonNull final StringBuilder selections) {
+        int position = skipWhitespace(query, 0);
+        if (query.startsWith(QUERY, position)) {
+            position = skipWhitespace(query, position + QUERY.length());
+            position = skipWhitespace(query, skipName(query, position));
+        }
+        if (position < query.length() && query.charAt(position) == '(') {
+            int end = findClosing(query, position);
+            variables.append(renameVariables(query.substring(position + 1, end), alias)).append('\n');
+            position = skipWhitespace(query, end + 1);
+        }
+        if (position >= query.length() || query.charAt(position) != '{') {
+            throw new IllegalArgumentException("Unsupported query: " + query);
+        }
+        String body = query.substring(position + 1, findClosing(query, position));
+        selections.append(aliasFields(renameVariables(body, alias), alias)).append('\n');
+    }
+
+    /**
+     * Prefixes every variable of the {@code text}, outside of its string values
+     */
+    private static String renameVariables(@NonNull final String text, @NonNull final String alias) {
+        StringBuilder renamed = new StringBuilder(text.length() + alias.length() * 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                int end = skipString(text, i);
+                renamed.append(text, i, end);
+                i = end - 1;
+            } else {
+                renamed.append(c);
+                if (c == '$') {
+                    renamed.append(alias);
+                }
+            }
+        }
+        return renamed.toString();
+    }
+
+    /**
+     * Aliases every root field of the selection set {@code body}, or prefixes its alias if it has one
+     */
+    private static String aliasFields(@NonNull final String body, @NonNull final String alias) {
+        StringBuilder aliased = new StringBuilder(body.length() + 64);
+        int depth = 0;
+        for (int i = 0; i < body.length(); ) {
+            char c = body.charAt(i);
+            if (c == '"') {
+                int end = skipString(body, i);
+                aliased.append(body, i, end);
+                i = end;
+            } else if (c == '{' || c == '(' || c == '[') {
+                depth++;
+                aliased.append(c);
+                i++;
+            } else if (c == '}' || c == ')' || c == ']') {
+                depth--;
+                aliased.append(c);
+                i++;
+            } else if (c == '@' && depth == 0) {
+                int end = skipName(body, i + 1);
+                aliased.append(body, i, end);
+                i = end;
+            } else if (depth == 0 && isNameStart(c)) {
+                int end = skipName(body, i);
+                String name = body.substring(i, end);
+                int next = skipWhitespace(body, end);
+                if (next < body.length() && body.charAt(next) == ':') {
+                    int fieldStart = skipWhitespace(body, next + 1);
+                    int fieldEnd = skipName(body, fieldStart);
+                    aliased.append(alias).append(name).append(body, end, fieldEnd);
+                    i = fieldEnd;
+                } else {
+                    aliased.append(alias).append(name).append(": ").append(name);
+                    i = end;
+                }
+            } else {
+                aliased.append(c);
+                i++;
+            }
+        }
+        return aliased.toString();
+    }
+
+    private static int findClosing(@NonNull final String text, final int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                i = skipString(text, i) - 1;
+            } else if (c == '{' || c == '(' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ')' || c == ']') && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unbalanced query: " + text);
+    }
+
+    private static int skipString(@NonNull final String text, final int quote) {
+        for (int i = quote + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i + 1;
+            }
+        }
+        return text.length();
+    }
+
+    private static int skipName(@NonNull final String text, final int start) {
+        int i = start;
+        while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(@NonNull final String text, final int start) {
+        int i = start;
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNameStart(final char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+}
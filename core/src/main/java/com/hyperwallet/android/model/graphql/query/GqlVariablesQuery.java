@@ -0,0 +1,46 @@
+/*
+ *  The MIT License (MIT)
+ *  Copyright (c) 2018 Hyperwallet Systems Inc.
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ *  associated documentation files (the "Software"), to deal in the Software without restriction,
+ *  including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ *  sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ *  NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ *  NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package com.hyperwallet.android.model.graphql.query;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+
+/**
+ * The interface contract for a GraphQL query sent as a static document and a set of variables, rather than as a
+ * query string formatted for every request.
+ */
+public interface GqlVariablesQuery extends GqlQuery {
+
+    /**
+     * Returns the query document, shared by every query of the same class, which declares the variables.
+     *
+     * @return the query document that can be posted to the Hyperwallet platforms GraphQL schema
+     */
+    @NonNull
+    String getDocument();
+
+    /**
+     * Returns the values of the variables declared by the {@link #getDocument() document}.
+     *
+     * @param userToken the unique identifier for the User that the query pertains to
+     * @return the values of the variables, by name
+     */
+    @NonNull
+    Map<String, String> getVariables(@NonNull String userToken);
+}
@@ -22,21 +22,18 @@ import androidx.annotation.NonNull;
 
 import com.hyperwallet.android.model.transfermethod.TransferMethod;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * The {@code TransferMethodConfigurationFieldQuery} class defines and builds a query to retrieve the fields
  * required to create a transfer method (Bank Account, Bank Card, PayPay Account, Prepaid Card, Paper Check)
  * with the Hyperwallet platform.
  */
-public class TransferMethodConfigurationFieldQuery implements GqlQuery {
+public class TransferMethodConfigurationFieldQuery implements GqlVariablesQuery {
 
-    private static final String GRAPH_QL_REQUEST =
-            "query QueryCreateTransferMethod(\n"
-                    + "\t\t$usrToken: String =  \"%s\"\n"
-                    + "\t\t$country: Country = %s\n"
-                    + "\t\t$currency: Currency = %s\n"
-                    + "\t\t$transferMethodType: TransferMethodType = %s\n"
-                    + "\t\t$profileType: Profile = %s\n"
-                    + "){\n"
+    private static final String SELECTION =
+            "){\n"
                     + "\ttransferMethodCreateUIConfigurations (usrToken: $usrToken, profileType: $profileType\n"
                     + "\t\tcountry: $country, currency: $currency, transferMethodType: $transferMethodType) {\n"
                     + "\t\tnodes {\n"
@@ -118,6 +115,29 @@ public class TransferMethodConfigurationFieldQuery implements GqlQuery {
                     + "\t}\n"
                     + "}";
 
+    private static final String GRAPH_QL_REQUEST =
+            "query QueryCreateTransferMethod(\n"
+                    + "\t\t$usrToken: String =  \"%s\"\n"
+                    + "\t\t$country: Country = %s\n"
+                    + "\t\t$currency: Currency = %s\n"
+                    + "\t\t$transferMethodType: TransferMethodType = %s\n"
+                    + "\t\t$profileType: Profile = %s\n"
+                    + SELECTION;
+
+    private static final String DOCUMENT =
+            "query QueryCreateTransferMethod(\n"
+                    + "\t\t$usrToken: String!\n"
+                    + "\t\t$country: Country!\n"
+                    + "\t\t$currency: Currency!\n"
+                    + "\t\t$transferMethodType: TransferMethodType!\n"
+                    + "\t\t$profileType: Profile!\n"
+                    + SELECTION;
+    private static final String USER_TOKEN = "usrToken";
+    private static final String COUNTRY = "country";
+    private static final String CURRENCY = "currency";
+    private static final String TRANSFER_METHOD_TYPE = "transferMethodType";
+    private static final String PROFILE_TYPE = "profileType";
+
     private final String mCountry;
     private final String mCurrency;
     private final String mProfile;
@@ -153,5 +173,34 @@ public class TransferMethodConfigurationFieldQuery implements GqlQuery {
     public String toQuery(@NonNull final String userToken) {
         return String.format(GRAPH_QL_REQUEST, userToken, mCountry, mCurrency, mTransferMethodType, mProfile);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public String getDocument() {
+        return DOCUMENT;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userToken {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public Map<String, String> getVariables(@NonNull final String userToken) {
+        Map<String, String> variables = new HashMap<>(8);
+        variables.put(USER_TOKEN, userToken);
+        variables.put(COUNTRY, mCountry);
+        variables.put(CURRENCY, mCurrency);
+        variables.put(TRANSFER_METHOD_TYPE, mTransferMethodType);
+        variables.put(PROFILE_TYPE, mProfile);
+        return variables;
+    }
 }
 
@@ -20,19 +20,19 @@ package com.hyperwallet.android.model.graphql.query;
 import androidx.annotation.NonNull;
 import androidx.annotation.VisibleForTesting;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * The {@code TransferMethodConfigurationKeysQuery} class defines and builds a query to retrieve the key set
  * that is required to construct a {@code TransferMethodConfigurationFieldQuery}.
  *
  * <p>In addition to the key set, the query will retrieve the country, currency.</p>
  */
-public class TransferMethodConfigurationKeysQuery implements GqlQuery {
+public class TransferMethodConfigurationKeysQuery implements GqlVariablesQuery {
 
-    @VisibleForTesting
-    static final String GRAPH_QL_REQUEST_CONFIGURATION =
-            "query {\n"
-                    + "\tcountries(idToken: \"%s\") {\n"
-                    + "\t\tnodes {\n"
+    private static final String SELECTION =
+            "\t\tnodes {\n"
                     + "\t\t\tcode\n"
                     + "\t\t\tname\n"
                     + "\t\t\tdefaultCurrencyCode\n"
@@ -46,6 +46,18 @@ public class TransferMethodConfigurationKeysQuery implements GqlQuery {
                     + "\t}\n"
                     + "}";
 
+    @VisibleForTesting
+    static final String GRAPH_QL_REQUEST_CONFIGURATION =
+            "query {\n"
+                    + "\tcountries(idToken: \"%s\") {\n"
+                    + SELECTION;
+
+    private static final String DOCUMENT =
+            "query QueryCountries($idToken: String!) {\n"
+                    + "\tcountries(idToken: $idToken) {\n"
+                    + SELECTION;
+    private static final String ID_TOKEN = "idToken";
+
     /**
      * Constructs a {@code TransferMethodConfigurationKeysQuery}.
      */
@@ -62,5 +74,28 @@ public class TransferMethodConfigurationKeysQuery implements GqlQuery {
     public String toQuery(@NonNull final String userToken) {
         return String.format(GRAPH_QL_REQUEST_CONFIGURATION, userToken);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public String getDocument() {
+        return DOCUMENT;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userToken {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public Map<String, String> getVariables(@NonNull final String userToken) {
+        return Collections.singletonMap(ID_TOKEN, userToken);
+    }
 }
 
@@ -2,6 +2,9 @@ package com.hyperwallet.android.model.graphql.query;
 
 import androidx.annotation.NonNull;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * The {@code TransferMethodTypesFeeAndProcessingTimesQuery} class defines and builds a query to retrieve the key set
  * that is required to construct a {@code TransferMethodConfigurationTransferTypesFeeAndProcessingTimeQuery}.
@@ -9,13 +12,9 @@ import androidx.annotation.NonNull;
  * <p>The query will retrieve the transfer method types, processing time and fees associated for given
  *   country, currency, and profile tuple.</p>
  */
-public class TransferMethodTypesFeeAndProcessingTimesQuery implements GqlQuery {
+public class TransferMethodTypesFeeAndProcessingTimesQuery implements GqlVariablesQuery {
 
-    private static final String GRAPH_QL_REQUEST ="query QueryFeeAndProcessing(\n"
-            + "    $idToken: String = \"%s\"\n,"
-            + "    $country: Country = %s\n,"
-            + "    $currency: Currency = %s\n"
-            + ") {\n"
+    private static final String SELECTION = ") {\n"
             + "  countries (idToken: $idToken, code: $country){\n"
             + "              nodes {\n"
             + "                code\n"
@@ -53,6 +52,21 @@ public class TransferMethodTypesFeeAndProcessingTimesQuery implements GqlQuery {
             + "            }\n"
             + "}\n";
 
+    private static final String GRAPH_QL_REQUEST ="query QueryFeeAndProcessing(\n"
+            + "    $idToken: String = \"%s\"\n,"
+            + "    $country: Country = %s\n,"
+            + "    $currency: Currency = %s\n"
+            + SELECTION;
+
+    private static final String DOCUMENT = "query QueryFeeAndProcessing(\n"
+            + "    $idToken: String!\n,"
+            + "    $country: Country!\n,"
+            + "    $currency: Currency!\n"
+            + SELECTION;
+    private static final String ID_TOKEN = "idToken";
+    private static final String COUNTRY = "country";
+    private static final String CURRENCY = "currency";
+
     private final String mCountry;
     private final String mCurrency;
 
@@ -79,4 +93,31 @@ public class TransferMethodTypesFeeAndProcessingTimesQuery implements GqlQuery {
     public String toQuery(String userToken) {
         return String.format(GRAPH_QL_REQUEST, userToken, mCountry, mCurrency);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public String getDocument() {
+        return DOCUMENT;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userToken {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public Map<String, String> getVariables(@NonNull final String userToken) {
+        Map<String, String> variables = new HashMap<>(4);
+        variables.put(ID_TOKEN, userToken);
+        variables.put(COUNTRY, mCountry);
+        variables.put(CURRENCY, mCurrency);
+        return variables;
+    }
 }
@@ -4,17 +4,17 @@ import androidx.annotation.NonNull;
 
 import com.hyperwallet.android.model.transfermethod.TransferMethod;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * The {@code TransferMethodConfigurationFieldQuery} class defines and builds a query to retrieve the fields
  * required to update transfer method (Bank Account, Bank Card, PayPay Account, Prepaid Card, Paper Check, Venmo)
  * with the Hyperwallet platform.
  */
-public class TransferMethodUpdateConfigurationFieldQuery implements GqlQuery {
+public class TransferMethodUpdateConfigurationFieldQuery implements GqlVariablesQuery {
 
-    private static final String GRAPH_QL_REQUEST = "query {\n" +
-            "\ttransferMethodUpdateUIConfigurations (\n" +
-            "\t\ttrmToken: \"%s\"\n" +
-            "\t) {\n" +
+    private static final String SELECTION = "\t) {\n" +
             "\t\tnodes {\n" +
             "\t\t\tcountry\n" +
             "\t\t\tcurrency\n" +
@@ -65,6 +65,17 @@ public class TransferMethodUpdateConfigurationFieldQuery implements GqlQuery {
             "\t}\n" +
             "}";
 
+    private static final String GRAPH_QL_REQUEST = "query {\n" +
+            "\ttransferMethodUpdateUIConfigurations (\n" +
+            "\t\ttrmToken: \"%s\"\n" +
+            SELECTION;
+
+    private static final String DOCUMENT = "query QueryUpdateTransferMethod($trmToken: String!) {\n" +
+            "\ttransferMethodUpdateUIConfigurations (\n" +
+            "\t\ttrmToken: $trmToken\n" +
+            SELECTION;
+    private static final String TRANSFER_METHOD_TOKEN = "trmToken";
+
     private final String mTransferMethodToken;
 
     /**
@@ -87,4 +98,27 @@ public class TransferMethodUpdateConfigurationFieldQuery implements GqlQuery {
     public String toQuery(@NonNull final String userToken) {
         return String.format(GRAPH_QL_REQUEST, mTransferMethodToken);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public String getDocument() {
+        return DOCUMENT;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userToken {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public Map<String, String> getVariables(@NonNull final String userToken) {
+        return Collections.singletonMap(TRANSFER_METHOD_TOKEN, mTransferMethodToken);
+    }
 }
@@ -17,15 +17,22 @@
  */
 package com.hyperwallet.android.model.paging;
 
+import android.util.JsonReader;
+import android.util.JsonToken;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
 import androidx.annotation.VisibleForTesting;
 
 import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.util.Deserializers;
+import com.hyperwallet.android.util.JsonUtils;
 
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.lang.reflect.Constructor;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,10 +64,10 @@ public class PageList<T> {
         try {
             JSONArray jsonArray = page.getJSONArray(DATA);
             if (jsonArray != null) {
-                mDataList = new ArrayList<>();
+                mDataList = new ArrayList<>(jsonArray.length());
+                Deserializers.Deserializer<T> deserializer = Deserializers.get(clazz);
                 for (int i = 0; i < jsonArray.length(); i++) {
-                    Constructor<T> constructor = clazz.getDeclaredConstructor(JSONObject.class);
-                    mDataList.add(constructor.newInstance(jsonArray.getJSONObject(i)));
+                    mDataList.add(Deserializers.newInstance(deserializer, jsonArray.getJSONObject(i)));
                 }
             }
         } catch (Exception e) {
@@ -84,6 +91,52 @@ public class PageList<T> {
         mOffset = page.optInt(OFFSET, 0);
     }
 
+    /**
+     * Construct a {@code PageList} object while reading its JSON representation
+     *
+     * @param reader       JSON reader positioned on the page
+     * @param deserializer factory of the page elements
+     */
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public PageList(@NonNull final JsonReader reader, @NonNull final Deserializers.FieldsDeserializer<T> deserializer)
+            throws IOException, JSONException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (DATA.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                mDataList = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    mDataList.add(deserializer.fromFields(JsonUtils.readObject(reader)));
+                }
+                reader.endArray();
+            } else if (PAGE_LINKS.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                mPageLinks = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    mPageLinks.add(new PageLink(new JSONObject(JsonUtils.readObject(reader))));
+                }
+                reader.endArray();
+            } else if (COUNT.equals(name)) {
+                mCount = reader.nextInt();
+            } else if (LIMIT.equals(name)) {
+                mLimit = reader.nextInt();
+            } else if (OFFSET.equals(name)) {
+                mOffset = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (mDataList == null) {
+            throw new JSONException("No value for " + DATA);
+        }
+        if (mPageLinks == null) {
+            throw new JSONException("No value for " + PAGE_LINKS);
+        }
+    }
+
     @VisibleForTesting
     public PageList(List<T> dataList) {
         mDataList = dataList;
@@ -167,6 +167,7 @@ import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 import androidx.annotation.StringDef;
 
 import com.hyperwallet.android.model.JsonModel;
@@ -219,9 +220,13 @@ public final class Receipt implements JsonModel, Parcelable {
      *
      * @param fields map of key-value pair
      */
-    private Receipt(@NonNull Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public Receipt(@NonNull Map<String, Object> fields) {
         super();
         setFields(fields);
+        if (mFields.get(DETAILS) instanceof Map) {
+            mFields.put(DETAILS, new ReceiptDetails((Map<String, Object>) mFields.get(DETAILS)));
+        }
     }
 
     @Nullable
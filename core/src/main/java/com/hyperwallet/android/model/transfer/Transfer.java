@@ -115,6 +115,15 @@ public final class Transfer implements JsonModel, Parcelable {
     public Transfer(@NonNull final Map<String, Object> fields) {
         super();
         setFields(fields);
+        if (mFields.get(FOREIGN_EXCHANGES) instanceof List) {
+            List<?> rawList = (List<?>) mFields.get(FOREIGN_EXCHANGES);
+            List<ForeignExchange> foreignExchanges = new ArrayList<>(rawList.size());
+            for (Object item : rawList) {
+                foreignExchanges.add(item instanceof Map
+                        ? new ForeignExchange((Map<String, Object>) item) : (ForeignExchange) item);
+            }
+            mFields.put(FOREIGN_EXCHANGES, foreignExchanges);
+        }
     }
 
     @Nullable
@@ -28,6 +28,7 @@
 package com.hyperwallet.android.model.transfermethod;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
 import androidx.annotation.StringDef;
 
 import org.json.JSONException;
@@ -57,7 +58,8 @@ public class BankAccount extends TransferMethod {
      *
      * @param fields Map key-value pair raw data information
      */
-    private BankAccount(@NonNull Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public BankAccount(@NonNull Map<String, Object> fields) {
         super();
         setFields(fields);
     }
@@ -28,6 +28,7 @@
 package com.hyperwallet.android.model.transfermethod;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -54,7 +55,8 @@ public class BankCard extends TransferMethod {
      *
      * @param fields map of key-value pair
      */
-    private BankCard(@NonNull Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public BankCard(@NonNull Map<String, Object> fields) {
         super();
         setFields(fields);
     }
@@ -2,6 +2,7 @@ package com.hyperwallet.android.model.transfermethod;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -31,7 +32,8 @@ public class PaperCheck extends TransferMethod {
      *
      * @param fields map of key-value raw data information
      */
-    private PaperCheck(@NonNull final Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public PaperCheck(@NonNull final Map<String, Object> fields) {
         super();
         setFields(fields);
     }
@@ -24,6 +24,7 @@ import static com.hyperwallet.android.model.transfermethod.TransferMethod.Transf
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -51,7 +52,8 @@ public class PayPalAccount extends TransferMethod {
      *
      * @param fields map of key-value raw data information
      */
-    private PayPalAccount(@NonNull Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public PayPalAccount(@NonNull Map<String, Object> fields) {
         super();
         setFields(fields);
     }
@@ -29,6 +29,7 @@ package com.hyperwallet.android.model.transfermethod;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import com.hyperwallet.android.util.DateUtil;
 
@@ -70,7 +71,8 @@ public class PrepaidCard extends TransferMethod {
      *
      * @param fields map of key-value pair raw data
      */
-    private PrepaidCard(@NonNull Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public PrepaidCard(@NonNull Map<String, Object> fields) {
         this();
         setFields(fields);
     }
@@ -23,6 +23,7 @@ import android.os.Parcelable;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 import androidx.annotation.StringDef;
 
 import com.hyperwallet.android.model.JsonModel;
@@ -79,7 +80,8 @@ public class TransferMethod implements JsonModel, Parcelable {
      *
      * @param fields map of key value-pair raw data information
      */
-    private TransferMethod(@NonNull final Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public TransferMethod(@NonNull final Map<String, Object> fields) {
         mFields = new HashMap<>(fields);
     }
 
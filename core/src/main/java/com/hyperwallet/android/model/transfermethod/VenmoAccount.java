@@ -20,6 +20,7 @@ package com.hyperwallet.android.model.transfermethod;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -52,7 +53,8 @@ public class VenmoAccount extends TransferMethod {
      *
      * @param fields map of key-value raw data information
      */
-    private VenmoAccount(@NonNull final Map<String, Object> fields) {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public VenmoAccount(@NonNull final Map<String, Object> fields) {
         super();
         setFields(fields);
     }
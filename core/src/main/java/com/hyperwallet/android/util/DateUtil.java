@@ -2,26 +2,30 @@ package com.hyperwallet.android.util;
 
 import androidx.annotation.NonNull;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.Locale;
+import java.util.TimeZone;
 
 /**
  * Util class to convert date to string and string to date
+ *
+ * <p>Dates are formatted and parsed in the default time zone, without any shared formatter, so that every method
+ * is safe to call from any thread.</p>
  */
 public class DateUtil {
 
     /**
-     * HW Rest API date formats
+     * HW Rest API date formats: <code>yyyy-MM-dd</code>, <code>yyyy-MM-dd'T'HH:mm:ss</code> and
+     * <code>yyyy-MM-dd'T'HH:mm:ss.SSS</code>
      */
-    private static final String DATE_FORMAT = "yyyy-MM-dd";
-    private static final String DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
-    private static final String DATE_TIME_FORMAT_MILLISECONDS = "yyyy-MM-dd'T'HH:mm:ss.SSS";
-    private static final SimpleDateFormat DATE_FORMATTER = new SimpleDateFormat(DATE_FORMAT, Locale.US);
-    private static final SimpleDateFormat DATE_TIME_FORMATTER = new SimpleDateFormat(DATE_TIME_FORMAT, Locale.US);
-    private static final SimpleDateFormat DATE_TIME_FORMATTER_MILLISECONDS = new SimpleDateFormat(
-            DATE_TIME_FORMAT_MILLISECONDS, Locale.US);
+    private static final int DATE_LENGTH = 10;
+    private static final int DATE_TIME_LENGTH = 19;
+    private static final int DATE_TIME_MILLISECONDS_LENGTH = 23;
+    private static final String FIELD_SEPARATORS = "--T::";
+    private static final int MAX_FIELD_DIGITS = 9;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
     private static final String TAG = DateUtil.class.getName();
 
     /**
@@ -30,7 +34,7 @@ public class DateUtil {
      * @return String representation of date in <code>yyyy-MM-dd</code> format
      */
     public static String toDateFormat(@NonNull Date date) {
-        return DATE_FORMATTER.format(date);
+        return format(date, DATE_LENGTH);
     }
 
     /**
@@ -39,7 +43,7 @@ public class DateUtil {
      * @return String representation of date in <code>yyyy-MM-dd'T'HH:mm:ss</code> format
      */
     public static String toDateTimeFormat(@NonNull Date date) {
-        return DATE_TIME_FORMATTER.format(date);
+        return format(date, DATE_TIME_LENGTH);
     }
 
     /**
@@ -48,21 +52,125 @@ public class DateUtil {
      * @return String representation of date in <code>yyyy-MM-dd'T'HH:mm:ss.SSS</code> format
      */
     public static String toDateTimeMillisFormat(@NonNull Date date) {
-        return DATE_TIME_FORMATTER_MILLISECONDS.format(date);
+        return format(date, DATE_TIME_MILLISECONDS_LENGTH);
     }
 
     /**
      * Returns the java.util.Date object from the string value formatted at ISO860-1
      *
+     * <p>The fields are read leniently: they need not be zero-padded, and a value out of its range rolls over into
+     * the next field, so that <code>2019-02-30T11:37:31</code> is March 2nd and a 60th second is the first second
+     * of the next minute. Any text following the seconds, such as milliseconds or a time zone designator, is
+     * ignored.</p>
+     *
      * @param dateString string formatted yyyy-MM-dd'T'HH:mm:ss
      * @return date
      */
     public static Date fromDateTimeString(@NonNull String dateString) {
-        try {
-            return DATE_TIME_FORMATTER.parse(dateString);
-        } catch (ParseException e) {
-            throw new IllegalArgumentException("An exception occurred when attempting to parse " +
-                    "the date " + dateString, e);
+        int[] fields = new int[FIELD_SEPARATORS.length() + 1];
+        int position = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                if (position >= dateString.length() || dateString.charAt(position) != FIELD_SEPARATORS.charAt(i - 1)) {
+                    throw parseError(dateString);
+                }
+                position++;
+            }
+            int start = position;
+            int value = 0;
+            while (position < dateString.length() && position - start < MAX_FIELD_DIGITS
+                    && isDigit(dateString.charAt(position))) {
+                value = value * 10 + dateString.charAt(position++) - '0';
+            }
+            if (position == start || (position < dateString.length() && isDigit(dateString.charAt(position)))) {
+                throw parseError(dateString);
+            }
+            fields[i] = value;
+        }
+
+        // months, days, hours, minutes and seconds out of their range roll over, like a lenient java.util.Calendar
+        long months = fields[0] * 12L + fields[1] - 1;
+        long year = months >= 0 ? months / 12 : (months + 1) / 12 - 1;
+        int month = (int) (months - year * 12) + 1;
+        long days = daysFromCivil(year, month, 1) + fields[2] - 1;
+        long local = days * MILLIS_PER_DAY + fields[3] * MILLIS_PER_HOUR + fields[4] * MILLIS_PER_MINUTE
+                + fields[5] * MILLIS_PER_SECOND;
+        // an ambiguous or skipped local time resolves to standard time, like java.util.Calendar
+        TimeZone timeZone = TimeZone.getDefault();
+        long standard = local - timeZone.getRawOffset();
+        int offset = timeZone.getOffset(standard);
+        return new Date(timeZone.getOffset(local - offset) == offset ? local - offset : standard);
+    }
+
+    private static String format(@NonNull final Date date, final int length) {
+        long time = date.getTime();
+        long local = time + TimeZone.getDefault().getOffset(time);
+        long days = local / MILLIS_PER_DAY;
+        long millisOfDay = local % MILLIS_PER_DAY;
+        if (millisOfDay < 0) {
+            days--;
+            millisOfDay += MILLIS_PER_DAY;
+        }
+
+        // civil date of the day count since 1970-01-01, in the proleptic Gregorian calendar
+        long shifted = days + 719468;
+        long era = (shifted >= 0 ? shifted : shifted - 146096) / 146097;
+        int dayOfEra = (int) (shifted - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        char[] chars = new char[length];
+        writeDigits(chars, 0, (int) year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, month, 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, day, 2);
+        if (length > DATE_LENGTH) {
+            chars[10] = 'T';
+            writeDigits(chars, 11, (int) (millisOfDay / MILLIS_PER_HOUR), 2);
+            chars[13] = ':';
+            writeDigits(chars, 14, (int) (millisOfDay / MILLIS_PER_MINUTE % 60), 2);
+            chars[16] = ':';
+            writeDigits(chars, 17, (int) (millisOfDay / MILLIS_PER_SECOND % 60), 2);
+        }
+        if (length > DATE_TIME_LENGTH) {
+            chars[19] = '.';
+            writeDigits(chars, 20, (int) (millisOfDay % MILLIS_PER_SECOND), 3);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @return number of days from 1970-01-01 to the civil date, in the proleptic Gregorian calendar
+     */
+    private static long daysFromCivil(final long year, final int month, final int day) {
+        long shiftedYear = month <= 2 ? year - 1 : year;
+        long era = (shiftedYear >= 0 ? shiftedYear : shiftedYear - 399) / 400;
+        int yearOfEra = (int) (shiftedYear - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    private static boolean isDigit(final char character) {
+        return character >= '0' && character <= '9';
+    }
+
+    private static void writeDigits(@NonNull final char[] chars, final int offset, final int value,
+            final int count) {
+        int remainder = value;
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + remainder % 10);
+            remainder /= 10;
         }
     }
+
+    private static IllegalArgumentException parseError(@NonNull final String dateString) {
+        return new IllegalArgumentException("An exception occurred when attempting to parse " +
+                "the date " + dateString);
+    }
 }
@@ -0,0 +1,524 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+
+import com.hyperwallet.android.model.Errors;
+import com.hyperwallet.android.model.StatusTransition;
+import com.hyperwallet.android.model.balance.Balance;
+import com.hyperwallet.android.model.graphql.Fee;
+import com.hyperwallet.android.model.graphql.ProcessingTime;
+import com.hyperwallet.android.model.graphql.TransferMethodConfigurationKey;
+import com.hyperwallet.android.model.graphql.error.GqlErrors;
+import com.hyperwallet.android.model.graphql.field.FieldGroup;
+import com.hyperwallet.android.model.graphql.field.TransferMethodConfiguration;
+import com.hyperwallet.android.model.graphql.field.TransferMethodConfigurationField;
+import com.hyperwallet.android.model.graphql.field.TransferMethodConfigurationFieldResult;
+import com.hyperwallet.android.model.graphql.field.TransferMethodUpdateConfigurationField;
+import com.hyperwallet.android.model.graphql.field.TransferMethodUpdateConfigurationFieldResult;
+import com.hyperwallet.android.model.graphql.keyed.Country;
+import com.hyperwallet.android.model.graphql.keyed.Currency;
+import com.hyperwallet.android.model.graphql.keyed.TransferMethodConfigurationKeyResult;
+import com.hyperwallet.android.model.graphql.keyed.TransferMethodType;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.receipt.Receipt;
+import com.hyperwallet.android.model.transfer.Transfer;
+import com.hyperwallet.android.model.transfermethod.BankAccount;
+import com.hyperwallet.android.model.transfermethod.BankCard;
+import com.hyperwallet.android.model.transfermethod.PaperCheck;
+import com.hyperwallet.android.model.transfermethod.PayPalAccount;
+import com.hyperwallet.android.model.transfermethod.PrepaidCard;
+import com.hyperwallet.android.model.transfermethod.TransferMethod;
+import com.hyperwallet.android.model.transfermethod.VenmoAccount;
+import com.hyperwallet.android.model.user.User;
+
+import org.json.JSONObject;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Internal SDK use only. Registry of the factories building models from their {@link JSONObject} representation
+ *
+ * <p>The models of the SDK are built by registered {@link Deserializer}s without any reflective lookup, which also
+ * keeps them working when the integrator's build shrinks their constructors. Any other class is built through its
+ * {@code Constructor(JSONObject)}, looked up once per class and cached.</p>
+ *
+ * <p>A model that fails to build is reported as an {@link InvocationTargetException} wrapping the cause, the same
+ * way as a reflective constructor call.</p>
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public final class Deserializers {
+
+    private static final Map<Class<?>, Deserializer<?>> sDeserializers = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ParameterizedDeserializer<?>> sParameterizedDeserializers =
+            new ConcurrentHashMap<>();
+    private static final Map<Class<?>, FieldsDeserializer<?>> sFieldsDeserializers = new ConcurrentHashMap<>();
+
+    static {
+        register(Balance.class, new Deserializer<Balance>() {
+            @Override
+            public Balance fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new Balance(jsonObject);
+            }
+        });
+        register(BankAccount.class, new Deserializer<BankAccount>() {
+            @Override
+            public BankAccount fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new BankAccount(jsonObject);
+            }
+        });
+        register(BankCard.class, new Deserializer<BankCard>() {
+            @Override
+            public BankCard fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new BankCard(jsonObject);
+            }
+        });
+        register(Country.class, new Deserializer<Country>() {
+            @Override
+            public Country fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new Country(jsonObject);
+            }
+        });
+        register(Currency.class, new Deserializer<Currency>() {
+            @Override
+            public Currency fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new Currency(jsonObject);
+            }
+        });
+        register(Errors.class, new Deserializer<Errors>() {
+            @Override
+            public Errors fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new Errors(jsonObject);
+            }
+        });
+        register(Fee.class, new Deserializer<Fee>() {
+            @Override
+            public Fee fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new Fee(jsonObject);
+            }
+        });
+        register(FieldGroup.class, new Deserializer<FieldGroup>() {
+            @Override
+            public FieldGroup fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new FieldGroup(jsonObject);
+            }
+        });
+        register(GqlErrors.class, new Deserializer<GqlErrors>() {
+            @Override
+            public GqlErrors fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new GqlErrors(jsonObject);
+            }
+        });
+        register(PaperCheck.class, new Deserializer<PaperCheck>() {
+            @Override
+            public PaperCheck fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new PaperCheck(jsonObject);
+            }
+        });
+        register(PayPalAccount.class, new Deserializer<PayPalAccount>() {
+            @Override
+            public PayPalAccount fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new PayPalAccount(jsonObject);
+            }
+        });
+        register(PrepaidCard.class, new Deserializer<PrepaidCard>() {
+            @Override
+            public PrepaidCard fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new PrepaidCard(jsonObject);
+            }
+        });
+        register(ProcessingTime.class, new Deserializer<ProcessingTime>() {
+            @Override
+            public ProcessingTime fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new ProcessingTime(jsonObject);
+            }
+        });
+        register(Receipt.class, new Deserializer<Receipt>() {
+            @Override
+            public Receipt fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new Receipt(jsonObject);
+            }
+        });
+        register(StatusTransition.class, new Deserializer<StatusTransition>() {
+            @Override
+            public StatusTransition fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new StatusTransition(jsonObject);
+            }
+        });
+        register(Transfer.class, new Deserializer<Transfer>() {
+            @Override
+            public Transfer fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new Transfer(jsonObject);
+            }
+        });
+        register(TransferMethod.class, new Deserializer<TransferMethod>() {
+            @Override
+            public TransferMethod fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new TransferMethod(jsonObject);
+            }
+        });
+        register(TransferMethodConfiguration.class, new Deserializer<TransferMethodConfiguration>() {
+            @Override
+            public TransferMethodConfiguration fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new TransferMethodConfiguration(jsonObject);
+            }
+        });
+        register(TransferMethodConfigurationField.class, new Deserializer<TransferMethodConfigurationField>() {
+            @Override
+            public TransferMethodConfigurationField fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new TransferMethodConfigurationField(jsonObject);
+            }
+        });
+        register(TransferMethodConfigurationFieldResult.class,
+                new Deserializer<TransferMethodConfigurationFieldResult>() {
+                    @Override
+                    public TransferMethodConfigurationFieldResult fromJson(@NonNull final JSONObject jsonObject)
+                            throws Exception {
+                        return new TransferMethodConfigurationFieldResult(jsonObject);
+                    }
+                });
+        register(TransferMethodConfigurationKey.class, new Deserializer<TransferMethodConfigurationKey>() {
+            @Override
+            public TransferMethodConfigurationKey fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new TransferMethodConfigurationKey(jsonObject);
+            }
+        });
+        register(TransferMethodConfigurationKeyResult.class,
+                new Deserializer<TransferMethodConfigurationKeyResult>() {
+                    @Override
+                    public TransferMethodConfigurationKeyResult fromJson(@NonNull final JSONObject jsonObject)
+                            throws Exception {
+                        return new TransferMethodConfigurationKeyResult(jsonObject);
+                    }
+                });
+        register(TransferMethodType.class, new Deserializer<TransferMethodType>() {
+            @Override
+            public TransferMethodType fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new TransferMethodType(jsonObject);
+            }
+        });
+        register(TransferMethodUpdateConfigurationField.class,
+                new Deserializer<TransferMethodUpdateConfigurationField>() {
+                    @Override
+                    public TransferMethodUpdateConfigurationField fromJson(@NonNull final JSONObject jsonObject)
+                            throws Exception {
+                        return new TransferMethodUpdateConfigurationField(jsonObject);
+                    }
+                });
+        register(TransferMethodUpdateConfigurationFieldResult.class,
+                new Deserializer<TransferMethodUpdateConfigurationFieldResult>() {
+                    @Override
+                    public TransferMethodUpdateConfigurationFieldResult fromJson(@NonNull final JSONObject jsonObject)
+                            throws Exception {
+                        return new TransferMethodUpdateConfigurationFieldResult(jsonObject);
+                    }
+                });
+        register(User.class, new Deserializer<User>() {
+            @Override
+            public User fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new User(jsonObject);
+            }
+        });
+        register(VenmoAccount.class, new Deserializer<VenmoAccount>() {
+            @Override
+            public VenmoAccount fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+                return new VenmoAccount(jsonObject);
+            }
+        });
+        registerParameterized(PageList.class, new ParameterizedDeserializer<PageList>() {
+            @Override
+            public PageList fromJson(@NonNull final JSONObject jsonObject, @NonNull final Class parameterType)
+                    throws Exception {
+                return new PageList<>(jsonObject, parameterType);
+            }
+        });
+
+        registerFields(Balance.class, new FieldsDeserializer<Balance>() {
+            @Override
+            public Balance fromFields(@NonNull final Map<String, Object> fields) {
+                return new Balance(fields);
+            }
+        });
+        registerFields(BankAccount.class, new FieldsDeserializer<BankAccount>() {
+            @Override
+            public BankAccount fromFields(@NonNull final Map<String, Object> fields) {
+                return new BankAccount(fields);
+            }
+        });
+        registerFields(BankCard.class, new FieldsDeserializer<BankCard>() {
+            @Override
+            public BankCard fromFields(@NonNull final Map<String, Object> fields) {
+                return new BankCard(fields);
+            }
+        });
+        registerFields(PaperCheck.class, new FieldsDeserializer<PaperCheck>() {
+            @Override
+            public PaperCheck fromFields(@NonNull final Map<String, Object> fields) {
+                return new PaperCheck(fields);
+            }
+        });
+        registerFields(PayPalAccount.class, new FieldsDeserializer<PayPalAccount>() {
+            @Override
+            public PayPalAccount fromFields(@NonNull final Map<String, Object> fields) {
+                return new PayPalAccount(fields);
+            }
+        });
+        registerFields(PrepaidCard.class, new FieldsDeserializer<PrepaidCard>() {
+            @Override
+            public PrepaidCard fromFields(@NonNull final Map<String, Object> fields) {
+                PrepaidCard prepaidCard = new PrepaidCard(fields);
+                prepaidCard.setField(TransferMethod.TransferMethodFields.TYPE,
+                        TransferMethod.TransferMethodTypes.PREPAID_CARD);
+                return prepaidCard;
+            }
+        });
+        registerFields(Receipt.class, new FieldsDeserializer<Receipt>() {
+            @Override
+            public Receipt fromFields(@NonNull final Map<String, Object> fields) {
+                return new Receipt(fields);
+            }
+        });
+        registerFields(Transfer.class, new FieldsDeserializer<Transfer>() {
+            @Override
+            public Transfer fromFields(@NonNull final Map<String, Object> fields) {
+                return new Transfer(fields);
+            }
+        });
+        registerFields(TransferMethod.class, new FieldsDeserializer<TransferMethod>() {
+            @Override
+            public TransferMethod fromFields(@NonNull final Map<String, Object> fields) {
+                return new TransferMethod(fields);
+            }
+        });
+        registerFields(User.class, new FieldsDeserializer<User>() {
+            @Override
+            public User fromFields(@NonNull final Map<String, Object> fields) {
+                return new User(fields);
+            }
+        });
+        registerFields(VenmoAccount.class, new FieldsDeserializer<VenmoAccount>() {
+            @Override
+            public VenmoAccount fromFields(@NonNull final Map<String, Object> fields) {
+                return new VenmoAccount(fields);
+            }
+        });
+    }
+
+    private Deserializers() {
+    }
+
+    /**
+     * Registers the {@code deserializer} building instances of {@code clazz}, replacing any previous one
+     *
+     * @param clazz        class built by the {@code deserializer}
+     * @param deserializer factory of {@code clazz} instances
+     */
+    public static <T> void register(@NonNull final Class<T> clazz, @NonNull final Deserializer<T> deserializer) {
+        sDeserializers.put(clazz, deserializer);
+    }
+
+    /**
+     * Registers the {@code deserializer} building instances of the generic {@code rawType}, replacing any
+     * previous one
+     *
+     * @param rawType      generic class built by the {@code deserializer}
+     * @param deserializer factory of {@code rawType} instances
+     */
+    public static <T> void registerParameterized(@NonNull final Class<T> rawType,
+            @NonNull final ParameterizedDeserializer<T> deserializer) {
+        sParameterizedDeserializers.put(rawType, deserializer);
+    }
+
+    /**
+     * Registers the {@code deserializer} building instances of {@code clazz} from their fields, replacing any
+     * previous one; such classes can be read straight from a stream, refer to {@link JsonUtils#fromJsonStream}
+     *
+     * @param clazz        class built by the {@code deserializer}
+     * @param deserializer factory of {@code clazz} instances
+     */
+    public static <T> void registerFields(@NonNull final Class<T> clazz,
+            @NonNull final FieldsDeserializer<T> deserializer) {
+        sFieldsDeserializers.put(clazz, deserializer);
+    }
+
+    /**
+     * @param clazz class to build
+     * @return the registered {@link FieldsDeserializer} of {@code clazz}, or null when it has none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> FieldsDeserializer<T> getFields(@NonNull final Class<T> clazz) {
+        return (FieldsDeserializer<T>) sFieldsDeserializers.get(clazz);
+    }
+
+    /**
+     * @param clazz class to build
+     * @return the registered {@link Deserializer} of {@code clazz}, or one calling its cached
+     * {@code Constructor(JSONObject)}
+     * @throws NoSuchMethodException when {@code clazz} has no registered deserializer nor such constructor
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <T> Deserializer<T> get(@NonNull final Class<T> clazz) throws NoSuchMethodException {
+        Deserializer<T> deserializer = (Deserializer<T>) sDeserializers.get(clazz);
+        if (deserializer == null) {
+            deserializer = new ConstructorDeserializer<>(clazz.getDeclaredConstructor(JSONObject.class));
+            sDeserializers.put(clazz, deserializer);
+        }
+        return deserializer;
+    }
+
+    /**
+     * @param rawType generic class to build
+     * @return the registered {@link ParameterizedDeserializer} of {@code rawType}, or one calling its cached
+     * {@code Constructor(JSONObject, Class)}
+     * @throws NoSuchMethodException when {@code rawType} has no registered deserializer nor such constructor
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public static <T> ParameterizedDeserializer<T> getParameterized(@NonNull final Class<T> rawType)
+            throws NoSuchMethodException {
+        ParameterizedDeserializer<T> deserializer =
+                (ParameterizedDeserializer<T>) sParameterizedDeserializers.get(rawType);
+        if (deserializer == null) {
+            deserializer = new ParameterizedConstructorDeserializer<>(
+                    rawType.getDeclaredConstructor(JSONObject.class, Class.class));
+            sParameterizedDeserializers.put(rawType, deserializer);
+        }
+        return deserializer;
+    }
+
+    /**
+     * Builds an instance of {@code clazz} from its JSON representation
+     *
+     * @param clazz      class to build
+     * @param jsonObject JSON representation of the instance
+     * @return the instance built
+     */
+    @NonNull
+    public static <T> T fromJson(@NonNull final Class<T> clazz, @NonNull final JSONObject jsonObject)
+            throws NoSuchMethodException, InvocationTargetException, InstantiationException,
+            IllegalAccessException {
+        return newInstance(get(clazz), jsonObject);
+    }
+
+    /**
+     * Builds an instance with the {@code deserializer}
+     *
+     * @param deserializer factory of the instance, obtained from {@link #get(Class)}
+     * @param jsonObject   JSON representation of the instance
+     * @return the instance built
+     */
+    @NonNull
+    public static <T> T newInstance(@NonNull final Deserializer<T> deserializer, @NonNull final JSONObject jsonObject)
+            throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        try {
+            return deserializer.fromJson(jsonObject);
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Builds an instance with the {@code deserializer}
+     *
+     * @param deserializer  factory of the instance, obtained from {@link #getParameterized(Class)}
+     * @param jsonObject    JSON representation of the instance
+     * @param parameterType type argument of the instance
+     * @return the instance built
+     */
+    @NonNull
+    public static <T> T newInstance(@NonNull final ParameterizedDeserializer<T> deserializer,
+            @NonNull final JSONObject jsonObject, @NonNull final Class<?> parameterType)
+            throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        try {
+            return deserializer.fromJson(jsonObject, parameterType);
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Factory of a model from its {@link JSONObject} representation
+     */
+    public interface Deserializer<T> {
+
+        @NonNull
+        T fromJson(@NonNull JSONObject jsonObject) throws Exception;
+    }
+
+    /**
+     * Factory of a generic model from its {@link JSONObject} representation and type argument
+     */
+    public interface ParameterizedDeserializer<T> {
+
+        @NonNull
+        T fromJson(@NonNull JSONObject jsonObject, @NonNull Class parameterType) throws Exception;
+    }
+
+    /**
+     * Factory of a model from its fields, read with the same representation as
+     * {@link JsonUtils#jsonObjectToMap(JSONObject)}
+     */
+    public interface FieldsDeserializer<T> {
+
+        @NonNull
+        T fromFields(@NonNull Map<String, Object> fields);
+    }
+
+    private static final class ConstructorDeserializer<T> implements Deserializer<T> {
+
+        private final Constructor<T> mConstructor;
+
+        private ConstructorDeserializer(@NonNull final Constructor<T> constructor) {
+            mConstructor = constructor;
+        }
+
+        @NonNull
+        @Override
+        public T fromJson(@NonNull final JSONObject jsonObject) throws Exception {
+            return mConstructor.newInstance(jsonObject);
+        }
+    }
+
+    private static final class ParameterizedConstructorDeserializer<T> implements ParameterizedDeserializer<T> {
+
+        private final Constructor<T> mConstructor;
+
+        private ParameterizedConstructorDeserializer(@NonNull final Constructor<T> constructor) {
+            mConstructor = constructor;
+        }
+
+        @NonNull
+        @Override
+        public T fromJson(@NonNull final JSONObject jsonObject, @NonNull final Class parameterType)
+                throws Exception {
+            return mConstructor.newInstance(jsonObject, parameterType);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@code DigestUtils} computes the digests identifying cached responses and persisted queries
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public final class DigestUtils {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private DigestUtils() {
+    }
+
+    /**
+     * Computes the SHA-256 digest of the UTF-8 {@code parts}, separated by a zero byte
+     *
+     * @param parts the values to digest; the digest of a single value is the digest of its text
+     * @return the lowercase hexadecimal digest
+     */
+    @NonNull
+    public static String sha256Hex(@NonNull final String... parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        for (int i = 0; i < parts.length; i++) {
+            if (i != 0) {
+                digest.update((byte) 0);
+            }
+            digest.update(String.valueOf(parts[i]).getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] hash = digest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0x0F];
+            hex[i * 2 + 1] = HEX_DIGITS[hash[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+}
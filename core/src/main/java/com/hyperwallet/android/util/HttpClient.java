@@ -17,20 +17,25 @@
  */
 package com.hyperwallet.android.util;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.hyperwallet.android.exception.HyperwalletInvalidRequestPathException;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -45,6 +50,7 @@ public final class HttpClient {
     private static final int DEFAULT_TIMEOUT = 30_000;
 
     private final Map<String, String> mQueryMap;
+    private final Map<String, String> mDefaultHeaderMap;
     private final Map<String, String> mHeaderMap;
     private final HttpURLConnection mHttpUrlConnection;
 
@@ -52,6 +58,7 @@ public final class HttpClient {
      * Construct a {@code HttpClient} object fom {@link HttpClient.Builder}
      */
     private HttpClient(final Builder builder) {
+        mDefaultHeaderMap = builder.mDefaultHeaderMap;
         mHeaderMap = builder.mHeaderMap;
         mQueryMap = builder.mQueryMap;
         mHttpUrlConnection = builder.mHttpUrlConnection;
@@ -68,12 +75,31 @@ public final class HttpClient {
     }
 
     /**
+     * Opens the body of a successful response for the caller to read; closing the reader once the body is read
+     * leaves the underlying connection eligible for reuse.
+     *
+     * @return UTF-8 reader of the response body, or null when there is none
+     * @throws IOException
+     */
+    @Nullable
+    public Reader getResponseReader() throws IOException {
+        InputStream in = mHttpUrlConnection.getInputStream();
+        return in == null ? null : new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the response fully and closes its stream, which leaves the underlying connection eligible for reuse;
+     * the connection is only disconnected when reading the response fails.
+     *
      * @return Serialized string JSON response
      * @throws IOException
      */
     public String getResponse() throws IOException {
         InputStream in = isSuccess(getResponseCode()) ? mHttpUrlConnection.getInputStream()
                 : mHttpUrlConnection.getErrorStream();
+        if (in == null) {
+            return "";
+        }
 
         try {
             ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -83,9 +109,11 @@ public final class HttpClient {
             }
 
             return new String(out.toByteArray(), StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            disconnect();
+            throw e;
         } finally {
             in.close();
-            disconnect();
         }
     }
 
@@ -100,7 +128,12 @@ public final class HttpClient {
      * @return Map of key-value paired HTTP header information
      */
     public Map<String, String> getHeaderMap() {
-        return mHeaderMap;
+        if (mDefaultHeaderMap.isEmpty()) {
+            return mHeaderMap;
+        }
+        Map<String, String> headers = new HashMap<>(mDefaultHeaderMap);
+        headers.putAll(mHeaderMap);
+        return headers;
     }
 
     /**
@@ -153,7 +186,10 @@ public final class HttpClient {
         }
     }
 
-    private void disconnect() {
+    /**
+     * Closes the underlying connection, preventing it from being reused
+     */
+    public void disconnect() {
         if (mHttpUrlConnection != null) {
             mHttpUrlConnection.disconnect();
         }
@@ -171,6 +207,7 @@ public final class HttpClient {
         private final String mBaseUrl;
         private final Map<String, String> mQueryMap;
         private final Map<String, String> mHeaderMap;
+        private Map<String, String> mDefaultHeaderMap;
         private int mConnectTimeout;
         private int mReadTimeout;
 
@@ -185,10 +222,22 @@ public final class HttpClient {
             mBaseUrl = baseUrl;
             mQueryMap = new HashMap<>();
             mHeaderMap = new HashMap<>();
+            mDefaultHeaderMap = Collections.emptyMap();
             mConnectTimeout = DEFAULT_TIMEOUT;
             mReadTimeout = DEFAULT_TIMEOUT;
         }
 
+        /**
+         * Defines the headers sent unless overridden through {@link #putHeaders(Map)}; the map is shared, not
+         * copied, and must not change afterwards
+         *
+         * @param defaultHeaders immutable default headers
+         */
+        public Builder defaultHeaders(final Map<String, String> defaultHeaders) {
+            mDefaultHeaderMap = defaultHeaders;
+            return this;
+        }
+
         public Builder putHeaders(final Map<String, String> headers) {
             mHeaderMap.putAll(headers);
             return this;
@@ -244,14 +293,14 @@ public final class HttpClient {
 
             url.append(buildQuery());
 
-            try {
-                HttpsURLConnection.setDefaultSSLSocketFactory(new Tls12SocketFactory());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-
             URI uri = new URI(url.toString());
             mHttpUrlConnection = (HttpURLConnection) uri.toURL().openConnection();
+            if (mHttpUrlConnection instanceof HttpsURLConnection) {
+                Tls12SocketFactory socketFactory = Tls12SocketFactory.getDefault();
+                if (socketFactory != null) {
+                    ((HttpsURLConnection) mHttpUrlConnection).setSSLSocketFactory(socketFactory);
+                }
+            }
             mHttpUrlConnection.setConnectTimeout(mConnectTimeout);
             mHttpUrlConnection.setReadTimeout(mReadTimeout);
 
@@ -275,11 +324,14 @@ public final class HttpClient {
         }
 
         private void initHeader() {
-            if (!mHeaderMap.isEmpty()) {
-                for (String key : mHeaderMap.keySet()) {
-                    mHttpUrlConnection.setRequestProperty(key, mHeaderMap.get(key));
+            for (Map.Entry<String, String> header : mDefaultHeaderMap.entrySet()) {
+                if (!mHeaderMap.containsKey(header.getKey())) {
+                    mHttpUrlConnection.setRequestProperty(header.getKey(), header.getValue());
                 }
             }
+            for (Map.Entry<String, String> header : mHeaderMap.entrySet()) {
+                mHttpUrlConnection.setRequestProperty(header.getKey(), header.getValue());
+            }
         }
     }
 
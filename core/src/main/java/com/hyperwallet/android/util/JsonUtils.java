@@ -16,20 +16,27 @@
  */
 package com.hyperwallet.android.util;
 
+import android.util.JsonReader;
+import android.util.MalformedJsonException;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import com.hyperwallet.android.model.JsonModel;
 import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.model.paging.PageList;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.lang.reflect.Constructor;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -100,6 +107,8 @@ public final class JsonUtils {
                 jsonObject.put(key, jsonArray);
             } else if (value instanceof Number || value instanceof Boolean) {
                 jsonObject.put(key, value);
+            } else if (value instanceof JsonModel) {
+                jsonObject.put(key, ((JsonModel) value).toJsonObject());
             } else {
                 jsonObject.put(key, value.toString());
             }
@@ -157,7 +166,8 @@ public final class JsonUtils {
      * List&lt;T&gt; where {@code T} is Class&lt;T&gt;
      * </p>&nbsp;
      *
-     * For this formal generator to work all types should follow constructor signature contract of the following:
+     * Types are built by their {@link Deserializers} registration; for this formal generator to work any other
+     * type should follow constructor signature contract of the following:
      * <ul>
      * <li>Type Constructor({@link JSONObject})</li>
      * <li>Type Constructor({@link JSONObject}, {@link Class})</li>
@@ -179,8 +189,7 @@ public final class JsonUtils {
         Class<T> parameterType =
                 (Class<T>) ((ParameterizedType) typeReference.getType()).getActualTypeArguments()[0];
         JSONObject jsonObject = new JSONObject(data);
-        Constructor<T> rawTypeConstructor = rawType.getDeclaredConstructor(JSONObject.class, parameterType.getClass());
-        return rawTypeConstructor.newInstance(jsonObject, parameterType);
+        return Deserializers.newInstance(Deserializers.getParameterized(rawType), jsonObject, parameterType);
     }
 
     /**
@@ -196,7 +205,139 @@ public final class JsonUtils {
             throws JSONException, InvocationTargetException, NoSuchMethodException, InstantiationException,
             IllegalAccessException {
         JSONObject jsonObject = new JSONObject(jsonString);
-        Constructor<T> constructor = fromClass.getDeclaredConstructor(JSONObject.class);
-        return constructor.newInstance(jsonObject);
+        return Deserializers.fromJson(fromClass, jsonObject);
+    }
+
+    /**
+     * Tells whether {@link #fromJsonStream(Reader, TypeReference)} can build the {@code T} of the
+     * {@code typeReference}: a class with a {@link Deserializers.FieldsDeserializer}, or a {@link PageList} of such
+     * class
+     *
+     * @param typeReference Type of class specified by {@code T}
+     * @return {@code true} if the type can be read from a stream; otherwise {@code false}
+     */
+    public static boolean isStreamable(@NonNull final TypeReference<?> typeReference) {
+        return getStreamDeserializer(typeReference.getType()) != null;
+    }
+
+    /**
+     * Streaming deserialization that builds the {@code T} of the {@link TypeReference} while reading the JSON
+     * document, without the intermediate {@code String} and {@link JSONObject} representations
+     *
+     * @param reader        JSON serialized data
+     * @param typeReference Type of class specified by {@code T}; refer to {@link #isStreamable(TypeReference)}
+     * @return the T representation equivalent from JSON data, or null when {@code reader} is empty
+     * @throws IOException   when reading fails
+     * @throws JSONException when the JSON document is malformed or does not match {@code T}
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> T fromJsonStream(@NonNull final Reader reader, @NonNull final TypeReference<T> typeReference)
+            throws IOException, JSONException {
+        Deserializers.FieldsDeserializer<?> deserializer = getStreamDeserializer(typeReference.getType());
+        if (deserializer == null) {
+            throw new IllegalArgumentException("Type can not be read from a stream: " + typeReference.getType());
+        }
+
+        PushbackReader pushbackReader = new PushbackReader(reader);
+        int first = pushbackReader.read();
+        if (first == -1) {
+            return null;
+        }
+        pushbackReader.unread(first);
+
+        JsonReader jsonReader = new JsonReader(pushbackReader);
+        try {
+            if (typeReference.getType() instanceof Class<?>) {
+                return (T) deserializer.fromFields(readObject(jsonReader));
+            }
+            return (T) new PageList<>(jsonReader, deserializer);
+        } catch (IllegalStateException | NumberFormatException | MalformedJsonException e) {
+            throw new JSONException(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the next JSON object of the {@code reader} into a {@code Map<String, Object>}, with the same
+     * representation as {@link #jsonObjectToMap(JSONObject)}
+     *
+     * @param reader JSON reader positioned on an object
+     * @return Map<String, Object> of the object read
+     */
+    @NonNull
+    public static Map<String, Object> readObject(@NonNull final JsonReader reader) throws IOException {
+        Map<String, Object> map = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            map.put(reader.nextName(), readValue(reader));
+        }
+        reader.endObject();
+        return map;
+    }
+
+    /**
+     * Reads the next JSON value of the {@code reader}: objects are read into {@code Map<String, Object>}, arrays
+     * into immutable {@code List<Object>} without their null elements, and numbers into {@link Integer},
+     * {@link Long} or {@link Double}
+     *
+     * @param reader JSON reader positioned on a value
+     * @return the value read, or null for a JSON null
+     */
+    @Nullable
+    public static Object readValue(@NonNull final JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return readObject(reader);
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    Object value = readValue(reader);
+                    if (value != null) {
+                        list.add(value);
+                    }
+                }
+                reader.endArray();
+                return Collections.unmodifiableList(list);
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NUMBER:
+                return toNumber(reader.nextString());
+            case NULL:
+                reader.nextNull();
+                return null;
+            default:
+                return reader.nextString();
+        }
+    }
+
+    @NonNull
+    private static Number toNumber(@NonNull final String number) {
+        if (number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0) {
+            return Double.valueOf(number);
+        }
+        try {
+            long value = Long.parseLong(number);
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            return Double.valueOf(number);
+        }
+    }
+
+    @Nullable
+    private static Deserializers.FieldsDeserializer<?> getStreamDeserializer(@NonNull final Type type) {
+        if (type instanceof Class<?>) {
+            return Deserializers.getFields((Class<?>) type);
+        }
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == PageList.class) {
+            Type parameterType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (parameterType instanceof Class<?>) {
+                return Deserializers.getFields((Class<?>) parameterType);
+            }
+        }
+        return null;
     }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+import androidx.annotation.VisibleForTesting;
+
+import com.hyperwallet.android.exception.HyperwalletInvalidRequestPathException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code KeepAliveTransport} default {@link Transport} that keeps connections to the Hyperwallet platforms alive
+ * between requests
+ *
+ * <p>Responses are fully consumed and their streams closed without disconnecting, which hands the socket back to
+ * the platform {@link java.net.HttpURLConnection} connection pool; consecutive calls to the same host then skip
+ * the TCP and TLS handshakes. The number of concurrent connections per host is capped.</p>
+ *
+ * <p>Pooled sockets are owned by the platform, which also closes them once idle; this transport does not change
+ * the settings of that pool and only forgets the hosts it has not used for longer than the keep alive
+ * duration.</p>
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public final class KeepAliveTransport implements Transport {
+
+    private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 5;
+    private static final long DEFAULT_KEEP_ALIVE_DURATION = TimeUnit.MINUTES.toMillis(5);
+
+    private final int mMaxConnectionsPerHost;
+    private final long mKeepAliveDuration;
+    private final Map<String, Host> mHosts;
+
+    private KeepAliveTransport(@NonNull final Builder builder) {
+        mMaxConnectionsPerHost = builder.mMaxConnectionsPerHost;
+        mKeepAliveDuration = builder.mKeepAliveDuration;
+        mHosts = new HashMap<>();
+    }
+
+    /**
+     * @return process wide {@code KeepAliveTransport} with default settings
+     */
+    @NonNull
+    public static KeepAliveTransport getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Refer to {@link Transport#open(HttpClient.Builder)}
+     *
+     * <p>Blocks while the maximum number of connections to the requested host are in use.</p>
+     */
+    @NonNull
+    @Override
+    public HttpClient open(@NonNull final HttpClient.Builder builder) throws IOException, URISyntaxException,
+            HyperwalletInvalidRequestPathException {
+        HttpClient client = builder.build();
+        Host host = checkOut(hostKey(client));
+        try {
+            host.mPermits.acquire();
+        } catch (InterruptedException e) {
+            checkIn(host, false);
+            client.disconnect();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection");
+        }
+        return client;
+    }
+
+    /**
+     * Refer to {@link Transport#release(HttpClient)}
+     */
+    @Override
+    public void release(@NonNull final HttpClient client) {
+        Host host;
+        synchronized (mHosts) {
+            host = mHosts.get(hostKey(client));
+        }
+        if (host != null) {
+            checkIn(host, true);
+        }
+    }
+
+    /**
+     * @return number of hosts currently tracked by this transport
+     */
+    @VisibleForTesting
+    int getHostCount() {
+        synchronized (mHosts) {
+            return mHosts.size();
+        }
+    }
+
+    private Host checkOut(@NonNull final String key) {
+        synchronized (mHosts) {
+            forgetIdleHosts(now());
+            Host host = mHosts.get(key);
+            if (host == null) {
+                host = new Host(mMaxConnectionsPerHost);
+                mHosts.put(key, host);
+            }
+            host.mInUse++;
+            return host;
+        }
+    }
+
+    private void checkIn(@NonNull final Host host, final boolean releasePermit) {
+        if (releasePermit) {
+            host.mPermits.release();
+        }
+        synchronized (mHosts) {
+            host.mInUse--;
+            if (host.mInUse == 0) {
+                host.mIdleSince = now();
+            }
+        }
+    }
+
+    private void forgetIdleHosts(final long now) {
+        Iterator<Host> iterator = mHosts.values().iterator();
+        while (iterator.hasNext()) {
+            Host host = iterator.next();
+            if (host.mInUse == 0 && now - host.mIdleSince >= mKeepAliveDuration) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String hostKey(@NonNull final HttpClient client) {
+        URL url = client.getHttpUrlConnection().getURL();
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        return url.getProtocol() + "://" + url.getHost() + ":" + port;
+    }
+
+    private static long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private static final class DefaultHolder {
+        private static final KeepAliveTransport INSTANCE = new Builder().build();
+    }
+
+    private static final class Host {
+        private final Semaphore mPermits;
+        private int mInUse;
+        private long mIdleSince;
+
+        Host(final int maxConnections) {
+            mPermits = new Semaphore(maxConnections, true);
+        }
+    }
+
+    /**
+     * Builder for {@link KeepAliveTransport}
+     */
+    public static final class Builder {
+
+        private int mMaxConnectionsPerHost = DEFAULT_MAX_CONNECTIONS_PER_HOST;
+        private long mKeepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+
+        /**
+         * Defines the maximum number of concurrent connections opened to a single host
+         *
+         * <p>The default value is 5 connections<p/>
+         *
+         * @param maxConnectionsPerHost maximum connections; must be greater than zero
+         */
+        public Builder maxConnectionsPerHost(final int maxConnectionsPerHost) {
+            if (maxConnectionsPerHost <= 0) {
+                throw new IllegalArgumentException("max connections per host must be greater than zero");
+            }
+            mMaxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * Defines how long in milliseconds the bookkeeping of a host is kept once none of its connections is in use
+         *
+         * <p>The default value is 5 minutes<p/>
+         *
+         * @param milliseconds keep alive duration; can not be negative
+         */
+        public Builder keepAliveDuration(final long milliseconds) {
+            if (milliseconds < 0) {
+                throw new IllegalArgumentException("keep alive duration can not be negative");
+            }
+            mKeepAliveDuration = milliseconds;
+            return this;
+        }
+
+        public KeepAliveTransport build() {
+            return new KeepAliveTransport(this);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.hyperwallet.android.util;
 
+import androidx.annotation.Nullable;
+
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.Socket;
@@ -8,19 +10,50 @@ import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 
 public class Tls12SocketFactory extends SSLSocketFactory {
 
+    private static final int SESSION_CACHE_SIZE = 64;
+    private static volatile Tls12SocketFactory sDefault;
+
     private SSLSocketFactory internalSSLSocketFactory;
 
     public Tls12SocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
         SSLContext context = SSLContext.getInstance("TLS");
         context.init(null, null, null);
+        SSLSessionContext sessionContext = context.getClientSessionContext();
+        if (sessionContext != null) {
+            sessionContext.setSessionCacheSize(SESSION_CACHE_SIZE);
+        }
         internalSSLSocketFactory = context.getSocketFactory();
     }
 
+    /**
+     * Returns the process wide {@code Tls12SocketFactory}, creating it on first use. Sharing a single factory
+     * keeps one {@link SSLContext} and its client session cache, so that TLS sessions can be resumed across
+     * connections and pooled connections are recognized as reusable.
+     *
+     * @return shared {@code Tls12SocketFactory} or null when TLS is not available on this platform
+     */
+    @Nullable
+    public static Tls12SocketFactory getDefault() {
+        if (sDefault == null) {
+            synchronized (Tls12SocketFactory.class) {
+                if (sDefault == null) {
+                    try {
+                        sDefault = new Tls12SocketFactory();
+                    } catch (KeyManagementException | NoSuchAlgorithmException e) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return sDefault;
+    }
+
     @Override
     public String[] getDefaultCipherSuites() {
         return internalSSLSocketFactory.getDefaultCipherSuites();
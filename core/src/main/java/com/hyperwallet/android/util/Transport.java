@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Hyperwallet
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of
+ * the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO
+ * THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF
+ * CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ * IN THE SOFTWARE.
+ */
+package com.hyperwallet.android.util;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+import com.hyperwallet.android.exception.HyperwalletInvalidRequestPathException;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+/**
+ * {@code Transport} opens and recycles the {@link HttpClient} connections used to reach the Hyperwallet platforms
+ *
+ * <p>Every {@link HttpClient} obtained through {@link #open(HttpClient.Builder)} must be handed back through
+ * {@link #release(HttpClient)} once its response was consumed, so that the underlying connection can be reused
+ * by subsequent requests.</p>
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public interface Transport {
+
+    /**
+     * Opens a {@link HttpClient} for the request described by the {@code builder}
+     *
+     * @param builder request information; refer to {@link HttpClient.Builder}
+     * @return {@link HttpClient} ready to perform the request
+     * @throws IOException when a connection could not be opened
+     * @throws URISyntaxException when the request URI is malformed
+     */
+    @NonNull
+    HttpClient open(@NonNull HttpClient.Builder builder) throws IOException, URISyntaxException,
+            HyperwalletInvalidRequestPathException;
+
+    /**
+     * Returns the {@code client} to this transport once the request has completed, successfully or not
+     *
+     * @param client {@link HttpClient} previously opened by this transport
+     */
+    void release(@NonNull HttpClient client);
+}
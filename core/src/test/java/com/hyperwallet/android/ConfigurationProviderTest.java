@@ -0,0 +1,247 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletAuthenticationTokenProviderException;
+import com.hyperwallet.android.util.MockShadowSystemClock;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = {MockShadowSystemClock.class})
+public class ConfigurationProviderTest {
+
+    private static final String JWT_TOKEN = "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9."
+            + "eyJzdWIiOiJ0ZXN0LXVzZXItdG9rZW4iLCJpYXQiOjI1NDgzNjg2ODYsImV4cCI6MjU0ODM2OTI4NiwiYXVkIjoidGVzdC1"
+            + "jbGllbnQtdG9rZW4iLCJpc3MiOiJ0ZXN0LXByb2dyYW0tdG9rZW4iLCJyZXN0LXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0Oj"
+            + "gxODEvcmVzdC92My8iLCJncmFwaHFsLXVyaSI6Imh0dHBzOi8vbG9jYWxob3N0OjgxODEvZ3JhcGhxbCJ9"
+            + ".3GSVpYoqVMx4hXyZrlaj_wjJWAQLCX5ivRqvtybKV76cmnWxWfnoZEr0-4ipMH_aY8GTBCDzsgab3NREGkgjSg";
+
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+    @Mock
+    private HyperwalletAuthenticationTokenProvider mAuthenticationTokenProvider;
+    @Mock
+    private ConfigurationProvider.Callback mFirstCallback;
+    @Mock
+    private ConfigurationProvider.Callback mSecondCallback;
+    @Captor
+    private ArgumentCaptor<HyperwalletAuthenticationTokenListener> mTokenListenerCaptor;
+    @Captor
+    private ArgumentCaptor<Configuration> mConfigurationCaptor;
+    @Captor
+    private ArgumentCaptor<Exception> mExceptionCaptor;
+
+    private ConfigurationProvider mConfigurationProvider;
+
+    @Before
+    public void setUp() {
+        mConfigurationProvider = new ConfigurationProvider(mAuthenticationTokenProvider);
+    }
+
+    @After
+    public void tearDown() {
+        mConfigurationProvider.setRenewalEnabled(false);
+    }
+
+    @Test
+    public void testGet_concurrentCallsShareSingleRefresh() {
+        mConfigurationProvider.get(mFirstCallback);
+        mConfigurationProvider.get(mSecondCallback);
+
+        verify(mAuthenticationTokenProvider, times(1)).retrieveAuthenticationToken(mTokenListenerCaptor.capture());
+        verify(mFirstCallback, never()).onSuccess(any(Configuration.class));
+        verify(mSecondCallback, never()).onSuccess(any(Configuration.class));
+
+        mTokenListenerCaptor.getValue().onSuccess(JWT_TOKEN);
+
+        verify(mFirstCallback).onSuccess(mConfigurationCaptor.capture());
+        verify(mSecondCallback).onSuccess(mConfigurationCaptor.getValue());
+        assertThat(mConfigurationCaptor.getValue().getAuthenticationToken(), is(JWT_TOKEN));
+        assertThat(mConfigurationProvider.getCurrent(), is(sameInstance(mConfigurationCaptor.getValue())));
+    }
+
+    @Test
+    public void testGet_validConfigurationSkipsRefresh() {
+        mConfigurationProvider.get(mFirstCallback);
+        verify(mAuthenticationTokenProvider).retrieveAuthenticationToken(mTokenListenerCaptor.capture());
+        mTokenListenerCaptor.getValue().onSuccess(JWT_TOKEN);
+
+        mConfigurationProvider.get(mSecondCallback);
+
+        verify(mAuthenticationTokenProvider, times(1)).retrieveAuthenticationToken(
+                any(HyperwalletAuthenticationTokenListener.class));
+        verify(mSecondCallback).onSuccess(mConfigurationProvider.getCurrent());
+    }
+
+    @Test
+    public void testGet_tokenProviderFailureReleasesQueuedCallbacks() {
+        mConfigurationProvider.get(mFirstCallback);
+        mConfigurationProvider.get(mSecondCallback);
+        verify(mAuthenticationTokenProvider).retrieveAuthenticationToken(mTokenListenerCaptor.capture());
+
+        mTokenListenerCaptor.getValue().onFailure(UUID.randomUUID(), "Error in authentication");
+
+        verify(mFirstCallback).onFailure(mExceptionCaptor.capture());
+        verify(mSecondCallback).onFailure(any(HyperwalletAuthenticationTokenProviderException.class));
+        assertThat(mExceptionCaptor.getValue(), is(instanceOf(HyperwalletAuthenticationTokenProviderException.class)));
+        assertThat(mConfigurationProvider.getCurrent(), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_tokenProviderThrowingReleasesCallbackAndAllowsRetry() {
+        IllegalStateException failure = new IllegalStateException("provider failure");
+        doThrow(failure).when(mAuthenticationTokenProvider).retrieveAuthenticationToken(
+                any(HyperwalletAuthenticationTokenListener.class));
+
+        mConfigurationProvider.get(mFirstCallback);
+        mConfigurationProvider.get(mSecondCallback);
+
+        verify(mFirstCallback).onFailure(failure);
+        verify(mSecondCallback).onFailure(failure);
+        verify(mAuthenticationTokenProvider, times(2)).retrieveAuthenticationToken(
+                any(HyperwalletAuthenticationTokenListener.class));
+    }
+
+    @Test
+    public void testGet_throwingCallbackDoesNotPreventOtherCallbacks() {
+        mConfigurationProvider.get(mFirstCallback);
+        mConfigurationProvider.get(mSecondCallback);
+        verify(mAuthenticationTokenProvider).retrieveAuthenticationToken(mTokenListenerCaptor.capture());
+        doThrow(new IllegalStateException("callback failure")).when(mFirstCallback).onSuccess(
+                any(Configuration.class));
+
+        try {
+            mTokenListenerCaptor.getValue().onSuccess(JWT_TOKEN);
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is("callback failure"));
+        }
+
+        verify(mSecondCallback).onSuccess(any(Configuration.class));
+        assertThat(mConfigurationProvider.getCurrent(), is(notNullValue()));
+    }
+
+    @Test
+    public void testGet_throwingCallbackOfSynchronousProviderIsRethrown() {
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                invocation.<HyperwalletAuthenticationTokenListener>getArgument(0).onSuccess(JWT_TOKEN);
+                return null;
+            }
+        }).when(mAuthenticationTokenProvider).retrieveAuthenticationToken(
+                any(HyperwalletAuthenticationTokenListener.class));
+        IllegalStateException failure = new IllegalStateException("callback failure");
+        doThrow(failure).when(mFirstCallback).onSuccess(any(Configuration.class));
+
+        try {
+            mConfigurationProvider.get(mFirstCallback);
+            throw new AssertionError("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+            assertThat(e, is(sameInstance(failure)));
+        }
+
+        verify(mFirstCallback, never()).onFailure(any(Exception.class));
+        assertThat(mConfigurationProvider.getCurrent(), is(notNullValue()));
+        mConfigurationProvider.refresh(mSecondCallback);
+        verify(mSecondCallback).onSuccess(any(Configuration.class));
+    }
+
+    @Test
+    public void testGet_invalidTokenReleasesQueuedCallbacks() {
+        mConfigurationProvider.get(mFirstCallback);
+        verify(mAuthenticationTokenProvider).retrieveAuthenticationToken(mTokenListenerCaptor.capture());
+
+        mTokenListenerCaptor.getValue().onSuccess("invalid-token");
+
+        verify(mFirstCallback).onFailure(mExceptionCaptor.capture());
+        assertThat(mExceptionCaptor.getValue(), is(notNullValue()));
+
+        mConfigurationProvider.get(mSecondCallback);
+        verify(mAuthenticationTokenProvider, times(2)).retrieveAuthenticationToken(
+                any(HyperwalletAuthenticationTokenListener.class));
+    }
+
+    @Test
+    public void testGetRenewalDelay_renewsAheadOfExpiry() throws Exception {
+        Configuration configuration = new Configuration(JWT_TOKEN);
+
+        assertThat(ConfigurationProvider.getRenewalDelay(configuration, 0L), is(540000L));
+    }
+
+    @Test
+    public void testGetRenewalDelay_closeToExpiryRenewsAtHalfRemainingLifespan() throws Exception {
+        Configuration configuration = new Configuration(JWT_TOKEN);
+
+        assertThat(ConfigurationProvider.getRenewalDelay(configuration, 560000L), is(20000L));
+    }
+
+    @Test
+    public void testGetRenewalDelay_expiredTokenRenewsAfterMinimumDelay() throws Exception {
+        Configuration configuration = new Configuration(JWT_TOKEN);
+
+        assertThat(ConfigurationProvider.getRenewalDelay(configuration, 590000L),
+                is(ConfigurationProvider.MIN_RENEWAL_DELAY));
+        assertThat(ConfigurationProvider.getRenewalDelay(configuration, 700000L),
+                is(ConfigurationProvider.MIN_RENEWAL_DELAY));
+    }
+
+    @Test
+    public void testRefresh_sameTokenStopsBackgroundRenewal() {
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                invocation.<HyperwalletAuthenticationTokenListener>getArgument(0).onSuccess(JWT_TOKEN);
+                return null;
+            }
+        }).when(mAuthenticationTokenProvider).retrieveAuthenticationToken(
+                any(HyperwalletAuthenticationTokenListener.class));
+        mConfigurationProvider.setRenewalEnabled(true);
+        mConfigurationProvider.get(mFirstCallback);
+        assertThat(mConfigurationProvider.isRenewalScheduled(), is(true));
+
+        mConfigurationProvider.refresh(mSecondCallback);
+
+        verify(mSecondCallback).onSuccess(any(Configuration.class));
+        assertThat(mConfigurationProvider.isRenewalScheduled(), is(false));
+        verify(mAuthenticationTokenProvider, times(2)).retrieveAuthenticationToken(
+                any(HyperwalletAuthenticationTokenListener.class));
+    }
+
+    @Test
+    public void testSetRenewalEnabled_disabledByDefault() {
+        assertThat(mConfigurationProvider.isRenewalEnabled(), is(false));
+
+        mConfigurationProvider.setRenewalEnabled(true);
+        assertThat(mConfigurationProvider.isRenewalEnabled(), is(true));
+
+        mConfigurationProvider.setRenewalEnabled(false);
+        assertThat(mConfigurationProvider.isRenewalEnabled(), is(false));
+    }
+}
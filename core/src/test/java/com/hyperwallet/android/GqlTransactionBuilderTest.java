@@ -9,17 +9,22 @@ import static com.hyperwallet.android.util.HttpMethod.POST;
 import com.hyperwallet.android.listener.HyperwalletListener;
 import com.hyperwallet.android.model.TypeReference;
 import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationKey;
+import com.hyperwallet.android.model.graphql.query.GqlQuery;
 import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationKeysQuery;
 import com.hyperwallet.android.rule.ExternalResourceManager;
 
+import org.json.JSONObject;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
 
 import java.util.Map;
 
+@RunWith(RobolectricTestRunner.class)
 public class GqlTransactionBuilderTest {
 
     @Rule
@@ -32,7 +37,7 @@ public class GqlTransactionBuilderTest {
     private HyperwalletListener<HyperwalletTransferMethodConfigurationKey> mListener;
 
     @Test
-    public void testBuild_withRequiredParametersOnly() {
+    public void testBuild_withRequiredParametersOnly() throws Exception {
         TransferMethodConfigurationKeysQuery keysQuery =
                 new TransferMethodConfigurationKeysQuery();
 
@@ -52,8 +57,8 @@ public class GqlTransactionBuilderTest {
         assertThat(headers.get("Content-Type"), is("application/json"));
         assertThat(headers.get("Authorization"), is("Bearer eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9"));
 
-        final String QUERY_VALUE = "query {\n"
-                + "\tcountries(idToken: \"test-user-token\") {\n"
+        final String QUERY_VALUE = "query QueryCountries($idToken: String!) {\n"
+                + "\tcountries(idToken: $idToken) {\n"
                 + "\t\tnodes {\n"
                 + "\t\t\tcode\n"
                 + "\t\t\tname\n"
@@ -68,6 +73,25 @@ public class GqlTransactionBuilderTest {
                 + "\t}\n"
                 + "}";
 
-        assertThat(gqlTransaction.getPayload(), is(QUERY_VALUE));
+        JSONObject payload = new JSONObject(gqlTransaction.getPayload());
+        assertThat(payload.getString("query"), is(QUERY_VALUE));
+        assertThat(payload.getJSONObject("variables").getString("idToken"), is("test-user-token"));
+    }
+
+    @Test
+    public void testBuild_formattedQuery() {
+        GqlQuery query = new GqlQuery() {
+            @Override
+            public String toQuery(String userToken) {
+                return "query { countries(idToken: \"" + userToken + "\") { nodes { code } } }";
+            }
+        };
+
+        GqlTransaction gqlTransaction = new GqlTransaction.Builder<>(query,
+                new TypeReference<HyperwalletTransferMethodConfigurationKey>() {
+                }, mListener).build("test", "test-user-token", "eyJ0eXAiOiJKV1QiLCJhbGciOiJIUzUxMiJ9");
+
+        assertThat(gqlTransaction.getPayload(),
+                is("query { countries(idToken: \"test-user-token\") { nodes { code } } }"));
     }
 }
@@ -0,0 +1,245 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.balance.Balance;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class HyperwalletFutureTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<Object> mListener;
+
+    @Test
+    public void testGet_returnsResult() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+
+        HyperwalletFuture<User> future = HyperwalletFuture.of(getUser());
+        User user = future.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+        assertThat(future.isDone(), is(true));
+        assertThat(user.getToken(), is("test-user-token"));
+    }
+
+    @Test
+    public void testGet_failedRequestThrowsExecutionException() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContentError("system_error_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_INTERNAL_ERROR).withBody(responseBody)
+                .mock();
+
+        HyperwalletFuture<User> future = HyperwalletFuture.of(getUser());
+        try {
+            future.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            throw new AssertionError("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(HyperwalletException.class)));
+        }
+    }
+
+    @Test
+    public void testAllOf_completesOnceEveryRequestSucceeded() throws Exception {
+        final String userBody = mExternalResourceManager.getResourceContent("user_response.json");
+        final String balancesBody = mExternalResourceManager.getResourceContent("balance_list_response.json");
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().contains("/balances") ? balancesBody : userBody;
+                return new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(body);
+            }
+        });
+
+        HyperwalletFuture<User> user = HyperwalletFuture.of(getUser());
+        HyperwalletFuture<PageList<Balance>> balances = HyperwalletFuture.of(
+                new HyperwalletFuture.Call<PageList<Balance>>() {
+                    @Override
+                    public HyperwalletRequest execute(HyperwalletListener<PageList<Balance>> listener) {
+                        return Hyperwallet.getDefault().listUserBalances(null, listener);
+                    }
+                });
+        HyperwalletFuture.allOf(user, balances).whenComplete(mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(isNull());
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(user.isDone(), is(true));
+        assertThat(balances.isDone(), is(true));
+        assertThat(user.get().getToken(), is("test-user-token"));
+        assertThat(balances.get().getDataList(), is(notNullValue()));
+    }
+
+    @Test
+    public void testCancel_skipsListenersAndThrowsCancellationException() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(responseBody)
+                .setHeadersDelay(AWAIT_TIMEOUT_MILLIS / 2, TimeUnit.MILLISECONDS));
+
+        HyperwalletFuture<User> future = HyperwalletFuture.of(getUser()).whenComplete(mListener);
+        assertThat(future.cancel(true), is(true));
+
+        assertThat(future.isCancelled(), is(true));
+        assertThat(future.isDone(), is(true));
+        verify(mListener, after(AWAIT_TIMEOUT_MILLIS).never()).onSuccess(any());
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        try {
+            future.get();
+            throw new AssertionError("CancellationException expected");
+        } catch (CancellationException e) {
+            assertThat(future.cancel(true), is(false));
+        }
+    }
+
+    @Test
+    public void testAllOf_cancelledDependencyCancelsCombinedFuture() throws Exception {
+        HyperwalletFuture<Object> cancelled = HyperwalletFuture.of(pending());
+        HyperwalletFuture<Object> running = HyperwalletFuture.of(pending());
+        HyperwalletFuture<Void> combined = HyperwalletFuture.allOf(cancelled, running).whenComplete(mListener);
+
+        cancelled.cancel(true);
+
+        assertThat(combined.isCancelled(), is(true));
+        assertThat(combined.isDone(), is(true));
+        assertThat(running.isCancelled(), is(false));
+        verify(mListener, never()).onSuccess(any());
+        try {
+            combined.get();
+            throw new AssertionError("CancellationException expected");
+        } catch (CancellationException e) {
+            assertThat(HyperwalletFuture.allOf(cancelled).isCancelled(), is(true));
+        }
+    }
+
+    @Test
+    public void testThenCompose_startsDependentRequestWithResult() throws Exception {
+        final String userBody = mExternalResourceManager.getResourceContent("user_response.json");
+        final String balancesBody = mExternalResourceManager.getResourceContent("balance_list_response.json");
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().contains("/balances") ? balancesBody : userBody;
+                return new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(body);
+            }
+        });
+
+        HyperwalletFuture<Integer> balanceCount = HyperwalletFuture.of(getUser()).thenCompose(
+                new HyperwalletFuture.Function<User, HyperwalletFuture<PageList<Balance>>>() {
+                    @Override
+                    public HyperwalletFuture<PageList<Balance>> apply(final User user) {
+                        assertThat(user.getToken(), is("test-user-token"));
+                        return HyperwalletFuture.of(new HyperwalletFuture.Call<PageList<Balance>>() {
+                            @Override
+                            public HyperwalletRequest execute(HyperwalletListener<PageList<Balance>> listener) {
+                                return Hyperwallet.getDefault().listUserBalances(null, listener);
+                            }
+                        });
+                    }
+                }).thenApply(new HyperwalletFuture.Function<PageList<Balance>, Integer>() {
+                    @Override
+                    public Integer apply(final PageList<Balance> balances) {
+                        return balances.getDataList().size();
+                    }
+                });
+
+        assertThat(balanceCount.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS) > 0, is(true));
+        assertThat(mServer.getServer().getRequestCount(), is(2));
+    }
+
+    @Test
+    public void testThenApply_throwingFunctionFailsFuture() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+
+        HyperwalletFuture<String> future = HyperwalletFuture.of(getUser()).thenApply(
+                new HyperwalletFuture.Function<User, String>() {
+                    @Override
+                    public String apply(final User user) {
+                        throw new IllegalStateException("mapping failure");
+                    }
+                });
+
+        try {
+            future.get(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            throw new AssertionError("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause().getCause().getMessage(), is("mapping failure"));
+        }
+    }
+
+    @Test
+    public void testThenCompose_cancelledSourceCancelsDependentFuture() {
+        HyperwalletFuture<Object> source = HyperwalletFuture.of(pending());
+        HyperwalletFuture<Object> dependent = source.thenCompose(
+                new HyperwalletFuture.Function<Object, HyperwalletFuture<Object>>() {
+                    @Override
+                    public HyperwalletFuture<Object> apply(final Object result) {
+                        return HyperwalletFuture.of(pending());
+                    }
+                }).whenComplete(mListener);
+
+        source.cancel(true);
+
+        assertThat(dependent.isCancelled(), is(true));
+        verify(mListener, never()).onSuccess(any());
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    private HyperwalletFuture.Call<Object> pending() {
+        return new HyperwalletFuture.Call<Object>() {
+            @Override
+            public HyperwalletRequest execute(HyperwalletListener<Object> listener) {
+                return mock(HyperwalletRequest.class);
+            }
+        };
+    }
+
+    private HyperwalletFuture.Call<User> getUser() {
+        return new HyperwalletFuture.Call<User>() {
+            @Override
+            public HyperwalletRequest execute(HyperwalletListener<User> listener) {
+                return Hyperwallet.getDefault().getUser(listener);
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import static com.hyperwallet.android.model.transfermethod.TransferMethod.TransferMethodTypes.BANK_ACCOUNT;
+import static com.hyperwallet.android.model.user.User.ProfileTypes.INDIVIDUAL;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.exception.HyperwalletGqlException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationField;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationKey;
+import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationFieldQuery;
+import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationKeysQuery;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+import java.util.Iterator;
+
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class HyperwalletGqlBatchTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<HyperwalletTransferMethodConfigurationKey> mKeyListener;
+    @Mock
+    private HyperwalletListener<HyperwalletTransferMethodConfigurationField> mFieldListener;
+    @Captor
+    private ArgumentCaptor<HyperwalletTransferMethodConfigurationKey> mKeyCaptor;
+    @Captor
+    private ArgumentCaptor<HyperwalletException> mExceptionCaptor;
+
+    @Test
+    public void testExecute_deliversEveryResponseFromOneRequest() throws Exception {
+        JSONObject data = new JSONObject();
+        alias(data, "q0_", mExternalResourceManager.getResourceContent("tmc_get_keys_response.json"));
+        alias(data, "q1_", mExternalResourceManager.getResourceContent("tmc_get_fields_response.json"));
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK)
+                .withBody(new JSONObject().put("data", data).toString()).mock();
+
+        Hyperwallet.getDefault().newGqlBatch()
+                .retrieveTransferMethodConfigurationKeys(new TransferMethodConfigurationKeysQuery(), mKeyListener)
+                .retrieveTransferMethodConfigurationFields(
+                        new TransferMethodConfigurationFieldQuery("US", "USD", BANK_ACCOUNT, INDIVIDUAL),
+                        mFieldListener)
+                .execute();
+
+        verify(mKeyListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mKeyCaptor.capture());
+        verify(mFieldListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationField.class));
+        verify(mKeyListener, never()).onFailure(any(HyperwalletException.class));
+        verify(mFieldListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mKeyCaptor.getValue().getCountries(), hasSize(2));
+
+        RecordedRequest recordedRequest = mServer.getRequest();
+        assertThat(recordedRequest.getPath(), is("/graphql/"));
+        assertThat(recordedRequest.getBody().readUtf8(), containsString("q1_transferMethodCreateUIConfigurations"));
+        assertThat(mServer.getServer().getRequestCount(), is(1));
+    }
+
+    @Test
+    public void testExecute_failedRequestIsDeliveredToEveryListener() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContentError("gql_error_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_BAD_REQUEST).withBody(responseBody).mock();
+
+        Hyperwallet.getDefault().newGqlBatch()
+                .retrieveTransferMethodConfigurationKeys(new TransferMethodConfigurationKeysQuery(), mKeyListener)
+                .retrieveTransferMethodConfigurationFields(
+                        new TransferMethodConfigurationFieldQuery("US", "USD", BANK_ACCOUNT, INDIVIDUAL),
+                        mFieldListener)
+                .execute();
+
+        verify(mKeyListener, timeout(AWAIT_TIMEOUT_MILLIS)).onFailure(mExceptionCaptor.capture());
+        verify(mFieldListener, timeout(AWAIT_TIMEOUT_MILLIS)).onFailure(any(HyperwalletException.class));
+        verify(mKeyListener, never()).onSuccess(any(HyperwalletTransferMethodConfigurationKey.class));
+        assertThat(mExceptionCaptor.getValue() instanceof HyperwalletGqlException, is(true));
+    }
+
+    private static void alias(JSONObject data, String alias, String response) throws Exception {
+        JSONObject queryData = new JSONObject(response).getJSONObject("data");
+        Iterator<String> keys = queryData.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            data.put(alias + key, queryData.get(key));
+        }
+    }
+}
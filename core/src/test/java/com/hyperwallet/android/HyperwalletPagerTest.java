@@ -0,0 +1,249 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.listener.HyperwalletPageListener;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.transfermethod.BankAccount;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class HyperwalletPagerTest {
+
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+    @Mock
+    private HyperwalletListener<List<BankAccount>> mListener;
+    @Mock
+    private HyperwalletPageListener<BankAccount> mPageListener;
+    @Captor
+    private ArgumentCaptor<List<BankAccount>> mItemsCaptor;
+
+    private final TransactionExecutor mExecutor = new TransactionExecutor(
+            new ExecutorConfiguration.Builder().build());
+    private final FakePageCall mPageCall = new FakePageCall();
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdown();
+    }
+
+    @Test
+    public void testLoadNext_prefetchesFollowingPageUpToCount() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).limit(10).build();
+
+        pager.loadNext(mListener);
+        assertThat(mPageCall.mOffsets, contains(0));
+        mPageCall.complete(0, page(0, 10, 25, false));
+        assertThat(mPageCall.mOffsets, contains(0, 10));
+
+        verify(mListener).onSuccess(mItemsCaptor.capture());
+        assertThat(mItemsCaptor.getValue(), hasSize(10));
+        assertThat(mItemsCaptor.getValue().get(0).getField("token"), is("trm-0"));
+
+        mPageCall.complete(1, page(10, 10, 25, false));
+        pager.loadNext(mListener);
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20));
+        mPageCall.complete(2, page(20, 5, 25, false));
+        pager.loadNext(mListener);
+        assertThat(pager.hasNext(), is(false));
+        pager.loadNext(mListener);
+
+        verify(mListener, times(4)).onSuccess(mItemsCaptor.capture());
+        List<List<BankAccount>> pages = mItemsCaptor.getAllValues();
+        assertThat(pages.get(pages.size() - 3), hasSize(10));
+        assertThat(pages.get(pages.size() - 2), hasSize(5));
+        assertThat(pages.get(pages.size() - 2).get(0).getField("token"), is("trm-20"));
+        assertThat(pages.get(pages.size() - 1), hasSize(0));
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20));
+    }
+
+    @Test
+    public void testLoadNext_followsNextLinkWithoutCount() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).limit(2)
+                .maxPagesInFlight(1).build();
+
+        pager.loadNext(mListener);
+        mPageCall.complete(0, page(0, 2, 0, true));
+        pager.loadNext(mListener);
+        assertThat(mPageCall.mOffsets, contains(0, 2));
+        mPageCall.complete(1, page(2, 2, 0, false));
+
+        assertThat(pager.hasNext(), is(false));
+        assertThat(mPageCall.mOffsets, contains(0, 2));
+    }
+
+    @Test
+    public void testLoadNext_failedPageIsRequestedAgain() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).build();
+
+        pager.loadNext(mListener);
+        mPageCall.mListeners.get(0).onFailure(new HyperwalletException(new IllegalStateException()));
+        verify(mListener).onFailure(any(HyperwalletException.class));
+        verify(mListener, never()).onSuccess(ArgumentMatchers.<List<BankAccount>>any());
+
+        pager.loadNext(mListener);
+        assertThat(mPageCall.mOffsets, contains(0, 0));
+        mPageCall.complete(1, page(0, 3, 3, false));
+
+        verify(mListener).onSuccess(mItemsCaptor.capture());
+        assertThat(mItemsCaptor.getValue(), hasSize(3));
+    }
+
+    @Test
+    public void testLoadNext_failedPageIsNotRequestedBeforeNextCall() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).limit(10)
+                .maxPagesInFlight(3).build();
+        pager.loadNext(mListener);
+        mPageCall.complete(0, page(0, 10, 35, false));
+        pager.loadNext(mListener);
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20, 30));
+
+        mPageCall.mListeners.get(1).onFailure(new HyperwalletException(new IllegalStateException()));
+
+        verify(mListener).onFailure(any(HyperwalletException.class));
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20, 30));
+        pager.loadNext(mListener);
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20, 30, 10, 20, 30));
+    }
+
+    @Test
+    public void testLoadAll_fetchesRemainingPagesConcurrentlyAndDeliversInOrder() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).limit(10)
+                .maxPagesInFlight(3).build();
+
+        pager.loadAll(mPageListener);
+        mPageCall.complete(0, page(0, 10, 35, false));
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20, 30));
+
+        mPageCall.complete(3, page(30, 5, 35, false));
+        mPageCall.complete(2, page(20, 10, 35, false));
+        verify(mPageListener, times(1)).onPage(ArgumentMatchers.<List<BankAccount>>any());
+        mPageCall.complete(1, page(10, 10, 35, false));
+
+        InOrder inOrder = inOrder(mPageListener);
+        inOrder.verify(mPageListener, times(4)).onPage(mItemsCaptor.capture());
+        inOrder.verify(mPageListener).onSuccess(mItemsCaptor.capture());
+        List<List<BankAccount>> pages = mItemsCaptor.getAllValues();
+        assertThat(pages.get(1).get(0).getField("token"), is("trm-10"));
+        assertThat(pages.get(2).get(0).getField("token"), is("trm-20"));
+        assertThat(pages.get(3).get(0).getField("token"), is("trm-30"));
+        assertThat(pages.get(4), hasSize(35));
+        assertThat(pages.get(4).get(34).getField("token"), is("trm-34"));
+        verify(mPageListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    @Test
+    public void testLoadAll_failedPageCancelsPagesInFlight() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).limit(10)
+                .maxPagesInFlight(3).build();
+        pager.loadAll(mPageListener);
+        mPageCall.complete(0, page(0, 10, 35, false));
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20, 30));
+
+        mPageCall.mListeners.get(1).onFailure(new HyperwalletException(new IllegalStateException()));
+
+        verify(mPageListener).onFailure(any(HyperwalletException.class));
+        assertThat(pager.hasNext(), is(false));
+        assertThat(mPageCall.mOffsets, contains(0, 10, 20, 30));
+        mPageCall.complete(2, page(20, 10, 35, false));
+        verify(mPageListener, times(1)).onPage(ArgumentMatchers.<List<BankAccount>>any());
+        verify(mPageListener, never()).onSuccess(ArgumentMatchers.<List<BankAccount>>any());
+    }
+
+    @Test
+    public void testLoadAll_failingPageListenerCancelsPagerAndReportsFailure() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).limit(10)
+                .maxPagesInFlight(3).build();
+        doThrow(new IllegalStateException("storage failure")).when(mPageListener)
+                .onPage(ArgumentMatchers.<List<BankAccount>>any());
+
+        pager.loadAll(mPageListener);
+        mPageCall.complete(0, page(0, 10, 35, false));
+
+        ArgumentCaptor<HyperwalletException> exceptionCaptor = ArgumentCaptor.forClass(HyperwalletException.class);
+        verify(mPageListener).onFailure(exceptionCaptor.capture());
+        assertThat(exceptionCaptor.getValue().getCause().getMessage(), is("storage failure"));
+        assertThat(pager.hasNext(), is(false));
+        mPageCall.complete(1, page(10, 10, 35, false));
+        verify(mPageListener, times(1)).onPage(ArgumentMatchers.<List<BankAccount>>any());
+        verify(mPageListener, never()).onSuccess(ArgumentMatchers.<List<BankAccount>>any());
+    }
+
+    @Test
+    public void testCancel_skipsPendingListener() throws Exception {
+        HyperwalletPager<BankAccount> pager = new HyperwalletPager.Builder<>(mPageCall).build();
+
+        pager.loadNext(mListener);
+        pager.cancel();
+        mPageCall.complete(0, page(0, 3, 3, false));
+
+        assertThat(pager.hasNext(), is(false));
+        verify(mListener, never()).onSuccess(ArgumentMatchers.<List<BankAccount>>any());
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    private static PageList<BankAccount> page(final int offset, final int size, final int count,
+            final boolean hasNext) throws Exception {
+        JSONArray data = new JSONArray();
+        for (int i = 0; i < size; i++) {
+            data.put(new JSONObject().put("token", "trm-" + (offset + i)));
+        }
+        JSONArray links = new JSONArray().put(new JSONObject().put("href", "self")
+                .put("params", new JSONObject().put("rel", "self")));
+        if (hasNext) {
+            links.put(new JSONObject().put("href", "next").put("params", new JSONObject().put("rel", "next")));
+        }
+        JSONObject page = new JSONObject().put("offset", offset).put("data", data).put("links", links);
+        if (count > 0) {
+            page.put("count", count);
+        }
+        return new PageList<>(page, BankAccount.class);
+    }
+
+    private class FakePageCall implements HyperwalletPager.PageCall<BankAccount> {
+
+        private final List<Integer> mOffsets = new ArrayList<>();
+        private final List<HyperwalletListener<PageList<BankAccount>>> mListeners = new ArrayList<>();
+
+        @Override
+        public HyperwalletRequest execute(final int offset, final int limit,
+                final HyperwalletListener<PageList<BankAccount>> listener) {
+            mOffsets.add(offset);
+            mListeners.add(listener);
+            return new HyperwalletRequest(mExecutor);
+        }
+
+        void complete(final int request, final PageList<BankAccount> page) {
+            mListeners.get(request).onSuccess(page);
+        }
+    }
+}
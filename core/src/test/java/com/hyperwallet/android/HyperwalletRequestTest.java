@@ -0,0 +1,76 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class HyperwalletRequestTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<User> mListener;
+
+    @Test
+    public void testCancel_inFlightRequestSkipsCallback() throws InterruptedException {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(responseBody)
+                .setHeadersDelay(AWAIT_TIMEOUT_MILLIS / 2, TimeUnit.MILLISECONDS));
+
+        HyperwalletRequest request = Hyperwallet.getDefault().getUser(mListener);
+        RecordedRequest recordedRequest = mServer.getServer().takeRequest(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        assertThat(recordedRequest, is(notNullValue()));
+        request.cancel();
+
+        assertThat(request.isCancelled(), is(true));
+        verify(mListener, after(AWAIT_TIMEOUT_MILLIS).never()).onSuccess(any(User.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
+    @Test
+    public void testCancel_requestCancelledBeforeExecutionSkipsCallback() {
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+
+        HyperwalletRequest request = Hyperwallet.getDefault().getUser(mListener);
+        request.cancel();
+        request.cancel();
+
+        assertThat(request.isCancelled(), is(true));
+        verify(mListener, after(AWAIT_TIMEOUT_MILLIS / 2).never()).onSuccess(any(User.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+    }
+}
@@ -28,4 +28,25 @@ public class PathFormatterTest {
         assertThat(formattedPath, is("users/test-user-token/bank-accounts/trm-fake-token/status-transitions"));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testFormat_formattedTwice() {
+        PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-cards/{1}", "trm-fake-token");
+
+        assertThat(pathFormatter.format("test-user-token"), is("users/test-user-token/bank-cards/trm-fake-token"));
+        assertThat(pathFormatter.format("test-user-token"), is("users/test-user-token/bank-cards/trm-fake-token"));
+    }
+
+    @Test
+    public void testFormat_argumentsAreEscaped() {
+        PathFormatter pathFormatter = new PathFormatter("transfers/{1}", "trf/fake token?é");
+
+        assertThat(pathFormatter.format("test-user-token"), is("transfers/trf%2Ffake%20token%3F%C3%A9"));
+    }
+
+    @Test
+    public void testFormat_missingArgumentIsKept() {
+        PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts/{1}");
+
+        assertThat(pathFormatter.format("test-user-token"), is("users/test-user-token/bank-accounts/{1}"));
+    }
+}
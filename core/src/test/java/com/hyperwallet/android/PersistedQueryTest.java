@@ -0,0 +1,101 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationKey;
+import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationKeysQuery;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+import com.hyperwallet.android.util.DigestUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class PersistedQueryTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    private static final String NOT_FOUND_RESPONSE = "{\"errors\":[{\"message\":\"PersistedQueryNotFound\","
+            + "\"extensions\":{\"code\":\"PERSISTED_QUERY_NOT_FOUND\"}}]}";
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<HyperwalletTransferMethodConfigurationKey> mListener;
+
+    @Before
+    public void setUp() {
+        Hyperwallet.getDefault().setPersistedQueriesEnabled(true);
+    }
+
+    @After
+    public void tearDown() {
+        Hyperwallet.getDefault().setPersistedQueriesEnabled(false);
+    }
+
+    @Test
+    public void testRetrieveTransferMethodConfigurationKeys_knownHashIsRequestedWithoutQuery() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("tmc_get_keys_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationKeys(
+                new TransferMethodConfigurationKeysQuery(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationKey.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        RecordedRequest recordedRequest = mServer.getRequest();
+        assertThat(recordedRequest.getMethod(), is("GET"));
+        assertThat(recordedRequest.getPath(), containsString(DigestUtils.sha256Hex(
+                new TransferMethodConfigurationKeysQuery().getDocument())));
+        assertThat(recordedRequest.getRequestUrl().queryParameter("variables"),
+                is("{\"idToken\":\"test-user-token\"}"));
+        assertThat(recordedRequest.getBodySize(), is(0L));
+    }
+
+    @Test
+    public void testRetrieveTransferMethodConfigurationKeys_unknownHashRegistersQuery() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("tmc_get_keys_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(NOT_FOUND_RESPONSE).mock();
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationKeys(
+                new TransferMethodConfigurationKeysQuery(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationKey.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getRequest().getMethod(), is("GET"));
+        RecordedRequest registration = mServer.getRequest();
+        assertThat(registration.getMethod(), is("POST"));
+        String body = registration.getBody().readUtf8();
+        assertThat(body, containsString("\"query\""));
+        assertThat(body, containsString("\"sha256Hash\""));
+        assertThat(body, containsString("\"variables\""));
+    }
+}
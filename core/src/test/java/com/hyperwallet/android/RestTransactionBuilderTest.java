@@ -29,6 +29,7 @@ import org.mockito.junit.MockitoRule;
 import org.robolectric.RobolectricTestRunner;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -145,4 +146,29 @@ public class RestTransactionBuilderTest {
         assertThat(headers.get("X-Sdk-ContextId"), is(notNullValue()));
         assertThat(headers.get("X-Sdk-ContextId"), is(contextId));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBuild_defaultHeadersFollowLocale() {
+        final Locale defaultLocale = Locale.getDefault();
+        final PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
+        RestTransaction.Builder<BankAccount> builder = new RestTransaction.Builder<>(GET, pathFormatter,
+                new TypeReference<BankAccount>() {
+                }, mListener, contextId);
+
+        try {
+            Locale.setDefault(Locale.CANADA_FRENCH);
+            RestTransaction frenchTransaction = builder.build("http://hyperwallet.com/rest/v3/", "token",
+                    "test-user-token");
+            Locale.setDefault(Locale.US);
+            RestTransaction englishTransaction = builder.build("http://hyperwallet.com/rest/v3/", "token",
+                    "test-user-token");
+
+            assertThat(frenchTransaction.getHeaders().get("Accept-Language"), is("fr-CA"));
+            assertThat(englishTransaction.getHeaders().get("Accept-Language"), is("en-US"));
+            assertThat(englishTransaction.getHeaders().get("Authorization"), is("Bearer token"));
+            assertThat(englishTransaction.getHeaders().get("X-Sdk-Type"), is("android"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
@@ -16,6 +16,7 @@ import com.hyperwallet.android.model.transfermethod.BankAccount;
 import com.hyperwallet.android.rule.ExternalResourceManager;
 import com.hyperwallet.android.util.HttpClient;
 import com.hyperwallet.android.util.JsonUtils;
+import com.hyperwallet.android.util.Transport;
 import com.hyperwallet.android.sdk.R;
 
 import org.hamcrest.CoreMatchers;
@@ -26,8 +27,10 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
 import org.robolectric.RobolectricTestRunner;
 
 import java.net.HttpURLConnection;
@@ -41,6 +44,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -96,6 +100,32 @@ public class RestTransactionTest {
         verify(mHttpClient).get();
     }
 
+    @Test
+    public void testRun_cancelledWhileOpeningConnectionDoesNotSendRequest() throws Exception {
+        final PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
+        final RestTransaction restTransaction = new RestTransaction.Builder<>(POST, pathFormatter,
+                new TypeReference<BankAccount>() {
+                }, mListener, contextId)
+                .jsonModel(new BankAccount.Builder("US", "USD", "8017110254").build())
+                .build("http://hyperwallet.com/rest/v3/", "token", "test-user-token");
+        Transport transport = mock(Transport.class);
+        when(transport.open(any(HttpClient.Builder.class))).thenAnswer(new Answer<HttpClient>() {
+            @Override
+            public HttpClient answer(InvocationOnMock invocation) {
+                restTransaction.cancel();
+                return mHttpClient;
+            }
+        });
+        restTransaction.setTransport(transport);
+
+        restTransaction.run();
+
+        verify(mHttpClient).disconnect();
+        verify(mHttpClient, never()).post(anyString());
+        verify(transport).release(mHttpClient);
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+    }
+
     @Test
     public void testPerformRequest_usingHttpPost() throws Exception {
         final PathFormatter pathFormatter = new PathFormatter("users/{0}/bank-accounts");
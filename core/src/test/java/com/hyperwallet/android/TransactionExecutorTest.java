@@ -0,0 +1,189 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+
+import static com.hyperwallet.android.ExceptionMapper.EC_UNEXPECTED_EXCEPTION;
+import static com.hyperwallet.android.util.HttpMethod.GET;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.util.HttpClient;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class TransactionExecutorTest {
+
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+    @Mock
+    private HyperwalletListener<Object> mListener;
+    @Captor
+    private ArgumentCaptor<HyperwalletException> mExceptionCaptor;
+
+    private final CountDownLatch mRelease = new CountDownLatch(1);
+    private final List<String> mExecuted = Collections.synchronizedList(new ArrayList<String>());
+    private TransactionExecutor mExecutor;
+
+    @After
+    public void tearDown() {
+        mRelease.countDown();
+        if (mExecutor != null) {
+            mExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecute_interactiveRunsAheadOfQueuedBackground() throws Exception {
+        mExecutor = new TransactionExecutor(new ExecutorConfiguration.Builder().poolSize(1).build());
+        CountDownLatch done = new CountDownLatch(4);
+        mExecutor.execute(new BlockingTransaction("blocking", done), TransactionExecutor.Priority.INTERACTIVE);
+        mExecutor.execute(new BlockingTransaction("list-1", done), TransactionExecutor.Priority.BACKGROUND);
+        mExecutor.execute(new BlockingTransaction("list-2", done), TransactionExecutor.Priority.BACKGROUND);
+        mExecutor.execute(new BlockingTransaction("transfer", done), TransactionExecutor.Priority.INTERACTIVE);
+
+        mRelease.countDown();
+
+        assertThat(done.await(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        assertThat(mExecuted, contains("blocking", "transfer", "list-1", "list-2"));
+    }
+
+    @Test
+    public void testExecute_abortFailsSubmittedTransactionWhenQueueIsFull() {
+        mExecutor = new TransactionExecutor(new ExecutorConfiguration.Builder().poolSize(1).queueCapacity(1).build());
+        mExecutor.execute(new BlockingTransaction("blocking", null), TransactionExecutor.Priority.INTERACTIVE);
+        mExecutor.execute(new BlockingTransaction("queued", null), TransactionExecutor.Priority.BACKGROUND);
+
+        mExecutor.execute(new BlockingTransaction("rejected", null), TransactionExecutor.Priority.INTERACTIVE);
+
+        verify(mListener).onFailure(mExceptionCaptor.capture());
+        assertThat(mExceptionCaptor.getValue().getErrors().getErrors().get(0).getCode(), is(EC_UNEXPECTED_EXCEPTION));
+        assertThat(mExceptionCaptor.getValue().getCause(), is(instanceOf(RejectedExecutionException.class)));
+        assertThat(mExceptionCaptor.getValue().getCause().getMessage(), is("Request queue is full"));
+        assertThat(mExecutor.getQueueSize(), is(1));
+    }
+
+    @Test
+    public void testExecute_failsTransactionSubmittedAfterShutdown() {
+        mExecutor = new TransactionExecutor(new ExecutorConfiguration.Builder().poolSize(1).build());
+        mExecutor.shutdown();
+
+        mExecutor.execute(new BlockingTransaction("rejected", null), TransactionExecutor.Priority.INTERACTIVE);
+
+        verify(mListener).onFailure(mExceptionCaptor.capture());
+        assertThat(mExceptionCaptor.getValue().getCause(), is(instanceOf(RejectedExecutionException.class)));
+        assertThat(mExceptionCaptor.getValue().getCause().getMessage(), is("Executor is shut down"));
+        assertThat(mExecuted.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testExecute_discardLowestPriorityFailsQueuedBackgroundTransaction() throws Exception {
+        mExecutor = new TransactionExecutor(new ExecutorConfiguration.Builder().poolSize(1).queueCapacity(1)
+                .rejectionPolicy(ExecutorConfiguration.RejectionPolicy.DISCARD_LOWEST_PRIORITY).build());
+        CountDownLatch done = new CountDownLatch(2);
+        mExecutor.execute(new BlockingTransaction("blocking", done), TransactionExecutor.Priority.INTERACTIVE);
+        mExecutor.execute(new BlockingTransaction("list", done), TransactionExecutor.Priority.BACKGROUND);
+
+        mExecutor.execute(new BlockingTransaction("transfer", done), TransactionExecutor.Priority.INTERACTIVE);
+
+        verify(mListener).onFailure(mExceptionCaptor.capture());
+        assertThat(mExceptionCaptor.getValue().getCause(), is(instanceOf(RejectedExecutionException.class)));
+        mRelease.countDown();
+        assertThat(done.await(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        assertThat(mExecuted, contains("blocking", "transfer"));
+    }
+
+    @Test
+    public void testRemove_queuedTransactionIsNotExecuted() throws Exception {
+        mExecutor = new TransactionExecutor(new ExecutorConfiguration.Builder().poolSize(1).build());
+        CountDownLatch done = new CountDownLatch(2);
+        BlockingTransaction cancelled = new BlockingTransaction("cancelled", done);
+        mExecutor.execute(new BlockingTransaction("blocking", done), TransactionExecutor.Priority.INTERACTIVE);
+        mExecutor.execute(cancelled, TransactionExecutor.Priority.INTERACTIVE);
+        mExecutor.execute(new BlockingTransaction("list", done), TransactionExecutor.Priority.BACKGROUND);
+
+        mExecutor.remove(cancelled);
+
+        assertThat(mExecutor.getQueueSize(), is(1));
+        mRelease.countDown();
+        assertThat(done.await(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(true));
+        assertThat(mExecuted, contains("blocking", "list"));
+    }
+
+    @Test
+    public void testBuild_attemptToBuildWithNonPositivePoolSize() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("pool size must be greater than zero");
+
+        new ExecutorConfiguration.Builder().poolSize(0);
+    }
+
+    @Test
+    public void testBuild_attemptToBuildWithNonPositiveQueueCapacity() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("queue capacity must be greater than zero");
+
+        new ExecutorConfiguration.Builder().queueCapacity(0);
+    }
+
+    private class BlockingTransaction extends HttpTransaction {
+
+        private final String mName;
+        private final CountDownLatch mDone;
+
+        BlockingTransaction(final String name, final CountDownLatch done) {
+            super(GET, "http://localhost/", new TypeReference<Object>() {
+            }, mListener);
+            mName = name;
+            mDone = done;
+        }
+
+        @Override
+        public void run() {
+            mExecuted.add(mName);
+            try {
+                mRelease.await(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (mDone != null) {
+                mDone.countDown();
+            }
+        }
+
+        @Override
+        protected void handleErrors(int responseCode, String response) {
+        }
+
+        @Override
+        protected int performRequest(HttpClient client) {
+            return 0;
+        }
+    }
+}
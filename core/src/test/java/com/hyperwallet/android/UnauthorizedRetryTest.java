@@ -0,0 +1,81 @@
+package com.hyperwallet.android;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import static com.hyperwallet.android.ExceptionMapper.EC_AUTHENTICATION_TOKEN_PROVIDER_EXCEPTION;
+
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.user.User;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.HttpURLConnection;
+
+@RunWith(RobolectricTestRunner.class)
+public class UnauthorizedRetryTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<User> mListener;
+    @Captor
+    private ArgumentCaptor<User> mUserArgumentCaptor;
+    @Captor
+    private ArgumentCaptor<HyperwalletException> mExceptionCaptor;
+
+    @Test
+    public void testGetUser_retriesOnceWithRenewedToken() throws InterruptedException {
+        String errorBody = mExternalResourceManager.getResourceContentError("jwt_token_expired.json");
+        String responseBody = mExternalResourceManager.getResourceContent("user_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_UNAUTHORIZED).withBody(errorBody).mock();
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+
+        Hyperwallet.getDefault().getUser(mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mUserArgumentCaptor.capture());
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mUserArgumentCaptor.getValue().getToken(), is("test-user-token"));
+
+        assertThat(mServer.getRequest().getPath(), is("/rest/v3/users/test-user-token"));
+        assertThat(mServer.getRequest().getPath(), is("/rest/v3/users/test-user-token"));
+    }
+
+    @Test
+    public void testGetUser_repeatedUnauthorizedReturnsError() throws InterruptedException {
+        String errorBody = mExternalResourceManager.getResourceContentError("jwt_token_expired.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_UNAUTHORIZED).withBody(errorBody).mock();
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_UNAUTHORIZED).withBody(errorBody).mock();
+
+        Hyperwallet.getDefault().getUser(mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onFailure(mExceptionCaptor.capture());
+        verify(mListener, never()).onSuccess(any(User.class));
+        assertThat(mExceptionCaptor.getValue().getErrors().getErrors().get(0).getCode(),
+                is(EC_AUTHENTICATION_TOKEN_PROVIDER_EXCEPTION));
+        assertThat(mServer.getServer().getRequestCount(), is(2));
+    }
+}
@@ -0,0 +1,146 @@
+package com.hyperwallet.android.cache;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
+import static java.net.HttpURLConnection.HTTP_OK;
+
+import android.database.sqlite.SQLiteException;
+
+import com.hyperwallet.android.Hyperwallet;
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.receipt.Receipt;
+import com.hyperwallet.android.model.receipt.ReceiptQueryParam;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+import com.hyperwallet.android.util.DateUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.List;
+
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReceiptStoreTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<Integer> mListener;
+
+    private ReceiptStore mReceiptStore;
+
+    @Before
+    public void setUp() {
+        mReceiptStore = ReceiptStore.forUser(RuntimeEnvironment.getApplication(), "test-user-token");
+    }
+
+    @After
+    public void tearDown() {
+        ReceiptStore.closeDatabase();
+    }
+
+    @Test
+    public void testSync_storesReceiptsAndRequestsOnlyNewerOnes() throws InterruptedException {
+        String responseBody = mExternalResourceManager.getResourceContent("receipts_response.json");
+        mServer.mockResponse().withHttpResponseCode(HTTP_OK).withBody(responseBody).mock();
+
+        mReceiptStore.sync(Hyperwallet.getDefault(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(2);
+        RecordedRequest firstSync = mServer.getRequest();
+        assertThat(firstSync.getPath(), containsString("/rest/v3/users/test-user-token/receipts?"));
+        assertThat(firstSync.getPath(), not(containsString("createdAfter")));
+        assertThat(mReceiptStore.getHighWaterMark(), is("2017-11-01T17:09:16"));
+
+        mServer.mockResponse().withHttpResponseCode(HTTP_NO_CONTENT).withBody("").mock();
+        mReceiptStore.sync(Hyperwallet.getDefault(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(0);
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getRequest().getPath(), containsString("createdAfter=2017-11-01T17"));
+    }
+
+    @Test
+    public void testSync_storageFailureIsReportedToListener() {
+        String responseBody = mExternalResourceManager.getResourceContent("receipts_response.json");
+        mServer.mockResponse().withHttpResponseCode(HTTP_OK).withBody(responseBody).mock();
+        ReceiptStore receiptStore = spy(mReceiptStore);
+        doThrow(new SQLiteException("disk I/O error")).when(receiptStore).save(anyList());
+
+        receiptStore.sync(Hyperwallet.getDefault(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onFailure(any(HyperwalletException.class));
+        verify(mListener, never()).onSuccess(any(Integer.class));
+        assertThat(mReceiptStore.getHighWaterMark(), is(nullValue()));
+    }
+
+    @Test
+    public void testGetReceipts_servesStoredReceiptsFromMostRecent() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("receipts_response.json");
+        mServer.mockResponse().withHttpResponseCode(HTTP_OK).withBody(responseBody).mock();
+        mReceiptStore.sync(Hyperwallet.getDefault(), mListener);
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(2);
+
+        List<Receipt> receipts = mReceiptStore.getReceipts(null);
+
+        assertThat(receipts, hasSize(2));
+        assertThat(receipts.get(0).getJournalId(), is("3051582"));
+        assertThat(receipts.get(1).getJournalId(), is("3051579"));
+        assertThat(receipts.get(1).getDetails().getPayeeName(), is("A Person"));
+
+        List<Receipt> newest = mReceiptStore.getReceipts(new ReceiptQueryParam.Builder()
+                .createdAfter(DateUtil.fromDateTimeString("2017-11-01T17:09:00")).build());
+        assertThat(newest, hasSize(1));
+        assertThat(mReceiptStore.getReceipts(new ReceiptQueryParam.Builder().offset(1).limit(1).build()).get(0)
+                .getJournalId(), is("3051579"));
+    }
+
+    @Test
+    public void testClear_removesOnlyReceiptsOfStoreOwner() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("receipts_response.json");
+        mServer.mockResponse().withHttpResponseCode(HTTP_OK).withBody(responseBody).mock();
+        mReceiptStore.sync(Hyperwallet.getDefault(), mListener);
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(2);
+        ReceiptStore prepaidCardStore = ReceiptStore.forPrepaidCard(RuntimeEnvironment.getApplication(),
+                "trm-fake-token");
+        prepaidCardStore.save(mReceiptStore.getReceipts(null));
+
+        mReceiptStore.clear();
+
+        assertThat(mReceiptStore.getReceipts(null), hasSize(0));
+        assertThat(mReceiptStore.getHighWaterMark(), is(nullValue()));
+        assertThat(prepaidCardStore.getReceipts(null), hasSize(2));
+    }
+}
@@ -0,0 +1,291 @@
+package com.hyperwallet.android.cache;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import static com.hyperwallet.android.model.transfermethod.TransferMethod.TransferMethodTypes.BANK_ACCOUNT;
+import static com.hyperwallet.android.model.transfermethod.TransferMethod.TransferMethodTypes.BANK_CARD;
+import static com.hyperwallet.android.model.user.User.ProfileTypes.INDIVIDUAL;
+
+import com.hyperwallet.android.Hyperwallet;
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationField;
+import com.hyperwallet.android.model.graphql.HyperwalletTransferMethodConfigurationKey;
+import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationFieldQuery;
+import com.hyperwallet.android.model.graphql.query.TransferMethodConfigurationKeysQuery;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.MockResponse;
+
+@RunWith(RobolectricTestRunner.class)
+public class ResponseCacheTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    private static final long NOW = 1_600_000_000_000L;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Mock
+    private HyperwalletListener<HyperwalletTransferMethodConfigurationKey> mListener;
+    @Mock
+    private HyperwalletListener<HyperwalletTransferMethodConfigurationField> mFieldListener;
+
+    @After
+    public void tearDown() {
+        Hyperwallet.getDefault().setTransferMethodConfigurationKeyCache(null);
+        Hyperwallet.getDefault().setTransferMethodConfigurationFieldCache(null);
+    }
+
+    @Test
+    public void testGet_freshThenStaleThenExpired() {
+        ResponseCache cache = new ResponseCache.Builder().timeToLive(1, TimeUnit.HOURS)
+                .staleWhileRevalidate(1, TimeUnit.HOURS).build();
+        cache.put("key", "{}", NOW);
+
+        ResponseCache.Entry fresh = cache.get("key", NOW + HOUR - 1);
+        assertThat(fresh.getResponse(), is("{}"));
+        assertThat(fresh.isStale(), is(false));
+        assertThat(cache.get("key", NOW + HOUR).isStale(), is(true));
+        assertThat(cache.get("key", NOW + 2 * HOUR), is(nullValue()));
+        assertThat(cache.get("unknown", NOW), is(nullValue()));
+    }
+
+    @Test
+    public void testGet_readsResponseStoredOnDisk() throws Exception {
+        File directory = mTemporaryFolder.newFolder();
+        new ResponseCache.Builder().directory(directory).build().put("key", "{\"a\":\"b\nc\"}", NOW);
+
+        ResponseCache cache = new ResponseCache.Builder().directory(directory).build();
+
+        assertThat(cache.get("key", NOW + HOUR).getResponse(), is("{\"a\":\"b\nc\"}"));
+        cache.clear();
+        assertThat(new ResponseCache.Builder().directory(directory).build().get("key", NOW), is(nullValue()));
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsedResponse() throws Exception {
+        File directory = mTemporaryFolder.newFolder();
+        ResponseCache cache = new ResponseCache.Builder().maxEntries(2).directory(directory).build();
+        cache.put("bank-account", "{}", NOW);
+        cache.put("bank-card", "{}", NOW);
+        cache.get("bank-account", NOW);
+
+        cache.put("paypal-account", "{}", NOW);
+
+        assertThat(cache.get("bank-card", NOW), is(nullValue()));
+        assertThat(cache.get("bank-account", NOW), is(notNullValue()));
+        assertThat(cache.get("paypal-account", NOW), is(notNullValue()));
+    }
+
+    @Test
+    public void testGet_deletesExpiredResponseStoredOnDisk() throws Exception {
+        File directory = mTemporaryFolder.newFolder();
+        new ResponseCache.Builder().timeToLive(1, TimeUnit.HOURS).directory(directory).build().put("key", "{}", NOW);
+
+        ResponseCache cache = new ResponseCache.Builder().timeToLive(1, TimeUnit.HOURS).directory(directory).build();
+
+        assertThat(cache.get("key", NOW + HOUR), is(nullValue()));
+        assertThat(new File(directory, "key.json").exists(), is(false));
+        assertThat(cache.get("key", NOW), is(nullValue()));
+    }
+
+    @Test
+    public void testPut_trimsResponsesStoredByPreviousRun() throws Exception {
+        File directory = mTemporaryFolder.newFolder();
+        ResponseCache previous = new ResponseCache.Builder().maxEntries(2).directory(directory).build();
+        previous.put("bank-account", "{}", NOW);
+        previous.put("bank-card", "{}", NOW);
+        assertThat(new File(directory, "bank-account.json").setLastModified(NOW - HOUR), is(true));
+        assertThat(new File(directory, "bank-card.json").setLastModified(NOW), is(true));
+
+        ResponseCache cache = new ResponseCache.Builder().maxEntries(2).directory(directory).build();
+        cache.put("paypal-account", "{}", NOW);
+
+        assertThat(new File(directory, "bank-account.json").exists(), is(false));
+        assertThat(cache.get("bank-card", NOW), is(notNullValue()));
+        assertThat(cache.get("paypal-account", NOW), is(notNullValue()));
+    }
+
+    @Test
+    public void testPut_concurrentWritesOfSameResponseKeepOneComplete() throws Exception {
+        final File directory = mTemporaryFolder.newFolder();
+        final ResponseCache cache = new ResponseCache.Builder().directory(directory).build();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final String response = "{\"writer\":\"" + i + "\"}";
+            Thread writer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 50; j++) {
+                        cache.put("key", response, NOW);
+                    }
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join(AWAIT_TIMEOUT_MILLIS);
+        }
+
+        String stored = new ResponseCache.Builder().directory(directory).build().get("key", NOW).getResponse();
+        assertThat(stored.matches("\\{\"writer\":\"[0-3]\"\\}"), is(true));
+        assertThat(directory.list(), is(new String[]{"key.json"}));
+    }
+
+    @Test
+    public void testScope_programChangeDropsResponses() throws Exception {
+        File directory = mTemporaryFolder.newFolder();
+        ResponseCache cache = new ResponseCache.Builder().directory(directory).build();
+        cache.scope("prg-one");
+        cache.put("key", "{}", NOW);
+
+        ResponseCache restored = new ResponseCache.Builder().directory(directory).build();
+        restored.scope("prg-one");
+        assertThat(restored.get("key", NOW), is(notNullValue()));
+
+        restored.scope("prg-two");
+        assertThat(restored.get("key", NOW), is(nullValue()));
+        assertThat(new ResponseCache.Builder().directory(directory).build().get("key", NOW), is(nullValue()));
+    }
+
+    @Test
+    public void testKey_dependsOnEveryPart() {
+        assertThat(ResponseCache.key("program", "en-US", "query"),
+                is(ResponseCache.key("program", "en-US", "query")));
+        assertThat(ResponseCache.key("program", "en-US", "query"),
+                is(not(ResponseCache.key("program", "fr-CA", "query"))));
+        assertThat(ResponseCache.key("ab", "c"), is(not(ResponseCache.key("a", "bc"))));
+    }
+
+    @Test
+    public void testBuild_attemptToBuildWithNonPositiveTimeToLive() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("time to live must be greater than zero");
+
+        new ResponseCache.Builder().timeToLive(0, TimeUnit.HOURS);
+    }
+
+    @Test
+    public void testBuild_attemptToBuildWithNonPositiveMaxEntries() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("max entries must be greater than zero");
+
+        new ResponseCache.Builder().maxEntries(0);
+    }
+
+    @Test
+    public void testRetrieveTransferMethodConfigurationKeys_servesCachedResponse() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("tmc_get_keys_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+        Hyperwallet.getDefault().setTransferMethodConfigurationKeyCache(new ResponseCache.Builder().build());
+
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationKeys(
+                new TransferMethodConfigurationKeysQuery(), mListener);
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationKey.class));
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationKeys(
+                new TransferMethodConfigurationKeysQuery(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS).times(2)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationKey.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getServer().getRequestCount(), is(1));
+    }
+
+    @Test
+    public void testRetrieveTransferMethodConfigurationKeys_revalidatesStaleResponseOnce() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("tmc_get_keys_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+        mServer.getServer().enqueue(new MockResponse().setResponseCode(HttpURLConnection.HTTP_OK).setBody(responseBody)
+                .setHeadersDelay(AWAIT_TIMEOUT_MILLIS / 2, TimeUnit.MILLISECONDS));
+        Hyperwallet.getDefault().setTransferMethodConfigurationKeyCache(new ResponseCache.Builder()
+                .timeToLive(1, TimeUnit.MILLISECONDS).staleWhileRevalidate(1, TimeUnit.HOURS).build());
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationKeys(
+                new TransferMethodConfigurationKeysQuery(), mListener);
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationKey.class));
+        Thread.sleep(10);
+
+        for (int i = 0; i < 3; i++) {
+            Hyperwallet.getDefault().retrieveTransferMethodConfigurationKeys(
+                    new TransferMethodConfigurationKeysQuery(), mListener);
+        }
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS).times(4)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationKey.class));
+        assertThat(mServer.getServer().takeRequest(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(notNullValue()));
+        assertThat(mServer.getServer().takeRequest(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(notNullValue()));
+        assertThat(mServer.getServer().takeRequest(AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS), is(nullValue()));
+    }
+
+    @Test
+    public void testRetrieveTransferMethodConfigurationFields_servesCachedResponse() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("tmc_get_fields_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+        Hyperwallet.getDefault().setTransferMethodConfigurationFieldCache(new ResponseCache.Builder().build());
+
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationFields(
+                new TransferMethodConfigurationFieldQuery("US", "USD", BANK_ACCOUNT, INDIVIDUAL), mFieldListener);
+        verify(mFieldListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationField.class));
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationFields(
+                new TransferMethodConfigurationFieldQuery("US", "USD", BANK_CARD, INDIVIDUAL), mFieldListener);
+        verify(mFieldListener, timeout(AWAIT_TIMEOUT_MILLIS).times(2)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationField.class));
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationFields(
+                new TransferMethodConfigurationFieldQuery("US", "USD", BANK_ACCOUNT, INDIVIDUAL), mFieldListener);
+
+        verify(mFieldListener, timeout(AWAIT_TIMEOUT_MILLIS).times(3)).onSuccess(
+                any(HyperwalletTransferMethodConfigurationField.class));
+        verify(mFieldListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mServer.getServer().getRequestCount(), is(2));
+    }
+}
@@ -0,0 +1,119 @@
+package com.hyperwallet.android.cache;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
+import static java.net.HttpURLConnection.HTTP_OK;
+
+import com.hyperwallet.android.Hyperwallet;
+import com.hyperwallet.android.exception.HyperwalletException;
+import com.hyperwallet.android.listener.HyperwalletListener;
+import com.hyperwallet.android.model.transfer.Transfer;
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+import com.hyperwallet.android.rule.HyperwalletSdkMock;
+
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+@RunWith(RobolectricTestRunner.class)
+public class TransferCacheTest {
+    private static final long AWAIT_TIMEOUT_MILLIS = 1000L;
+    private static final String QUOTED_TRANSFER = "{\"token\": \"trf-1\", \"status\": \"QUOTED\", "
+            + "\"createdOn\": \"2019-07-01T00:00:00\"}";
+    private static final String COMPLETED_TRANSFER = "{\"token\": \"trf-2\", \"status\": \"COMPLETED\", "
+            + "\"createdOn\": \"2019-06-01T00:00:00\"}";
+    @Rule
+    public HyperwalletMockWebServer mServer = new HyperwalletMockWebServer();
+    @Rule
+    public HyperwalletSdkMock mHyperwalletSdkMock = new HyperwalletSdkMock(mServer);
+    @Rule
+    public MockitoRule mMockito = MockitoJUnit.rule();
+
+    @Mock
+    private HyperwalletListener<List<Transfer>> mListener;
+    @Captor
+    private ArgumentCaptor<List<Transfer>> mTransfersCaptor;
+
+    private final List<String> mPaths = Collections.synchronizedList(new ArrayList<String>());
+    private final TransferCache mTransferCache = new TransferCache();
+
+    @Test
+    public void testRefresh_requestsNewTransfersAndReconcilesPendingOnes() throws Exception {
+        dispatch("{\"count\": 2, \"offset\": 0, \"limit\": 100, \"data\": [" + QUOTED_TRANSFER + ", "
+                + COMPLETED_TRANSFER + "], \"links\": []}", null);
+        mTransferCache.refresh(Hyperwallet.getDefault(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mTransfersCaptor.capture());
+        assertThat(mTransfersCaptor.getValue(), hasSize(2));
+        assertThat(mTransfersCaptor.getValue().get(0).getToken(), is("trf-1"));
+        assertThat(mTransfersCaptor.getValue().get(1).getToken(), is("trf-2"));
+        assertThat(mPaths, hasSize(1));
+        assertThat(mPaths.get(0), not(containsString("createdAfter")));
+
+        reset(mListener);
+        mPaths.clear();
+        dispatch(null, QUOTED_TRANSFER.replace("QUOTED", "COMPLETED"));
+        mTransferCache.refresh(Hyperwallet.getDefault(), mListener);
+
+        verify(mListener, timeout(AWAIT_TIMEOUT_MILLIS)).onSuccess(mTransfersCaptor.capture());
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        assertThat(mTransferCache.get("trf-1").getStatus(), is(Transfer.TransferStatuses.COMPLETED));
+        assertThat(mTransfersCaptor.getValue(), hasSize(2));
+        assertThat(mPaths, hasSize(2));
+        assertThat(mPaths, hasItem("/rest/v3/transfers/trf-1"));
+        assertThat(mPaths, not(hasItem("/rest/v3/transfers/trf-2")));
+    }
+
+    @Test
+    public void testMerge_replacesCachedTransferOfSameToken() throws Exception {
+        mTransferCache.merge(Collections.singletonList(new Transfer(new JSONObject(QUOTED_TRANSFER))));
+        mTransferCache.merge(Collections.singletonList(
+                new Transfer(new JSONObject(QUOTED_TRANSFER.replace("QUOTED", "SCHEDULED")))));
+
+        assertThat(mTransferCache.getTransfers(), hasSize(1));
+        assertThat(mTransferCache.get("trf-1").getStatus(), is(Transfer.TransferStatuses.SCHEDULED));
+
+        mTransferCache.clear();
+        assertThat(mTransferCache.getTransfers(), hasSize(0));
+    }
+
+    private void dispatch(final String listBody, final String transferBody) {
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                mPaths.add(request.getPath());
+                if (request.getPath().startsWith("/rest/v3/transfers?")) {
+                    return listBody == null ? new MockResponse().setResponseCode(HTTP_NO_CONTENT)
+                            : new MockResponse().setResponseCode(HTTP_OK).setBody(listBody);
+                }
+                return new MockResponse().setResponseCode(HTTP_OK).setBody(transferBody);
+            }
+        });
+    }
+}
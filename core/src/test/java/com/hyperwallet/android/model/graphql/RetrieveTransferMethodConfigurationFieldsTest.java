@@ -1,5 +1,6 @@
 package com.hyperwallet.android.model.graphql;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -24,6 +25,7 @@ import com.hyperwallet.android.rule.HyperwalletMockWebServer;
 import com.hyperwallet.android.rule.HyperwalletSdkMock;
 
 import org.hamcrest.Matchers;
+import org.json.JSONObject;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -38,6 +40,8 @@ import java.net.HttpURLConnection;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import okhttp3.mockwebserver.RecordedRequest;
+
 @RunWith(RobolectricTestRunner.class)
 public class RetrieveTransferMethodConfigurationFieldsTest {
 
@@ -86,6 +90,33 @@ public class RetrieveTransferMethodConfigurationFieldsTest {
         assertThat(resultFields.getProcessingTime(), is(nullValue()));
     }
 
+    @Test
+    public void testRetrieveTransferMethodConfigurationFields_postsQueryDocumentAndVariables() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("tmc_get_fields_v2_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+        TransferMethodConfigurationFieldQuery query = new TransferMethodConfigurationFieldQuery("CA", "CAD",
+                PREPAID_CARD, "INDIVIDUAL");
+
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationFields(query, mListener);
+        mAwait.await(100, TimeUnit.MILLISECONDS);
+
+        verify(mListener).onSuccess(any(HyperwalletTransferMethodConfigurationField.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        RecordedRequest recordedRequest = mServer.getRequest();
+        assertThat(recordedRequest.getMethod(), is("POST"));
+        JSONObject body = new JSONObject(recordedRequest.getBody().readUtf8());
+        assertThat(body.getString("query"), is(query.getDocument()));
+        assertThat(body.getString("query"), containsString("$usrToken: String!\n"));
+        assertThat(body.getString("query"), containsString("$profileType: Profile!\n"));
+        JSONObject variables = body.getJSONObject("variables");
+        assertThat(variables.length(), is(5));
+        assertThat(variables.getString("usrToken"), is("test-user-token"));
+        assertThat(variables.getString("country"), is("CA"));
+        assertThat(variables.getString("currency"), is("CAD"));
+        assertThat(variables.getString("transferMethodType"), is(PREPAID_CARD));
+        assertThat(variables.getString("profileType"), is("INDIVIDUAL"));
+    }
+
     @Test
     public void testRetrieveTransferMethodConfigurationFields_returnsFieldsAndFeesAndProcessingTime() throws Exception {
         // prepare test
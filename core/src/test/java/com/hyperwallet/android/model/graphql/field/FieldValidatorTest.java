@@ -0,0 +1,104 @@
+package com.hyperwallet.android.model.graphql.field;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertThat;
+
+import static com.hyperwallet.android.model.graphql.field.FieldValidator.EC_EMPTY;
+import static com.hyperwallet.android.model.graphql.field.FieldValidator.EC_LENGTH;
+import static com.hyperwallet.android.model.graphql.field.FieldValidator.EC_PATTERN;
+
+import com.hyperwallet.android.model.Error;
+import com.hyperwallet.android.model.Errors;
+import com.hyperwallet.android.model.transfermethod.TransferMethod;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class FieldValidatorTest {
+
+    @Rule
+    public ExternalResourceManager mResourceManager = new ExternalResourceManager();
+
+    private FieldValidator mFieldValidator;
+
+    @Before
+    public void setUp() throws Exception {
+        String data = mResourceManager.getResourceContent("tmc_get_fields_response.json");
+        mFieldValidator = new FieldValidator(new TransferMethodConfigurationFieldResult(new JSONObject(data)));
+    }
+
+    @Test
+    public void testValidate_validTransferMethod() {
+        Errors errors = mFieldValidator.validate(validTransferMethod());
+
+        assertThat(errors.getErrors(), hasSize(0));
+    }
+
+    @Test
+    public void testValidate_invalidFields() {
+        TransferMethod transferMethod = validTransferMethod();
+        transferMethod.setField("branchId", "");
+        transferMethod.setField("bankAccountId", "123");
+        transferMethod.setField("phoneNumber", "604-abc-1234");
+        transferMethod.setField("middleName", "");
+
+        List<Error> errors = mFieldValidator.validate(transferMethod).getErrors();
+
+        assertThat(errors, hasSize(3));
+        assertThat(errors.get(0).getFieldName(), is("branchId"));
+        assertThat(errors.get(0).getCode(), is(EC_EMPTY));
+        assertThat(errors.get(0).getMessage(), is("You must provide a value for this field"));
+        assertThat(errors.get(1).getFieldName(), is("bankAccountId"));
+        assertThat(errors.get(1).getCode(), is(EC_LENGTH));
+        assertThat(errors.get(2).getFieldName(), is("phoneNumber"));
+        assertThat(errors.get(2).getCode(), is(EC_PATTERN));
+    }
+
+    @Test
+    public void testValidate_patternMessage() {
+        TransferMethod transferMethod = validTransferMethod();
+        transferMethod.setField("branchId", "02100002A");
+
+        List<Error> errors = mFieldValidator.validate(transferMethod).getErrors();
+
+        assertThat(errors, hasSize(1));
+        assertThat(errors.get(0).getCode(), is(EC_PATTERN));
+        assertThat(errors.get(0).getMessage(), is("Routing Number is invalid format."));
+    }
+
+    @Test
+    public void testValidate_missingRequiredFields() {
+        List<Error> errors = mFieldValidator.validate(new TransferMethod()).getErrors();
+
+        assertThat(errors, hasSize(11));
+        for (Error error : errors) {
+            assertThat(error.getCode(), is(EC_EMPTY));
+        }
+    }
+
+    private TransferMethod validTransferMethod() {
+        TransferMethod transferMethod = new TransferMethod();
+        transferMethod.setField("branchId", "021000021");
+        transferMethod.setField("bankAccountId", "1234567");
+        transferMethod.setField("bankAccountPurpose", "CHECKING");
+        transferMethod.setField("bankAccountRelationship", "SELF");
+        transferMethod.setField("firstName", "Jane");
+        transferMethod.setField("lastName", "Doe");
+        transferMethod.setField("phoneNumber", "+1 604-555-1234");
+        transferMethod.setField("country", "US");
+        transferMethod.setField("stateProvince", "CA");
+        transferMethod.setField("addressLine1", "950 Granville Street");
+        transferMethod.setField("city", "San Francisco");
+        transferMethod.setField("postalCode", "94105");
+        return transferMethod;
+    }
+}
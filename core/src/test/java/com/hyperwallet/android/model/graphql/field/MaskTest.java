@@ -71,4 +71,36 @@ public class MaskTest {
         assertThat(mask.getPattern("653"), is("######## ####### ####"));
         assertThat(mask.getPattern("65345678"), is("######## ####### ####"));
     }
+
+    @Test
+    public void testFormat_appliesSelectedPattern() throws JSONException {
+        String jsonResponse = mExternalResourceManager.getResourceContent(
+                "mask_with_conditional_formatting_response.json");
+        Mask mask = new Field(new JSONObject(jsonResponse)).getMask();
+
+        assertThat(mask.format("4111111111111111"), is("4111 1111 1111 1111"));
+        assertThat(mask.format("4111 11"), is("4111 11"));
+        assertThat(mask.format("6534567890"), is("65345678 90"));
+        assertThat(mask.format("6534-56x78901"), is("65345678 901"));
+    }
+
+    @Test
+    public void testScrub_removesScrubRegexMatches() throws JSONException {
+        String jsonResponse = mExternalResourceManager.getResourceContent(
+                "mask_with_conditional_formatting_response.json");
+        Mask mask = new Field(new JSONObject(jsonResponse)).getMask();
+
+        assertThat(mask.scrub("4111 1111 1111 1111"), is("4111111111111111"));
+        assertThat(mask.scrub("4111"), is("4111"));
+        assertThat(mask.scrub(mask.format("6534567890")), is("6534567890"));
+    }
+
+    @Test
+    public void testFormat_appliesEscapedAndAlphanumericTokens() throws JSONException {
+        Mask mask = new Mask(new JSONObject().put("defaultPattern", "@@\\#-**").put("scrubRegex", "[#-]"));
+
+        assertThat(mask.format("AB1C"), is("AB#-1C"));
+        assertThat(mask.format("A"), is("A"));
+        assertThat(mask.scrub("AB#-1C"), is("AB1C"));
+    }
 }
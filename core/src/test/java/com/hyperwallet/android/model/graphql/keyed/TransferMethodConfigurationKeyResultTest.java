@@ -4,7 +4,10 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
 
 import com.hyperwallet.android.rule.ExternalResourceManager;
 
@@ -46,4 +49,32 @@ public class TransferMethodConfigurationKeyResultTest {
         assertThat(fieldResult.getTransferMethodType("CA", "USS"), is(nullValue()));
         assertThat(fieldResult.getCurrencies("UU"), is(nullValue()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTransferMethodConfigurationKeyResult_indexesCountryCurrencyAndType()
+            throws JSONException, ReflectiveOperationException {
+        String data = mResourceManager.getResourceContent("tmc_get_keys_response.json");
+        TransferMethodConfigurationKeyResult keyResult =
+                new TransferMethodConfigurationKeyResult(new JSONObject(data));
+
+        assertThat(keyResult.getTransferMethodType("CA", "USD"), hasSize(3));
+        assertThat(keyResult.getTransferMethodType("CA", "USD"),
+                is(sameInstance(keyResult.getTransferMethodType("CA", "USD"))));
+        assertThat(keyResult.getCurrencies("CA"), is(sameInstance(keyResult.getCurrencies("CA"))));
+        assertThat(keyResult.getCountriesByTransferMethodType("BANK_ACCOUNT"), hasSize(2));
+        assertThat(keyResult.getCountriesByTransferMethodType("PAYPAL_ACCOUNT"),
+                contains(keyResult.getCountry("CA")));
+        assertThat(keyResult.getCountriesByTransferMethodType("WIRE_ACCOUNT"), is(empty()));
+    }
+
+    @Test
+    public void testTransferMethodConfigurationKeyResult_indexIsImmutable()
+            throws JSONException, ReflectiveOperationException {
+        String data = mResourceManager.getResourceContent("tmc_get_keys_response.json");
+        TransferMethodConfigurationKeyResult keyResult =
+                new TransferMethodConfigurationKeyResult(new JSONObject(data));
+        mThrown.expect(UnsupportedOperationException.class);
+
+        keyResult.getCountries().clear();
+    }
+}
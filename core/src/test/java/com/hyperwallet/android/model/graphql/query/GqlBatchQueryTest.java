@@ -0,0 +1,75 @@
+package com.hyperwallet.android.model.graphql.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+@RunWith(RobolectricTestRunner.class)
+public class GqlBatchQueryTest {
+
+    @Test
+    public void testToQuery_aliasesRootFieldsAndRenamesVariables() {
+        GqlBatchQuery batchQuery = new GqlBatchQuery(Arrays.asList(new TransferMethodConfigurationKeysQuery(),
+                new TransferMethodConfigurationFieldQuery("CA", "CAD", "BANK_ACCOUNT", "INDIVIDUAL")));
+
+        String query = batchQuery.toQuery("test-user-token");
+
+        assertThat(query.startsWith("query (\n"), is(true));
+        assertThat(query, containsString("q0_countries: countries(idToken: \"test-user-token\")"));
+        assertThat(query, containsString("$q1_usrToken: String =  \"test-user-token\""));
+        assertThat(query, containsString("q1_transferMethodCreateUIConfigurations: "
+                + "transferMethodCreateUIConfigurations (usrToken: $q1_usrToken, profileType: $q1_profileType"));
+        assertThat(query, containsString("q1_countries: countries (idToken: $q1_usrToken, code: $q1_country)"));
+        assertThat(query, containsString("currencies (code:$q1_currency)"));
+        assertThat(query, not(containsString("query QueryCreateTransferMethod")));
+    }
+
+    @Test
+    public void testToQuery_prefixesExistingAlias() {
+        GqlQuery aliased = new GqlQuery() {
+            @Override
+            public String toQuery(String userToken) {
+                return "{ list: countries(idToken: \"{x}\") { nodes { code } } }";
+            }
+        };
+
+        String query = new GqlBatchQuery(Collections.singletonList(aliased)).toQuery("test-user-token");
+
+        assertThat(query, is("query {\n q0_list: countries(idToken: \"{x}\") { nodes { code } } \n}"));
+    }
+
+    @Test
+    public void testGetResponse_splitsDataAndErrorsByQuery() throws Exception {
+        JSONObject response = new JSONObject("{\"data\":{\"q0_countries\":{\"nodes\":[]},"
+                + "\"q1_countries\":{\"nodes\":[{\"code\":\"CA\"}]}},"
+                + "\"errors\":[{\"message\":\"first\",\"path\":[\"q0_countries\",\"nodes\"]},"
+                + "{\"message\":\"global\"}]}");
+        GqlBatchQuery batchQuery = new GqlBatchQuery(Arrays.asList(new TransferMethodConfigurationKeysQuery(),
+                new TransferMethodConfigurationKeysQuery()));
+
+        JSONObject first = batchQuery.getResponse(response, 0);
+        JSONObject second = batchQuery.getResponse(response, 1);
+
+        assertThat(first.getJSONObject("data").getJSONObject("countries").getJSONArray("nodes").length(), is(0));
+        assertThat(first.getJSONArray("errors").length(), is(2));
+        assertThat(first.getJSONArray("errors").getJSONObject(0).getJSONArray("path").getString(0),
+                is("countries"));
+        assertThat(second.getJSONObject("data").getJSONObject("countries").getJSONArray("nodes").length(), is(1));
+        assertThat(second.getJSONArray("errors").length(), is(1));
+        assertThat(second.getJSONArray("errors").getJSONObject(0).getString("message"), is("global"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_attemptToBatchNoQuery() {
+        new GqlBatchQuery(Collections.<GqlQuery>emptyList());
+    }
+}
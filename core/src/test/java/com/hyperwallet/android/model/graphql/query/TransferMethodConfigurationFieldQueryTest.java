@@ -1,10 +1,16 @@
 package com.hyperwallet.android.model.graphql.query;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
 
 import org.junit.Test;
 
+import java.util.Map;
+
 
 public class TransferMethodConfigurationFieldQueryTest {
 
@@ -109,4 +115,23 @@ public class TransferMethodConfigurationFieldQueryTest {
         assertThat(resultQuery, is(sampleFieldQuery));
     }
 
+    @Test
+    public void testGetDocument_isSharedAndDeclaresVariables() {
+        TransferMethodConfigurationFieldQuery fieldQuery =
+                new TransferMethodConfigurationFieldQuery("CA", "CAD", "BANK_ACCOUNT", "INDIVIDUAL");
+
+        String document = fieldQuery.getDocument();
+        Map<String, String> variables = fieldQuery.getVariables("test-user-token");
+
+        assertThat(document, is(sameInstance(
+                new TransferMethodConfigurationFieldQuery("US", "USD", "BANK_CARD", "BUSINESS").getDocument())));
+        assertThat(document, startsWith("query QueryCreateTransferMethod(\n\t\t$usrToken: String!\n"));
+        assertThat(document, not(containsString("CAD")));
+        assertThat(variables.get("usrToken"), is("test-user-token"));
+        assertThat(variables.get("country"), is("CA"));
+        assertThat(variables.get("currency"), is("CAD"));
+        assertThat(variables.get("transferMethodType"), is("BANK_ACCOUNT"));
+        assertThat(variables.get("profileType"), is("INDIVIDUAL"));
+    }
+
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
@@ -40,6 +41,7 @@ import com.hyperwallet.android.rule.HyperwalletSdkMock;
 
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.Matchers;
+import org.json.JSONObject;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -193,6 +195,28 @@ public class RetrieveTransferMethodConfigurationKeysTest {
         assertThat(processingTimeUSD.getTransferMethodType(), is(BANK_ACCOUNT));
     }
 
+    @Test
+    public void testRetrieveTransferMethodConfigurationKeys_postsQueryDocumentAndVariables() throws Exception {
+        String responseBody = mExternalResourceManager.getResourceContent("tmc_get_keys_response.json");
+        mServer.mockResponse().withHttpResponseCode(HttpURLConnection.HTTP_OK).withBody(responseBody).mock();
+
+        Hyperwallet.getDefault().retrieveTransferMethodConfigurationKeys(
+                new TransferMethodConfigurationKeysQuery(), mListener);
+        mAwait.await(100, TimeUnit.MILLISECONDS);
+
+        verify(mListener).onSuccess(any(HyperwalletTransferMethodConfigurationKey.class));
+        verify(mListener, never()).onFailure(any(HyperwalletException.class));
+        RecordedRequest recordedRequest = mServer.getRequest();
+        assertThat(recordedRequest.getMethod(), is(POST.name()));
+        JSONObject body = new JSONObject(recordedRequest.getBody().readUtf8());
+        assertThat(body.length(), is(2));
+        assertThat(body.getString("query"), is(new TransferMethodConfigurationKeysQuery().getDocument()));
+        assertThat(body.getString("query"), startsWith("query QueryCountries($idToken: String!) {\n"));
+        JSONObject variables = body.getJSONObject("variables");
+        assertThat(variables.length(), is(1));
+        assertThat(variables.getString("idToken"), is("test-user-token"));
+    }
+
     @Test
     public void testRetrieveTransferMethodConfigurationKeys_withErrorReturningFields()
             throws InterruptedException {
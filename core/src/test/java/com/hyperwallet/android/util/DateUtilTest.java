@@ -4,16 +4,35 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class DateUtilTest {
 
     private static final String MS_DATE_STRING = "2019-02-27T11:37:31.026";
     private static final long MS_DATE = 1551296251026L;
+    private static final TimeZone DEFAULT_TIME_ZONE = TimeZone.getDefault();
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @After
+    public void tearDown() {
+        TimeZone.setDefault(DEFAULT_TIME_ZONE);
+    }
 
     @Test
     public void testToDateFormat_formattedDateStringInYearMonthDay() {
@@ -53,4 +72,94 @@ public class DateUtilTest {
 
         assertThat(expectedDate.toString(), is(DateUtil.fromDateTimeString(formattedTime).toString()));
     }
+
+    @Test
+    public void testToDateFormat_formattedInDefaultTimeZone() {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Vancouver"));
+
+        assertThat(DateUtil.toDateFormat(new Date(MS_DATE)), is("2019-02-27"));
+        assertThat(DateUtil.toDateTimeFormat(new Date(MS_DATE)), is("2019-02-27T11:37:31"));
+        assertThat(DateUtil.toDateTimeMillisFormat(new Date(MS_DATE)), is(MS_DATE_STRING));
+        assertThat(DateUtil.toDateTimeMillisFormat(new Date(-1L)), is("1969-12-31T15:59:59.999"));
+    }
+
+    @Test
+    public void testFromDateTimeString_parsedInDefaultTimeZone() {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Vancouver"));
+
+        assertThat(DateUtil.fromDateTimeString("2019-02-27T11:37:31").getTime(), is(MS_DATE - 26));
+        assertThat(DateUtil.fromDateTimeString(MS_DATE_STRING).getTime(), is(MS_DATE - 26));
+        assertThat(DateUtil.fromDateTimeString("2020-02-29T00:00:00").getTime(), is(1582963200000L));
+    }
+
+    @Test
+    public void testFromDateTimeString_daylightSavingTransitionsResolveToStandardTime() throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Vancouver"));
+        SimpleDateFormat dateFormatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+
+        assertThat(DateUtil.fromDateTimeString("2019-03-10T02:30:00"),
+                is(dateFormatter.parse("2019-03-10T02:30:00")));
+        assertThat(DateUtil.fromDateTimeString("2019-11-03T01:30:00"),
+                is(dateFormatter.parse("2019-11-03T01:30:00")));
+    }
+
+    @Test
+    public void testFromDateTimeString_outOfRangeFieldsRollOver() throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Vancouver"));
+        SimpleDateFormat dateFormatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+
+        assertThat(DateUtil.fromDateTimeString("2019-02-30T11:37:31"),
+                is(dateFormatter.parse("2019-03-02T11:37:31")));
+        assertThat(DateUtil.fromDateTimeString("2019-13-00T24:59:60"),
+                is(dateFormatter.parse("2020-01-01T01:00:00")));
+        assertThat(DateUtil.fromDateTimeString("2019-00-01T00:00:00"),
+                is(dateFormatter.parse("2018-12-01T00:00:00")));
+        assertThat(DateUtil.fromDateTimeString("2019-2-7T1:7:3"), is(dateFormatter.parse("2019-02-07T01:07:03")));
+    }
+
+    @Test
+    public void testFromDateTimeString_invalidDate() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("An exception occurred when attempting to parse the date 2019-02-3OT11:37:31");
+
+        DateUtil.fromDateTimeString("2019-02-3OT11:37:31");
+    }
+
+    @Test
+    public void testFromDateTimeString_dateWithoutTime() {
+        thrown.expect(IllegalArgumentException.class);
+
+        DateUtil.fromDateTimeString("2019-02-27");
+    }
+
+    @Test
+    public void testToDateTimeFormat_concurrentCalls() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final long offset = i * 86_399_001L;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        SimpleDateFormat dateFormatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US);
+                        for (int j = 0; j < 1000; j++) {
+                            Date date = new Date(MS_DATE + offset + j * 1_000L);
+                            String formattedTime = DateUtil.toDateTimeFormat(date);
+                            if (!formattedTime.equals(dateFormatter.format(date))
+                                    || DateUtil.fromDateTimeString(formattedTime).getTime() != date.getTime()) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }
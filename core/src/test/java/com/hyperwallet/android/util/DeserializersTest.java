@@ -0,0 +1,85 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.transfermethod.BankAccount;
+import com.hyperwallet.android.rule.ExternalResourceManager;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.InvocationTargetException;
+
+@RunWith(RobolectricTestRunner.class)
+public class DeserializersTest {
+
+    @Rule
+    public final ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void testFromJson_buildsRegisteredModel() throws Exception {
+        JSONObject jsonObject = new JSONObject(
+                mExternalResourceManager.getResourceContent("bank_account_response.json"));
+
+        BankAccount bankAccount = Deserializers.fromJson(BankAccount.class, jsonObject);
+
+        assertThat(bankAccount.getField("type"), is("BANK_ACCOUNT"));
+        assertThat(Deserializers.get(BankAccount.class), is(sameInstance(Deserializers.get(BankAccount.class))));
+    }
+
+    @Test
+    public void testGet_cachesConstructorOfUnregisteredClass() throws Exception {
+        Deserializers.Deserializer<Unregistered> deserializer = Deserializers.get(Unregistered.class);
+
+        Unregistered unregistered = Deserializers.newInstance(deserializer, new JSONObject("{\"name\":\"value\"}"));
+
+        assertThat(unregistered.mName, is("value"));
+        assertThat(Deserializers.get(Unregistered.class), is(sameInstance(deserializer)));
+    }
+
+    @Test
+    public void testGetParameterized_buildsPageList() throws Exception {
+        JSONObject jsonObject = new JSONObject(
+                mExternalResourceManager.getResourceContent("bank_account_list_response.json"));
+
+        PageList pageList = Deserializers.newInstance(Deserializers.getParameterized(PageList.class), jsonObject,
+                BankAccount.class);
+
+        assertThat(pageList.getDataList().isEmpty(), is(not(true)));
+        assertThat(pageList.getDataList().get(0), is(instanceOf(BankAccount.class)));
+    }
+
+    @Test
+    public void testNewInstance_wrapsModelFailure() throws Exception {
+        thrown.expect(InvocationTargetException.class);
+
+        Deserializers.fromJson(Unregistered.class, new JSONObject());
+    }
+
+    @Test
+    public void testGet_classWithoutJsonConstructor() throws Exception {
+        thrown.expect(NoSuchMethodException.class);
+
+        Deserializers.get(String.class);
+    }
+
+    public static class Unregistered {
+        private final String mName;
+
+        public Unregistered(JSONObject jsonObject) throws JSONException {
+            mName = jsonObject.getString("name");
+        }
+    }
+}
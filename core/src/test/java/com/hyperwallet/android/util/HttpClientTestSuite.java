@@ -1,6 +1,9 @@
 package com.hyperwallet.android.util;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsMapWithSize.aMapWithSize;
 import static org.junit.Assert.assertNotNull;
@@ -24,6 +27,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.net.ssl.HttpsURLConnection;
+
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
 
@@ -96,6 +101,29 @@ public class HttpClientTestSuite {
         }
 
 
+        @Test
+        public void testGetHeaderMap_headersOverrideDefaultHeaders() throws IOException, URISyntaxException {
+            Map<String, String> defaultHeaders = new HashMap<>();
+            defaultHeaders.put("Accept", "text/plain");
+            defaultHeaders.put("X-Sdk-Type", "android");
+
+            String url = server.mockResponse().getRequestUrl();
+            HttpClient client = new HttpClient.Builder(url)
+                    .path("hyperwallet")
+                    .defaultHeaders(defaultHeaders)
+                    .putHeaders(HTTP_HEADERS)
+                    .build();
+
+            Map<String, String> headers = client.getHeaderMap();
+            assertThat(headers, aMapWithSize(4));
+            assertThat(headers.get("Accept"), is("application/json"));
+            assertThat(headers.get("X-Sdk-Type"), is("android"));
+            assertThat(client.getHttpUrlConnection().getRequestProperty("Accept"), is("application/json"));
+            assertThat(client.getHttpUrlConnection().getRequestProperty("X-Sdk-Type"), is("android"));
+            assertThat(defaultHeaders.get("Accept"), is("text/plain"));
+        }
+
+
         @Test
         public void testGetQueryMap_returnInsertedValues() throws IOException, URISyntaxException {
 
@@ -214,6 +242,19 @@ public class HttpClientTestSuite {
             assertThat(url.toString(), is(requestUrl));
         }
 
+        @Test
+        public void testGetHttpUrlConnection_verifySharedSslSocketFactory() throws Exception {
+
+            HttpClient client = new HttpClient.Builder("https://localhost/").path("hyperwallet").build();
+            HttpClient otherClient = new HttpClient.Builder("https://localhost/").path("hyperwallet").build();
+
+            HttpsURLConnection connection = (HttpsURLConnection) client.getHttpUrlConnection();
+            HttpsURLConnection otherConnection = (HttpsURLConnection) otherClient.getHttpUrlConnection();
+            assertThat(connection.getSSLSocketFactory(),
+                    is(sameInstance((Object) Tls12SocketFactory.getDefault())));
+            assertThat(otherConnection.getSSLSocketFactory(), is(sameInstance(connection.getSSLSocketFactory())));
+            assertThat(HttpsURLConnection.getDefaultSSLSocketFactory(), is(not(instanceOf(Tls12SocketFactory.class))));
+        }
 
         private Collection<Object[]> testHttpResponseCodeWithinSuccessRangeData() {
             return Arrays.asList(new Object[][]{
@@ -3,10 +3,16 @@ package com.hyperwallet.android.util;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 
+import com.hyperwallet.android.model.Errors;
 import com.hyperwallet.android.model.TypeReference;
+import com.hyperwallet.android.model.paging.PageList;
+import com.hyperwallet.android.model.receipt.Receipt;
+import com.hyperwallet.android.model.transfer.Transfer;
 import com.hyperwallet.android.model.transfermethod.BankAccount;
+import com.hyperwallet.android.model.user.User;
 import com.hyperwallet.android.rule.ExternalResourceManager;
 
 import org.json.JSONArray;
@@ -14,9 +20,11 @@ import org.json.JSONException;
 import org.json.JSONObject;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 
+import java.io.StringReader;
 import java.util.Map;
 
 @RunWith(RobolectricTestRunner.class)
@@ -24,6 +32,8 @@ public class JsonUtilsTest {
 
     @Rule
     public final ExternalResourceManager mExternalResourceManager = new ExternalResourceManager();
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
 
     @Test
     public void testMapToJsonObject_withValidBankAccountObject() throws JSONException {
@@ -70,4 +80,82 @@ public class JsonUtilsTest {
         assertNotNull(jsonArray);
         assertThat(jsonArray.length(), is(1));
     }
+
+    @Test
+    public void testFromJsonStream_validUserJson() throws Exception {
+        String response = mExternalResourceManager.getResourceContent("user_response.json");
+        User user = JsonUtils.fromJsonStream(new StringReader(response), new TypeReference<User>() {
+        });
+
+        assertNotNull(user);
+        assertThat(user.getToken(), is("test-user-token"));
+        assertThat(user.getStatus(), is(JsonUtils.fromJsonString(response, new TypeReference<User>() {
+        }).getStatus()));
+    }
+
+    @Test
+    public void testFromJsonStream_validTransferJson() throws Exception {
+        String response = mExternalResourceManager.getResourceContent("transfer_response.json");
+        Transfer transfer = JsonUtils.fromJsonStream(new StringReader(response), new TypeReference<Transfer>() {
+        });
+
+        assertNotNull(transfer);
+        assertThat(transfer.getForeignExchanges().size(), is(1));
+        assertThat(transfer.getForeignExchanges().get(0).getSourceCurrency(), is("CAD"));
+    }
+
+    @Test
+    public void testFromJsonStream_validBankAccountListJson() throws Exception {
+        String response = mExternalResourceManager.getResourceContent("bank_account_list_response.json");
+        PageList<BankAccount> pageList = JsonUtils.fromJsonStream(new StringReader(response),
+                new TypeReference<PageList<BankAccount>>() {
+                });
+        PageList<BankAccount> expected = JsonUtils.fromJsonString(response,
+                new TypeReference<PageList<BankAccount>>() {
+                });
+
+        assertNotNull(pageList);
+        assertThat(pageList.getCount(), is(expected.getCount()));
+        assertThat(pageList.getLimit(), is(expected.getLimit()));
+        assertThat(pageList.getDataList().size(), is(expected.getDataList().size()));
+        assertThat(pageList.getDataList().get(1).getField("token"),
+                is(expected.getDataList().get(1).getField("token")));
+        assertThat(pageList.getPageLinks().size(), is(expected.getPageLinks().size()));
+    }
+
+    @Test
+    public void testFromJsonStream_validReceiptListJson() throws Exception {
+        String response = mExternalResourceManager.getResourceContent("prepaid_card_receipts_response.json");
+        PageList<Receipt> pageList = JsonUtils.fromJsonStream(new StringReader(response),
+                new TypeReference<PageList<Receipt>>() {
+                });
+
+        assertNotNull(pageList);
+        assertThat(pageList.getDataList().size(), is(2));
+        assertThat(pageList.getDataList().get(0).getDetails().getCardNumber(), is("************7917"));
+    }
+
+    @Test
+    public void testFromJsonStream_emptyContent() throws Exception {
+        assertNull(JsonUtils.fromJsonStream(new StringReader(""), new TypeReference<User>() {
+        }));
+    }
+
+    @Test
+    public void testFromJsonStream_malformedJson() throws Exception {
+        thrown.expect(JSONException.class);
+
+        JsonUtils.fromJsonStream(new StringReader("{\"data\": 1}"), new TypeReference<PageList<BankAccount>>() {
+        });
+    }
+
+    @Test
+    public void testIsStreamable() {
+        assertThat(JsonUtils.isStreamable(new TypeReference<User>() {
+        }), is(true));
+        assertThat(JsonUtils.isStreamable(new TypeReference<PageList<Receipt>>() {
+        }), is(true));
+        assertThat(JsonUtils.isStreamable(new TypeReference<Errors>() {
+        }), is(false));
+    }
 }
@@ -0,0 +1,87 @@
+package com.hyperwallet.android.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.hyperwallet.android.rule.HyperwalletMockWebServer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class KeepAliveTransportTest {
+
+    @Rule
+    public final ExpectedException thrown = ExpectedException.none();
+    @Rule
+    public final HyperwalletMockWebServer server = new HyperwalletMockWebServer();
+
+    @Test
+    public void testOpen_reusesConnectionOnConsecutiveRequests() throws Exception {
+        KeepAliveTransport transport = new KeepAliveTransport.Builder().build();
+        String firstUrl = server.mockResponse().withBody("{}").getRequestUrl();
+        String secondUrl = server.mockResponse().withBody("{}").getRequestUrl();
+
+        HttpClient firstClient = transport.open(new HttpClient.Builder(firstUrl));
+        firstClient.get();
+        assertThat(firstClient.getResponse(), is("{}"));
+        transport.release(firstClient);
+
+        HttpClient secondClient = transport.open(new HttpClient.Builder(secondUrl));
+        secondClient.get();
+        assertThat(secondClient.getResponse(), is("{}"));
+        transport.release(secondClient);
+
+        RecordedRequest firstRequest = server.getRequest();
+        RecordedRequest secondRequest = server.getRequest();
+        assertThat(firstRequest.getSequenceNumber(), is(0));
+        assertThat(secondRequest.getSequenceNumber(), is(1));
+    }
+
+    @Test
+    public void testOpen_blocksWhenMaxConnectionsPerHostInUse() throws Exception {
+        final KeepAliveTransport transport = new KeepAliveTransport.Builder().maxConnectionsPerHost(1).build();
+        final String url = server.mockResponse().getRequestUrl();
+        final CountDownLatch opened = new CountDownLatch(1);
+
+        HttpClient firstClient = transport.open(new HttpClient.Builder(url));
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    transport.release(transport.open(new HttpClient.Builder(url)));
+                    opened.countDown();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        thread.start();
+
+        assertThat(opened.await(200, TimeUnit.MILLISECONDS), is(false));
+        transport.release(firstClient);
+        assertThat(opened.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(transport.getHostCount(), is(1));
+    }
+
+    @Test
+    public void testBuild_attemptToBuildWithNonPositiveMaxConnectionsPerHost() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("max connections per host must be greater than zero");
+
+        new KeepAliveTransport.Builder().maxConnectionsPerHost(0);
+    }
+
+    @Test
+    public void testBuild_attemptToBuildWithNegativeKeepAliveDuration() {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("keep alive duration can not be negative");
+
+        new KeepAliveTransport.Builder().keepAliveDuration(-1);
+    }
+}